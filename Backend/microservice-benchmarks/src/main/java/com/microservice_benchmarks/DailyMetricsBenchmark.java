@@ -0,0 +1,88 @@
+package com.microservice_benchmarks;
+
+import com.microservice_employee.service.DailyOccupancyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas diarias (/metrics/vacaciones/daily y /metrics/licencias/daily) a 14, 90 y 365
+ * días. {@code vacaciones}/{@code licencias} incluyen la consulta; {@code barrido} mide solo
+ * el armado de la serie sobre intervalos ya cargados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DailyMetricsBenchmark {
+
+    private static final String INTERVALOS_SQL = """
+        SELECT v.empleado_id, v.desde, COALESCE(v.hasta, v.retorno) AS fin
+        FROM vacaciones v
+        WHERE v.desde <= ? AND (v.hasta >= ? OR (v.hasta IS NULL AND v.retorno >= ?))
+        ORDER BY v.desde, v.id
+        """;
+
+    @Param({"2000"})
+    public int empleados;
+
+    @Param({"14", "90", "365"})
+    public int dias;
+
+    @Param({"true", "false"})
+    public boolean personas;
+
+    private EmployeeFixture fixture;
+    private DailyOccupancyService diarias;
+    private LocalDate desde;
+    private LocalDate hasta;
+    private List<DailyOccupancyService.Intervalo> intervalos;
+
+    @Setup
+    public void preparar() {
+        fixture = EmployeeFixture.crear(empleados);
+        diarias = fixture.bean(DailyOccupancyService.class);
+        desde = LocalDate.now().minusDays(1);
+        hasta = desde.plusDays(dias);
+        intervalos = fixture.jdbc().query(INTERVALOS_SQL, (rs, n) -> new DailyOccupancyService.Intervalo(
+                        rs.getObject("desde", LocalDate.class), rs.getObject("fin", LocalDate.class),
+                        Map.of("empleado_id", rs.getInt("empleado_id"))),
+                hasta, desde, desde);
+    }
+
+    @TearDown
+    public void cerrar() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> vacaciones() {
+        return diarias.vacaciones(desde, hasta, personas);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> licencias() {
+        return diarias.licencias(desde, hasta, personas);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> barrido() {
+        return DailyOccupancyService.barrer(intervalos, desde, hasta, personas);
+    }
+}
@@ -0,0 +1,80 @@
+package com.microservice_benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservice_employee.config.JacksonConfig;
+import com.microservice_employee.service.ActiveWorkforceSnapshot;
+import com.microservice_employee.service.DailyOccupancyService;
+import com.microservice_employee.service.DatasetVersionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDate;
+
+/**
+ * Base H2 en memoria (modo PostgreSQL) con el esquema de Flyway de microservice-employee
+ * (V1 y V2, que se leen del jar del servicio) y datos de {@link SyntheticHrData} con semilla
+ * fija, más un contexto de Spring con los servicios a medir. Las fechas se arman alrededor
+ * de hoy para que las ventanas de las métricas diarias siempre tengan datos.
+ */
+public final class EmployeeFixture implements AutoCloseable {
+
+    private static final String[] MIGRACIONES = {"db/migration/V1__init.sql", "db/migration/V2__licencias.sql"};
+    static final long SEMILLA = 42;
+
+    private final SingleConnectionDataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final AnnotationConfigApplicationContext contexto;
+    private final ObjectMapper json;
+
+    private EmployeeFixture(String nombre) {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:" + nombre + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(JacksonConfig.rowsModule())
+                .build();
+        contexto = new AnnotationConfigApplicationContext();
+        contexto.registerBean(JdbcTemplate.class, () -> jdbc);
+        contexto.register(DatasetVersionService.class, ActiveWorkforceSnapshot.class, DailyOccupancyService.class);
+    }
+
+    /** Crea el esquema, carga {@code empleados} empleados con sus contratos y ausencias y levanta el contexto. */
+    public static EmployeeFixture crear(int empleados) {
+        EmployeeFixture f = new EmployeeFixture("bench-employee-" + empleados);
+        ResourceDatabasePopulator esquema = new ResourceDatabasePopulator();
+        for (String migracion : MIGRACIONES) {
+            esquema.addScript(new ClassPathResource(migracion));
+        }
+        esquema.execute(f.dataSource);
+        new SyntheticHrData(SEMILLA, empleados, LocalDate.now()).insertar(f.jdbc);
+        f.contexto.refresh();
+        return f;
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbc;
+    }
+
+    /** ObjectMapper con el mismo módulo de filas que registra la aplicación. */
+    public ObjectMapper json() {
+        return json;
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+        jdbc.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+}
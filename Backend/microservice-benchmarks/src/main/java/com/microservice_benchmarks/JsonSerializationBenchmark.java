@@ -0,0 +1,94 @@
+package com.microservice_benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice_employee.model.ContratoActivo;
+import com.microservice_employee.model.EmpleadoActivo;
+import com.microservice_employee.service.ActiveWorkforceSnapshot;
+import com.microservice_employee.service.DailyOccupancyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización a JSON de las respuestas más pesadas del dashboard, ya en memoria: la
+ * dotación activa (proyecciones del snapshot, y la misma consulta como mapas para comparar)
+ * y la serie diaria de vacaciones a 90 días con y sin personas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JsonSerializationBenchmark {
+
+    @Param({"2000"})
+    public int empleados;
+
+    private EmployeeFixture fixture;
+    private ObjectMapper json;
+    private List<EmpleadoActivo> empleadosActivos;
+    private List<ContratoActivo> contratosActivos;
+    private List<Map<String, Object>> empleadosActivosMapas;
+    private List<Map<String, Object>> serieConPersonas;
+    private List<Map<String, Object>> serieTotales;
+
+    @Setup
+    public void preparar() {
+        fixture = EmployeeFixture.crear(empleados);
+        json = fixture.json();
+        ActiveWorkforceSnapshot.Plantilla plantilla = fixture.bean(ActiveWorkforceSnapshot.class).get();
+        empleadosActivos = plantilla.empleadosActivos();
+        contratosActivos = plantilla.contratosActivos();
+        empleadosActivosMapas = fixture.jdbc().queryForList(RowMappingBenchmark.EMPLEADOS_ACTIVOS_SQL);
+        DailyOccupancyService diarias = fixture.bean(DailyOccupancyService.class);
+        LocalDate ayer = LocalDate.now().minusDays(1);
+        serieConPersonas = diarias.vacaciones(ayer, ayer.plusDays(90), true);
+        serieTotales = diarias.vacaciones(ayer, ayer.plusDays(90), false);
+    }
+
+    @TearDown
+    public void cerrar() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] empleadosActivos() throws JsonProcessingException {
+        return json.writeValueAsBytes(empleadosActivos);
+    }
+
+    @Benchmark
+    public byte[] empleadosActivosMapas() throws JsonProcessingException {
+        return json.writeValueAsBytes(empleadosActivosMapas);
+    }
+
+    @Benchmark
+    public byte[] contratosActivos() throws JsonProcessingException {
+        return json.writeValueAsBytes(contratosActivos);
+    }
+
+    @Benchmark
+    public byte[] vacacionesDiariasConPersonas() throws JsonProcessingException {
+        return json.writeValueAsBytes(serieConPersonas);
+    }
+
+    @Benchmark
+    public byte[] vacacionesDiariasTotales() throws JsonProcessingException {
+        return json.writeValueAsBytes(serieTotales);
+    }
+}
@@ -0,0 +1,90 @@
+package com.microservice_benchmarks;
+
+import com.microservice_user.MicroserviceUserApplication;
+import com.microservice_user.model.User;
+import com.microservice_user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.login completo (JPA + BCrypt + registro de último acceso) sobre el contexto
+ * real de microservice-user con H2. {@code bcryptCost} separa cuánto es hash y cuánto el
+ * resto del camino: con 4 domina la base, con 10 (el valor de producción) domina BCrypt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class LoginBenchmark {
+
+    private static final String CLAVE = "clave-benchmark";
+
+    @Param({"1000"})
+    public int usuarios;
+
+    @Param({"4", "10"})
+    public int bcryptCost;
+
+    private ConfigurableApplicationContext contexto;
+    private UserService userService;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(MicroserviceUserApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.location=classpath:/bench-user.properties", "--auth.bcrypt.cost=" + bcryptCost);
+        userService = contexto.getBean(UserService.class);
+
+        // Un solo hash para todos: generar miles a costo 10 tardaría minutos
+        String hash = new BCryptPasswordEncoder(bcryptCost).encode(CLAVE);
+        List<Object[]> filas = new ArrayList<>(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            filas.add(new Object[]{"user" + i, hash, "Usuario " + i, "user" + i + "@example.com"});
+        }
+        contexto.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO usuarios (username, password, nombre, email, rol, activo, fecha_creacion) "
+                        + "VALUES (?, ?, ?, ?, 'USER', TRUE, CURRENT_TIMESTAMP)", filas);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public User loginCorrecto() {
+        return userService.login("user" + ThreadLocalRandom.current().nextInt(usuarios), CLAVE);
+    }
+
+    @Benchmark
+    public User loginClaveIncorrecta() {
+        return userService.login("user" + ThreadLocalRandom.current().nextInt(usuarios), "otra-clave");
+    }
+
+    @Benchmark
+    public User loginUsuarioInexistente() {
+        return userService.login("nadie" + ThreadLocalRandom.current().nextInt(usuarios), CLAVE);
+    }
+}
@@ -0,0 +1,110 @@
+package com.microservice_benchmarks;
+
+import com.microservice_employee.model.EmpleadoActivo;
+import com.microservice_employee.model.Licencia;
+import com.microservice_employee.model.Vacacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * queryForList (un LinkedHashMap por fila) contra los RowMapper tipados, con las mismas
+ * consultas que DatabaseController. Solo mide el mapeo; la serialización está en
+ * {@link JsonSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RowMappingBenchmark {
+
+    static final String VACACIONES_SQL = """
+        SELECT v.id, v.empleado_id, e.nombre || ' ' || e.ap_paterno as empleado_nombre, e.rut as empleado_rut,
+               v.desde, v.hasta, v.retorno, v.dias, v.medios_dias, v.fecha_aprobacion, v.tipo
+        FROM vacaciones v INNER JOIN empleado e ON v.empleado_id = e.id
+        ORDER BY v.desde DESC
+        """;
+
+    static final String LICENCIAS_SQL = """
+        SELECT l.id, l.empleado_id, e.nombre || ' ' || e.ap_paterno as empleado_nombre, e.rut as empleado_rut,
+               l.desde, l.hasta, l.dias, l.tipo, l.fecha_solicitud
+        FROM licencias l INNER JOIN empleado e ON l.empleado_id = e.id
+        ORDER BY l.desde DESC
+        """;
+
+    // H2 exige la columna del ORDER BY en el SELECT del DISTINCT ON; el SELECT externo deja solo las del contrato JSON
+    static final String EMPLEADOS_ACTIVOS_SQL = """
+        SELECT empleado_id, "sucursalNombre", cargo, sexo, fecha_nacimiento, discapacidad
+        FROM (
+            SELECT DISTINCT ON (c.empleado_id)
+                c.empleado_id, COALESCE(s.nombre, 'Sin sucursal') AS "sucursalNombre", COALESCE(c.cargo, '') AS cargo,
+                e.sexo, e.fecha_nac AS fecha_nacimiento, e.discapacidad, c.fecha_contratacion
+            FROM contrato c
+            INNER JOIN empleado e ON c.empleado_id = e.id
+            LEFT JOIN sucursal s ON c.sucursal_id = s.id
+            WHERE c.vigente = true
+            ORDER BY c.empleado_id, c.fecha_contratacion DESC NULLS LAST
+        ) t
+        ORDER BY empleado_id
+        """;
+
+    @Param({"2000"})
+    public int empleados;
+
+    private EmployeeFixture fixture;
+
+    @Setup
+    public void preparar() {
+        fixture = EmployeeFixture.crear(empleados);
+    }
+
+    @TearDown
+    public void cerrar() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> vacacionesMapas() {
+        return fixture.jdbc().queryForList(VACACIONES_SQL);
+    }
+
+    @Benchmark
+    public List<Vacacion> vacacionesTipadas() {
+        return fixture.jdbc().query(VACACIONES_SQL, Vacacion.MAPPER);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> licenciasMapas() {
+        return fixture.jdbc().queryForList(LICENCIAS_SQL);
+    }
+
+    @Benchmark
+    public List<Licencia> licenciasTipadas() {
+        return fixture.jdbc().query(LICENCIAS_SQL, Licencia.MAPPER);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> empleadosActivosMapas() {
+        return fixture.jdbc().queryForList(EMPLEADOS_ACTIVOS_SQL);
+    }
+
+    @Benchmark
+    public List<EmpleadoActivo> empleadosActivosTipados() {
+        return fixture.jdbc().query(EMPLEADOS_ACTIVOS_SQL, EmpleadoActivo.MAPPER);
+    }
+}
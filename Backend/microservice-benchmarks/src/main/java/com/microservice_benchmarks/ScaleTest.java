@@ -0,0 +1,367 @@
+package com.microservice_benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservice_employee.MicroserviceEmployeeApplication;
+import com.microservice_employee.bulk.BulkLoader;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de escala offline: para cada tamaño de empresa (1k, 10k y 100k empleados por
+ * defecto) genera el dataset sintético, levanta microservice-employee completo sobre esa
+ * base y mide por endpoint la latencia (p50/p95/máx), los bytes de respuesta y el heap
+ * (datos, retenido por la aplicación y pico). Entre tamaños calcula el exponente de
+ * crecimiento de la latencia: ~0 no depende de los datos, ~1 crece lineal, más es peor.
+ *
+ * <pre>
+ * java -Xmx4g -cp microservice-benchmarks/target/benchmarks.jar com.microservice_benchmarks.ScaleTest
+ *   -Dscale.tamanos=1000,10000,100000   tamaños a probar
+ *   -Dscale.iteraciones=20              requests medidos por endpoint (más 3 de calentamiento)
+ *   -Dscale.salida=target/scale.json    reporte
+ *   -Dscale.baseline=scale-base.json    compara contra un reporte anterior y sale con 1 si empeoró
+ *   -Dscale.tolerancia=0.5              cuánto puede crecer el p95 (50%) antes de contar como regresión
+ *   -Dscale.jdbc-url=jdbc:postgresql://localhost:5432/rrhh_scale (+ scale.jdbc-user / scale.jdbc-password)
+ * </pre>
+ *
+ * <p>Sin {@code scale.jdbc-url} usa H2 en memoria (modo PostgreSQL). Con PostgreSQL los planes
+ * son los reales, pero <b>borra el esquema public de esa base</b> antes de cada tamaño.</p>
+ */
+public final class ScaleTest {
+
+    private static final int CALENTAMIENTO = 3;
+    private static final String H2_URL =
+            "jdbc:h2:mem:scale;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final String[] MIGRACIONES_H2 = {"db/migration/V1__init.sql", "db/migration/V2__licencias.sql"};
+
+    /** Endpoints medidos; {ultima} es la última página con size=50 y {id} un empleado del medio. */
+    private static final String[] ENDPOINTS = {
+            "/api/db/empleados?page=0&size=50",
+            "/api/db/empleados?page={ultima}&size=50",
+            "/api/db/empleados?cursor=&size=50",
+            "/api/db/empleados/detalle?ids={id}",
+            "/api/db/empleados/{id}/perfil",
+            "/api/db/empleados/activos",
+            "/api/db/empleados/activos/agregado?por=sucursal&por=sexo",
+            "/api/db/contratos?page=0&size=50",
+            "/api/db/contratos/activos",
+            "/api/db/vacaciones",
+            "/api/db/licencias",
+            "/api/db/metrics/vacaciones/daily?days=14",
+            "/api/db/metrics/vacaciones/daily?days=90&personas=false",
+            "/api/db/metrics/licencias/daily?days=90",
+            "/api/db/stats",
+    };
+
+    private final int iteraciones = Integer.getInteger("scale.iteraciones", 20);
+    private final String jdbcUrl = System.getProperty("scale.jdbc-url", "");
+    private final String jdbcUser = System.getProperty("scale.jdbc-user", "postgres");
+    private final String jdbcPassword = System.getProperty("scale.jdbc-password", "");
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws Exception {
+        int[] tamanos = Arrays.stream(System.getProperty("scale.tamanos", "").split(","))
+                .filter(s -> !s.isBlank()).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        if (tamanos.length == 0) {
+            tamanos = SyntheticHrData.TAMANOS;
+        }
+        ScaleTest prueba = new ScaleTest();
+        Map<String, Object> reporte = prueba.correr(tamanos);
+        File salida = new File(System.getProperty("scale.salida", "target/scale.json"));
+        salida.getAbsoluteFile().getParentFile().mkdirs();
+        prueba.json.writeValue(salida, reporte);
+        System.out.println("Reporte: " + salida.getAbsolutePath());
+
+        String baseline = System.getProperty("scale.baseline", "");
+        if (!baseline.isBlank()) {
+            double tolerancia = Double.parseDouble(System.getProperty("scale.tolerancia", "0.5"));
+            List<String> regresiones = prueba.comparar(reporte, new File(baseline), tolerancia);
+            regresiones.forEach(r -> System.out.println("REGRESIÓN " + r));
+            System.exit(regresiones.isEmpty() ? 0 : 1);
+        }
+        System.exit(0);
+    }
+
+    Map<String, Object> correr(int[] tamanos) throws Exception {
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("fecha", LocalDate.now().toString());
+        reporte.put("base", jdbcUrl.isBlank() ? "h2" : "postgresql");
+        reporte.put("iteraciones", iteraciones);
+        Map<String, Object> porTamano = new LinkedHashMap<>();
+        for (int tamano : tamanos) {
+            porTamano.put(Integer.toString(tamano), medirTamano(tamano));
+        }
+        reporte.put("tamanos", porTamano);
+        reporte.put("exponentes", exponentes(porTamano));
+        return reporte;
+    }
+
+    private Map<String, Object> medirTamano(int tamano) throws Exception {
+        long heapInicial = heapTrasGc();
+        long t0 = System.nanoTime();
+        SyntheticHrData datos = new SyntheticHrData(EmployeeFixture.SEMILLA, tamano, LocalDate.now());
+        DriverManagerDataSource ds = jdbcUrl.isBlank()
+                ? new DriverManagerDataSource(H2_URL, "sa", "")
+                : new DriverManagerDataSource(jdbcUrl, jdbcUser, jdbcPassword);
+        cargar(ds, datos);
+        long cargaMs = (System.nanoTime() - t0) / 1_000_000;
+        long heapDatos = heapTrasGc();
+        System.out.printf("%,d empleados cargados en %,d ms%n", tamano, cargaMs);
+
+        // Como argumentos y no como defaults: tienen que ganarle a bench-employee.properties
+        List<String> argumentos = new ArrayList<>(List.of("--spring.config.location=classpath:/bench-employee.properties"));
+        if (!jdbcUrl.isBlank()) {
+            argumentos.addAll(List.of("--spring.datasource.url=" + jdbcUrl, "--spring.datasource.username=" + jdbcUser,
+                    "--spring.datasource.password=" + jdbcPassword));
+        } else {
+            // dataset_version (V6) no existe en H2: versión fija, el snapshot se arma en el primer request
+            argumentos.add("--dashboard.dataset.watermark-sql=SELECT 0");
+        }
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(MicroserviceEmployeeApplication.class)
+                .run(argumentos.toArray(String[]::new))) {
+            int puerto = ((WebServerApplicationContext) app).getWebServer().getPort();
+            String base = "http://localhost:" + puerto;
+            int ultima = Math.max((tamano - 1) / 50, 0);
+            String id = Integer.toString(Math.max(tamano / 2, 1));
+
+            resetearPicos();
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            for (String plantilla : ENDPOINTS) {
+                String ruta = plantilla.replace("{ultima}", Integer.toString(ultima)).replace("{id}", id);
+                Map<String, Object> medicion = medir(base + ruta);
+                endpoints.put(plantilla, medicion);
+                System.out.printf("  %-58s p50 %8.1f ms  p95 %8.1f ms  %,12d B  %s%n", plantilla,
+                        (double) medicion.get("p50Ms"), (double) medicion.get("p95Ms"),
+                        (long) medicion.get("bytes"), medicion.get("status"));
+            }
+            long pico = picoHeap();
+            long heapApp = heapTrasGc();
+            resultado.put("cargaMs", cargaMs);
+            resultado.put("heapDatosMb", mb(heapDatos - heapInicial));
+            resultado.put("heapAplicacionMb", mb(heapApp - heapDatos));
+            resultado.put("heapPicoMb", mb(pico));
+            resultado.put("endpoints", endpoints);
+        } finally {
+            limpiar(ds);
+        }
+        return resultado;
+    }
+
+    /** Esquema y datos antes de levantar la aplicación, así ningún componente ve la base a medio cargar. */
+    private void cargar(DriverManagerDataSource ds, SyntheticHrData datos) {
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        if (jdbcUrl.isBlank()) {
+            ResourceDatabasePopulator esquema = new ResourceDatabasePopulator();
+            for (String migracion : MIGRACIONES_H2) {
+                esquema.addScript(new ClassPathResource(migracion));
+            }
+            esquema.execute(ds);
+            datos.insertar(jdbc);
+            return;
+        }
+        cargarPostgres(ds, datos);
+    }
+
+    /**
+     * Recrea el esquema public con las migraciones de Flyway y carga {@code datos} por COPY.
+     * Termina con VACUUM ANALYZE: estadísticas para el planificador y el mapa de visibilidad
+     * al día (sin él no hay index-only scans), como en una base que ya pasó por autovacuum.
+     */
+    static void cargarPostgres(DataSource ds, SyntheticHrData datos) {
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("DROP SCHEMA IF EXISTS public CASCADE");
+        jdbc.execute("CREATE SCHEMA public");
+        Flyway.configure().dataSource(ds).locations("classpath:db/migration").load().migrate();
+        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext()) {
+            ctx.registerBean(JdbcTemplate.class, () -> jdbc);
+            ctx.registerBean(DataSourceTransactionManager.class, () -> new DataSourceTransactionManager(ds));
+            ctx.register(BulkLoader.class);
+            ctx.refresh();
+            datos.cargar(ctx.getBean(BulkLoader.class));
+        }
+        jdbc.execute("VACUUM ANALYZE");
+    }
+
+    private void limpiar(DriverManagerDataSource ds) {
+        if (jdbcUrl.isBlank()) {
+            new JdbcTemplate(ds).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private Map<String, Object> medir(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(2)).GET().build();
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            http.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+        double[] ms = new double[iteraciones];
+        long bytes = 0;
+        int status = 0;
+        for (int i = 0; i < iteraciones; i++) {
+            long t0 = System.nanoTime();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            ms[i] = (System.nanoTime() - t0) / 1e6;
+            bytes = response.body().length;
+            status = response.statusCode();
+        }
+        Arrays.sort(ms);
+        Map<String, Object> medicion = new LinkedHashMap<>();
+        medicion.put("status", status);
+        medicion.put("p50Ms", redondear(percentil(ms, 0.50)));
+        medicion.put("p95Ms", redondear(percentil(ms, 0.95)));
+        medicion.put("maxMs", redondear(ms[ms.length - 1]));
+        medicion.put("bytes", bytes);
+        return medicion;
+    }
+
+    /**
+     * Exponente de crecimiento del p50 entre cada par de tamaños consecutivos:
+     * log(p50 grande / p50 chico) / log(tamaño grande / tamaño chico).
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> exponentes(Map<String, Object> porTamano) {
+        List<String> tamanos = new ArrayList<>(porTamano.keySet());
+        Map<String, Object> exponentes = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            Map<String, Object> porTramo = new LinkedHashMap<>();
+            for (int i = 1; i < tamanos.size(); i++) {
+                double chico = p50(porTamano, tamanos.get(i - 1), endpoint);
+                double grande = p50(porTamano, tamanos.get(i), endpoint);
+                double razon = Double.parseDouble(tamanos.get(i)) / Double.parseDouble(tamanos.get(i - 1));
+                if (chico > 0 && grande > 0 && razon > 1) {
+                    porTramo.put(tamanos.get(i - 1) + "->" + tamanos.get(i),
+                            redondear(Math.log(grande / chico) / Math.log(razon)));
+                }
+            }
+            exponentes.put(endpoint, porTramo);
+        }
+        return exponentes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double p50(Map<String, Object> porTamano, String tamano, String endpoint) {
+        Map<String, Object> endpoints = (Map<String, Object>) ((Map<String, Object>) porTamano.get(tamano)).get("endpoints");
+        Map<String, Object> medicion = (Map<String, Object>) endpoints.get(endpoint);
+        return medicion == null ? 0 : ((Number) medicion.get("p50Ms")).doubleValue();
+    }
+
+    /**
+     * Regresiones contra un reporte anterior: p95 más de {@code tolerancia} por sobre la base
+     * (y al menos 5 ms, para no contar ruido en endpoints de 1 ms), exponente 0,2 más alto, o un
+     * endpoint que antes respondía 200 y ahora no.
+     */
+    @SuppressWarnings("unchecked")
+    List<String> comparar(Map<String, Object> actual, File archivo, double tolerancia) throws IOException {
+        Map<String, Object> base = json.readValue(archivo, Map.class);
+        Map<String, Object> baseTamanos = (Map<String, Object>) base.get("tamanos");
+        Map<String, Object> actualTamanos = (Map<String, Object>) actual.get("tamanos");
+        List<String> regresiones = new ArrayList<>();
+        for (Map.Entry<String, Object> t : actualTamanos.entrySet()) {
+            Map<String, Object> previo = (Map<String, Object>) baseTamanos.get(t.getKey());
+            if (previo == null) {
+                continue;
+            }
+            Map<String, Object> previos = (Map<String, Object>) previo.get("endpoints");
+            Map<String, Object> ahora = (Map<String, Object>) ((Map<String, Object>) t.getValue()).get("endpoints");
+            for (Map.Entry<String, Object> e : ahora.entrySet()) {
+                Map<String, Object> antes = (Map<String, Object>) previos.get(e.getKey());
+                if (antes == null) {
+                    continue;
+                }
+                Map<String, Object> despues = (Map<String, Object>) e.getValue();
+                double p95Antes = ((Number) antes.get("p95Ms")).doubleValue();
+                double p95Despues = ((Number) despues.get("p95Ms")).doubleValue();
+                if (p95Despues > p95Antes * (1 + tolerancia) && p95Despues - p95Antes > 5) {
+                    regresiones.add(String.format("%s con %s empleados: p95 %.1f ms -> %.1f ms",
+                            e.getKey(), t.getKey(), p95Antes, p95Despues));
+                }
+                if (((Number) antes.get("status")).intValue() == 200 && ((Number) despues.get("status")).intValue() != 200) {
+                    regresiones.add(String.format("%s con %s empleados: status %s", e.getKey(), t.getKey(), despues.get("status")));
+                }
+            }
+        }
+        Map<String, Object> baseExp = (Map<String, Object>) base.getOrDefault("exponentes", Map.of());
+        Map<String, Object> actualExp = (Map<String, Object>) actual.get("exponentes");
+        for (Map.Entry<String, Object> e : actualExp.entrySet()) {
+            Map<String, Object> antes = (Map<String, Object>) baseExp.getOrDefault(e.getKey(), Map.of());
+            for (Map.Entry<String, Object> tramo : ((Map<String, Object>) e.getValue()).entrySet()) {
+                Object previo = antes.get(tramo.getKey());
+                double ahora = ((Number) tramo.getValue()).doubleValue();
+                if (previo != null && ahora > ((Number) previo).doubleValue() + 0.2) {
+                    regresiones.add(String.format("%s escala peor en %s: exponente %s -> %.2f",
+                            e.getKey(), tramo.getKey(), previo, ahora));
+                }
+            }
+        }
+        return regresiones;
+    }
+
+    private static long heapTrasGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void resetearPicos() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /** Suma de los picos de cada pool del heap: cota superior del heap usado durante las mediciones. */
+    private static long picoHeap() {
+        long pico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                pico += pool.getPeakUsage().getUsed();
+            }
+        }
+        return pico;
+    }
+
+    private static double percentil(double[] ordenados, double p) {
+        int i = (int) Math.ceil(p * ordenados.length) - 1;
+        return ordenados[Math.min(Math.max(i, 0), ordenados.length - 1)];
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    private static double mb(long bytes) {
+        return redondear(bytes / 1024.0 / 1024.0);
+    }
+}
@@ -0,0 +1,322 @@
+package com.microservice_benchmarks;
+
+import com.microservice_employee.bulk.BulkLoader;
+import com.microservice_employee.bulk.BulkTable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Datos RRHH sintéticos y deterministas para el esquema de V1/V2: la misma semilla, cantidad
+ * y fecha de referencia dan exactamente las mismas filas, en cualquier orden de carga.
+ *
+ * <p>Cada empleado se arma con su propio generador (derivado de la semilla y su id), así que
+ * las tablas se pueden producir por separado y en streaming sin guardar nada en memoria, y
+ * aun así son coherentes entre sí: las vacaciones y licencias caen dentro de los contratos.</p>
+ *
+ * <p>Proporciones tomadas de una dotación de retail: ~88% con contrato vigente, 40% con
+ * contratos anteriores (plazo fijo que pasa a indefinido), 2-4 vacaciones al año, ~35% con
+ * alguna licencia al año con duración de cola larga, y un 5% de vacaciones sin {@code hasta}
+ * (solo {@code retorno}) como las que llegan de Talana.</p>
+ */
+public final class SyntheticHrData {
+
+    /** Tamaños de empresa de la prueba de escala. */
+    public static final int[] TAMANOS = {1_000, 10_000, 100_000};
+
+    private static final int LOTE = 2_000;
+
+    private static final String[] NOMBRES = {"María", "José", "Juan", "Camila", "Francisca", "Luis", "Carlos", "Javiera",
+            "Constanza", "Felipe", "Valentina", "Sebastián", "Catalina", "Diego", "Fernanda", "Matías", "Daniela",
+            "Cristián", "Paula", "Rodrigo", "Carolina", "Jorge", "Andrea", "Patricio", "Gabriela", "Tomás"};
+    private static final String[] APELLIDOS = {"González", "Muñoz", "Rojas", "Díaz", "Pérez", "Soto", "Contreras", "Silva",
+            "Martínez", "Sepúlveda", "Morales", "Rodríguez", "López", "Fuentes", "Hernández", "Torres", "Araya",
+            "Flores", "Espinoza", "Valenzuela", "Castillo", "Tapia", "Reyes", "Gutiérrez", "Castro", "Pizarro"};
+    private static final String[] CIUDADES = {"Santiago", "Valparaíso", "Concepción", "Antofagasta", "Temuco",
+            "Puerto Montt", "La Serena", "Rancagua", "Talca", "Iquique", "Arica", "Chillán", "Osorno", "Valdivia"};
+    private static final String[] CARGOS = {"Vendedor", "Cajero", "Reponedor", "Bodeguero", "Guardia",
+            "Supervisor", "Jefe de Local", "Administrativo", "Analista", "Jefe de Área", "Gerente"};
+    /** Peso de cada cargo: la base de la pirámide es mucho más ancha. */
+    private static final int[] PESO_CARGO = {30, 20, 15, 10, 5, 8, 4, 4, 2, 1, 1};
+
+    private final long semilla;
+    private final int empleados;
+    private final LocalDate referencia;
+    private final int sucursales;
+    private final int centrosCosto;
+
+    /**
+     * @param semilla    semilla de todo el dataset
+     * @param empleados  cantidad de empleados (ids 1..empleados)
+     * @param referencia "hoy" del dataset: las ausencias se reparten dos años hacia atrás y
+     *                   unos meses hacia adelante de esta fecha
+     */
+    public SyntheticHrData(long semilla, int empleados, LocalDate referencia) {
+        this.semilla = semilla;
+        this.empleados = empleados;
+        this.referencia = referencia;
+        this.sucursales = Math.min(Math.max(empleados / 150, CIUDADES.length), 600);
+        this.centrosCosto = Math.min(Math.max(empleados / 60, 10), 2_000);
+    }
+
+    public int empleados() {
+        return empleados;
+    }
+
+    public LocalDate referencia() {
+        return referencia;
+    }
+
+    /** Filas de todas las tablas en el orden de columnas de {@link BulkTable}, listas para el loader. */
+    public Map<BulkTable, Iterable<Object[]>> filas() {
+        Map<BulkTable, Iterable<Object[]>> filas = new EnumMap<>(BulkTable.class);
+        for (BulkTable tabla : BulkTable.values()) {
+            filas.put(tabla, filas(tabla));
+        }
+        return filas;
+    }
+
+    public Iterable<Object[]> filas(BulkTable tabla) {
+        return switch (tabla) {
+            case SUCURSAL -> () -> porIndice(sucursales, i -> new Object[]{i,
+                    CIUDADES[(i - 1) % CIUDADES.length] + (i > CIUDADES.length ? " " + ((i - 1) / CIUDADES.length + 1) : "")});
+            case CENTRO_COSTO -> () -> porIndice(centrosCosto, i -> new Object[]{i, String.format("CC%04d", i), "Centro de costo " + i});
+            case EMPLEADO -> () -> porIndice(empleados, id -> persona(id).empleado());
+            case CONTRATO -> () -> porEmpleado(Persona::contratos);
+            case VACACIONES -> () -> porEmpleado(Persona::vacaciones);
+            case LICENCIAS -> () -> porEmpleado(Persona::licencias);
+        };
+    }
+
+    /** Inserta con JDBC batch (H2 o cualquier base sin COPY), tabla por tabla en orden de FK. */
+    public void insertar(JdbcTemplate jdbc) {
+        for (BulkTable tabla : BulkTable.values()) {
+            String sql = "INSERT INTO " + tabla.tabla() + " (" + String.join(", ", tabla.columnas()) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(tabla.columnas().size(), "?")) + ")";
+            List<Object[]> lote = new ArrayList<>(LOTE);
+            for (Object[] fila : filas(tabla)) {
+                lote.add(fila);
+                if (lote.size() == LOTE) {
+                    jdbc.batchUpdate(sql, lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                jdbc.batchUpdate(sql, lote);
+            }
+        }
+    }
+
+    /** Carga en PostgreSQL con COPY a staging y merge (el mismo camino que el ETL). */
+    public Map<BulkTable, BulkLoader.Resultado> cargar(BulkLoader loader) {
+        return loader.cargar(filas());
+    }
+
+    private Persona persona(int id) {
+        return new Persona(id, new SplittableRandom(semilla * 0x9E3779B97F4A7C15L + id));
+    }
+
+    private static Iterator<Object[]> porIndice(int n, IntFunction<Object[]> fila) {
+        return new Iterator<>() {
+            private int i = 1;
+
+            @Override
+            public boolean hasNext() {
+                return i <= n;
+            }
+
+            @Override
+            public Object[] next() {
+                if (i > n) {
+                    throw new NoSuchElementException();
+                }
+                return fila.apply(i++);
+            }
+        };
+    }
+
+    /** Aplana las filas de cada empleado, generando un empleado a la vez. */
+    private Iterator<Object[]> porEmpleado(Function<Persona, List<Object[]>> filasDe) {
+        return new Iterator<>() {
+            private int id = 0;
+            private Iterator<Object[]> actual = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!actual.hasNext() && id < empleados) {
+                    actual = filasDe.apply(persona(++id)).iterator();
+                }
+                return actual.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return actual.next();
+            }
+        };
+    }
+
+    /**
+     * Un empleado y su historia. Los ids de contratos, vacaciones y licencias se derivan del
+     * id del empleado (id × 8 + n), así son estables sin contador global.
+     */
+    private final class Persona {
+        private final int id;
+        private final SplittableRandom rnd;
+        private final LocalDate ingreso;
+        private final LocalDate salida;
+        private final int contratosPrevios;
+        private final int sucursalId;
+        private final int centroCostoId;
+        private final String cargo;
+
+        Persona(int id, SplittableRandom rnd) {
+            this.id = id;
+            this.rnd = rnd;
+            // Antigüedad sesgada a lo reciente: mucha rotación en la base
+            int antiguedad = (int) (Math.pow(rnd.nextDouble(), 2) * 365 * 15) + 15;
+            this.ingreso = referencia.minusDays(antiguedad);
+            this.salida = rnd.nextInt(100) < 12
+                    ? ingreso.plusDays(Math.min(antiguedad - 1, 30 + rnd.nextInt(Math.max(antiguedad - 30, 1)))) : null;
+            int r = rnd.nextInt(100);
+            this.contratosPrevios = r < 60 ? 0 : r < 85 ? 1 : r < 95 ? 2 : 3;
+            this.sucursalId = 1 + (int) (Math.pow(rnd.nextDouble(), 1.5) * sucursales);
+            this.centroCostoId = 1 + rnd.nextInt(centrosCosto);
+            this.cargo = cargo(rnd);
+        }
+
+        Object[] empleado() {
+            String nombre = NOMBRES[rnd.nextInt(NOMBRES.length)];
+            String paterno = APELLIDOS[rnd.nextInt(APELLIDOS.length)];
+            String materno = rnd.nextInt(20) == 0 ? null : APELLIDOS[rnd.nextInt(APELLIDOS.length)];
+            LocalDate nacimiento = ingreso.minusYears(18 + rnd.nextInt(40)).minusDays(rnd.nextInt(365));
+            int cuerpo = 10_000_000 + id * 37;
+            return new Object[]{id, cuerpo + "-" + digitoVerificador(cuerpo), nombre, paterno, materno,
+                    rnd.nextInt(100) < 52 ? "F" : "M", Date.valueOf(nacimiento), rnd.nextInt(100) < 2};
+        }
+
+        /** Contratos anteriores a plazo fijo, luego el actual (vigente salvo que el empleado haya salido). */
+        List<Object[]> contratos() {
+            List<Object[]> filas = new ArrayList<>(contratosPrevios + 1);
+            LocalDate limite = salida != null ? salida : referencia;
+            LocalDate desde = ingreso;
+            for (int n = 0; n <= contratosPrevios; n++) {
+                boolean ultimo = n == contratosPrevios;
+                LocalDate hasta = ultimo ? salida : desde.plusDays(89 + rnd.nextInt(270));
+                if (!ultimo && !hasta.isBefore(limite)) {
+                    // No alcanzó a renovar: este pasa a ser el contrato actual
+                    hasta = salida;
+                    ultimo = true;
+                }
+                boolean vigente = ultimo && salida == null;
+                String cargoContrato = ultimo ? cargo : CARGOS[rnd.nextInt(3)];
+                filas.add(new Object[]{(long) id * 8 + n, id, cargoContrato, cargoContrato.toUpperCase(),
+                        centroCostoId, rnd.nextInt(40) == 0 ? null : sucursalId,
+                        rnd.nextInt(10) == 0 ? null : "Jefatura " + sucursalId, Date.valueOf(desde), vigente,
+                        Date.valueOf(desde), hasta == null ? null : Date.valueOf(hasta)});
+                if (ultimo) {
+                    break;
+                }
+                desde = hasta.plusDays(1);
+            }
+            return filas;
+        }
+
+        /** 2 a 4 vacaciones por año trabajado en los últimos dos años, y alguna ya aprobada a futuro. */
+        List<Object[]> vacaciones() {
+            LocalDate inicio = max(ingreso.plusMonths(6), referencia.minusYears(2));
+            LocalDate fin = salida != null ? salida : referencia.plusDays(90);
+            List<Object[]> filas = new ArrayList<>(8);
+            LocalDate cursor = inicio;
+            int n = 0;
+            while (n < 8) {
+                cursor = cursor.plusDays(60 + rnd.nextInt(120));
+                int dias = rnd.nextInt(100) < 70 ? 1 + rnd.nextInt(5) : 5 + rnd.nextInt(11);
+                LocalDate desde = habil(cursor);
+                LocalDate hasta = desde.plusDays(dias + (dias / 5) * 2 - 1);
+                if (hasta.isAfter(fin)) {
+                    break;
+                }
+                boolean sinHasta = rnd.nextInt(100) < 5;
+                filas.add(new Object[]{(long) id * 8 + n, id, Date.valueOf(desde), sinHasta ? null : Date.valueOf(hasta),
+                        Date.valueOf(habil(hasta.plusDays(1))), BigDecimal.valueOf(dias), rnd.nextInt(10) == 0 ? 1 : 0,
+                        Timestamp.valueOf(desde.minusDays(5 + rnd.nextInt(25)).atTime(9 + rnd.nextInt(9), rnd.nextInt(60))),
+                        rnd.nextInt(10) == 0 ? "Progresivas" : "Legales"});
+                cursor = hasta;
+                n++;
+            }
+            return filas;
+        }
+
+        /** ~35% con alguna licencia al año; duración de cola larga (la mayoría de pocos días). */
+        List<Object[]> licencias() {
+            LocalDate inicio = max(ingreso, referencia.minusYears(2));
+            LocalDate fin = salida != null ? salida : referencia.plusDays(30);
+            List<Object[]> filas = new ArrayList<>(4);
+            for (int n = 0; n < 6 && rnd.nextInt(100) < 35; n++) {
+                long rango = Math.max(fin.toEpochDay() - inicio.toEpochDay(), 1);
+                LocalDate desde = inicio.plusDays(rnd.nextLong(rango));
+                int r = rnd.nextInt(100);
+                int dias = r < 60 ? 1 + rnd.nextInt(7) : r < 90 ? 8 + rnd.nextInt(23) : 31 + rnd.nextInt(150);
+                String tipo = r < 90 ? (rnd.nextInt(100) < 85 ? "Enfermedad" : "Accidente laboral")
+                        : (rnd.nextBoolean() ? "Maternal" : "Enfermedad grave hijo");
+                filas.add(new Object[]{(long) id * 8 + n, id, Date.valueOf(desde), Date.valueOf(desde.plusDays(dias - 1)),
+                        BigDecimal.valueOf(dias), tipo, Timestamp.valueOf(desde.atTime(8 + rnd.nextInt(10), 0))});
+            }
+            return filas;
+        }
+    }
+
+    private static String cargo(SplittableRandom rnd) {
+        int total = 0;
+        for (int p : PESO_CARGO) {
+            total += p;
+        }
+        int r = rnd.nextInt(total);
+        for (int i = 0; i < PESO_CARGO.length; i++) {
+            r -= PESO_CARGO[i];
+            if (r < 0) {
+                return CARGOS[i];
+            }
+        }
+        return CARGOS[0];
+    }
+
+    private static LocalDate habil(LocalDate fecha) {
+        DayOfWeek dia = fecha.getDayOfWeek();
+        return dia == DayOfWeek.SATURDAY ? fecha.plusDays(2) : dia == DayOfWeek.SUNDAY ? fecha.plusDays(1) : fecha;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /** Dígito verificador módulo 11 del RUT chileno. */
+    static char digitoVerificador(int cuerpo) {
+        int suma = 0;
+        int factor = 2;
+        for (int n = cuerpo; n > 0; n /= 10) {
+            suma += (n % 10) * factor;
+            factor = factor == 7 ? 2 : factor + 1;
+        }
+        int dv = 11 - suma % 11;
+        return dv == 11 ? '0' : dv == 10 ? 'K' : (char) ('0' + dv);
+    }
+}
@@ -0,0 +1,268 @@
+package com.microservice_benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservice_employee.MicroserviceEmployeeApplication;
+import com.microservice_employee.metrics.SlowQueryLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Regresión de planes: carga el dataset sintético en un PostgreSQL con las migraciones
+ * de Flyway, levanta microservice-employee y recorre los endpoints del dashboard. Cada SELECT que
+ * ejecutan pasa por {@link SlowQueryLog} con umbral 0 y un {@code EXPLAIN (FORMAT JSON)} sin
+ * ANALYZE, así que se revisa el plan del SQL que de verdad corre y no el de una copia.
+ * <p>
+ * Falla si algún plan hace Seq Scan sobre empleado, contrato, vacaciones o licencias:
+ * <ul>
+ *   <li>con Filter: recorre la tabla entera para quedarse con una parte, falta un índice;</li>
+ *   <li>en una sentencia con LIMIT: una página no debería leer toda la tabla para ordenarla.</li>
+ * </ul>
+ * Un Seq Scan sin filtro en una sentencia sin LIMIT lee la tabla completa a propósito (conteos de
+ * /stats, listados completos, el lado de un hash join que necesita todos los empleados) y no cuenta.
+ * Las páginas profundas con OFFSET quedan fuera: leen todo lo anterior igual, para eso está ?cursor.
+ *
+ * Necesita un PostgreSQL, así que solo corre con {@code -Dplan.jdbc-url}; sin él queda como
+ * omitida en el build normal. Desde Backend/:
+ * <pre>
+ * mvn -pl microservice-benchmarks -am -Pplan-regression verify \
+ *   -Dplan.jdbc-url=jdbc:postgresql://localhost:5432/rrhh_plan -Dplan.jdbc-password=...
+ *   -Dplan.empleados=100000          tamaño del dataset
+ *   -Dplan.salida=target/plans.json  planes de cada sentencia
+ * </pre>
+ *
+ * <p>Solo PostgreSQL (los planes de H2 no dicen nada) y <b>borra el esquema public de esa base</b>.</p>
+ */
+class PlanRegressionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanRegressionTest.class);
+
+    private static final Set<String> TABLAS = Set.of("empleado", "contrato", "vacaciones", "licencias");
+
+    /** Sentencias a las que se les permite un Seq Scan con filtro, con el motivo. */
+    private static final Map<String, String> EXCEPCIONES = Map.of(
+            "DatabaseController.getContratosCount", "cuenta por vigente, que cumple casi toda la tabla");
+
+    /**
+     * Llamadas típicas del dashboard; {id} es un empleado del medio, la ventana {desde}-{hasta}
+     * es el próximo mes. Las de {@code cursor=} se repiten con el cursor de la página siguiente.
+     */
+    private static final String[] ENDPOINTS = {
+            "/api/db/empleados?page=0&size=50",
+            "/api/db/empleados?cursor=&size=50",
+            "/api/db/empleados/detalle?ids={id}",
+            "/api/db/empleados/{id}/perfil",
+            "/api/db/empleados/{id}/vacaciones",
+            "/api/db/empleados/{id}/licencias",
+            "/api/db/empleados/activos",
+            "/api/db/contratos?page=0&size=50",
+            "/api/db/contratos?page=0&size=50&activo=true",
+            "/api/db/contratos?cursor=&size=50",
+            "/api/db/contratos/count",
+            "/api/db/contratos/count?activo=true",
+            "/api/db/vacaciones",
+            "/api/db/vacaciones/rango?desde={desde}&hasta={hasta}",
+            "/api/db/vacaciones/rango?desde={desde}&hasta={hasta}&cursor=&size=100",
+            "/api/db/vacaciones/rango?desde={desde}&hasta={hasta}&empleadoId={id}",
+            "/api/db/vacaciones/rango?desde={desde}&hasta={hasta}&sucursalId=1",
+            "/api/db/licencias",
+            "/api/db/licencias/rango?desde={desde}&hasta={hasta}",
+            "/api/db/licencias/rango?desde={desde}&hasta={hasta}&cursor=&size=100",
+            "/api/db/licencias/rango?desde={desde}&hasta={hasta}&sucursalId=1",
+            "/api/db/metrics/vacaciones/daily?days=14",
+            "/api/db/metrics/licencias/daily?days=14",
+            "/api/db/stats",
+    };
+
+    private static final Pattern CURSOR = Pattern.compile("cursor=[^&]*");
+    private static final Pattern LIMIT = Pattern.compile("\\blimit\\b");
+    private static final Duration ESPERA_PLANES = Duration.ofSeconds(30);
+
+    private final String jdbcUrl = System.getProperty("plan.jdbc-url", "");
+    private final String jdbcUser = System.getProperty("plan.jdbc-user", "postgres");
+    private final String jdbcPassword = System.getProperty("plan.jdbc-password", "");
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test
+    @EnabledIfSystemProperty(named = "plan.jdbc-url", matches = ".+")
+    void ningunaConsultaDelDashboardRecorreTablasDeMas() throws Exception {
+        List<Map<String, Object>> sentencias = correr(Integer.getInteger("plan.empleados", 100_000));
+        File salida = new File(System.getProperty("plan.salida", "target/plans.json"));
+        salida.getAbsoluteFile().getParentFile().mkdirs();
+        json.writeValue(salida, sentencias);
+        log.info("Planes: {}", salida.getAbsolutePath());
+
+        List<String> regresiones = sentencias.stream()
+                .filter(s -> !((List<?>) s.get("problemas")).isEmpty())
+                .map(s -> s.get("sentencia") + ": " + s.get("problemas"))
+                .toList();
+        assertEquals(List.of(), regresiones, sentencias.size() + " sentencias; planes en " + salida.getAbsolutePath());
+    }
+
+    List<Map<String, Object>> correr(int empleados) throws Exception {
+        LocalDate hoy = LocalDate.now();
+        long t0 = System.nanoTime();
+        DriverManagerDataSource ds = new DriverManagerDataSource(jdbcUrl, jdbcUser, jdbcPassword);
+        ScaleTest.cargarPostgres(ds, new SyntheticHrData(EmployeeFixture.SEMILLA, empleados, hoy));
+        log.info("{} empleados cargados en {} ms", empleados, (System.nanoTime() - t0) / 1_000_000);
+
+        String[] argumentos = {
+                "--spring.config.location=classpath:/bench-employee.properties",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + jdbcUser,
+                "--spring.datasource.password=" + jdbcPassword,
+                // Todas las sentencias al registro, con un plan cada una y sin ejecutarlas de nuevo
+                "--dashboard.slow-query.enabled=true",
+                "--dashboard.slow-query.threshold-ms=0",
+                "--dashboard.slow-query.capacity=4096",
+                "--dashboard.slow-query.plans-per-minute=100000",
+                "--dashboard.slow-query.plan-interval-min=100000",
+                "--dashboard.slow-query.explain-prefix=EXPLAIN (FORMAT JSON) ",
+        };
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(MicroserviceEmployeeApplication.class)
+                .run(argumentos)) {
+            String base = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            SlowQueryLog registro = app.getBean(SlowQueryLog.class);
+            for (String plantilla : ENDPOINTS) {
+                String ruta = plantilla.replace("{id}", Integer.toString(Math.max(empleados / 2, 1)))
+                        .replace("{desde}", hoy.toString())
+                        .replace("{hasta}", hoy.plusMonths(1).toString());
+                recorrer(base + ruta, registro);
+            }
+            return revisar(registro);
+        }
+    }
+
+    /**
+     * Pide la ruta y espera los planes de lo que ejecutó. El EXPLAIN corre en un solo hilo con
+     * una cola corta: si se descartó alguno, repetir el request lo vuelve a encolar.
+     */
+    private void recorrer(String url, SlowQueryLog registro) throws IOException, InterruptedException {
+        String siguiente = null;
+        for (int intento = 0; intento < 3; intento++) {
+            HttpResponse<String> response = http.send(
+                    HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(2)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(url + " respondió " + response.statusCode());
+            }
+            if (url.contains("cursor=")) {
+                JsonNode next = json.readTree(response.body()).path("next");
+                siguiente = next.isTextual() ? next.asText() : null;
+            }
+            if (esperarPlanes(registro)) {
+                break;
+            }
+        }
+        log.info("  {}", url.substring(url.indexOf("/api/")));
+        if (siguiente != null) {
+            recorrer(CURSOR.matcher(url).replaceFirst(
+                    "cursor=" + URLEncoder.encode(siguiente, StandardCharsets.UTF_8)), registro);
+        }
+    }
+
+    private boolean esperarPlanes(SlowQueryLog registro) throws InterruptedException {
+        long limite = System.nanoTime() + ESPERA_PLANES.toNanos();
+        do {
+            if (sentencias(registro).stream().allMatch(s -> !esSelect(s) || s.get("plan") != null)) {
+                return true;
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < limite);
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> sentencias(SlowQueryLog registro) {
+        return (List<Map<String, Object>>) registro.top(Integer.MAX_VALUE).get("top");
+    }
+
+    private static boolean esSelect(Map<String, Object> sentencia) {
+        String sql = ((String) sentencia.get("sql")).toLowerCase(Locale.ROOT);
+        return sql.startsWith("select") || sql.startsWith("with");
+    }
+
+    private List<Map<String, Object>> revisar(SlowQueryLog registro) throws IOException {
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (Map<String, Object> sentencia : sentencias(registro)) {
+            if (!esSelect(sentencia)) {
+                continue;
+            }
+            String nombre = (String) sentencia.get("sentencia");
+            String sql = (String) sentencia.get("sql");
+            String texto = (String) sentencia.get("plan");
+            List<String> problemas = new ArrayList<>();
+            List<String> accesos = new ArrayList<>();
+            JsonNode plan = null;
+            if (texto == null || !texto.startsWith("[")) {
+                problemas.add(texto == null ? "sin plan" : texto.strip());
+            } else {
+                plan = json.readTree(texto).path(0).path("Plan");
+                boolean conLimite = LIMIT.matcher(sql.toLowerCase(Locale.ROOT)).find();
+                nodos(plan, nombre, conLimite, accesos, problemas);
+            }
+            log.info("{} {} {}", problemas.isEmpty() ? "  ok      " : "  REGRESIÓN", nombre, String.join(", ", accesos));
+            problemas.forEach(p -> log.info("             {}", p));
+
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("sentencia", nombre);
+            fila.put("sql", sql);
+            fila.put("accesos", accesos);
+            fila.put("problemas", problemas);
+            fila.put("plan", plan);
+            resultado.add(fila);
+        }
+        return resultado;
+    }
+
+    /** Recorre el árbol del plan anotando cómo se lee cada tabla y los Seq Scan que no corresponden. */
+    private static void nodos(JsonNode nodo, String sentencia, boolean conLimite,
+                              List<String> accesos, List<String> problemas) {
+        String tipo = nodo.path("Node Type").asText();
+        String tabla = nodo.path("Relation Name").asText(null);
+        if (tabla != null) {
+            accesos.add(tipo + " " + nodo.path("Index Name").asText(tabla));
+        }
+        if ("Seq Scan".equals(tipo) && TABLAS.contains(tabla)) {
+            if (nodo.has("Filter") && !EXCEPCIONES.containsKey(sentencia)) {
+                problemas.add("Seq Scan en " + tabla + " con filtro " + nodo.path("Filter").asText());
+            } else if (conLimite) {
+                problemas.add("Seq Scan en " + tabla + " en una consulta paginada");
+            }
+        }
+        for (JsonNode hijo : nodo.path("Plans")) {
+            nodos(hijo, sentencia, conLimite, accesos, problemas);
+        }
+    }
+}
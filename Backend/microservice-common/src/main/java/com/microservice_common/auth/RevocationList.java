@@ -0,0 +1,98 @@
+package com.microservice_common.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copia local de la lista de tokens revocados que publica microservice-user
+ * ({@code GET /api/user/tokens/revocados}). Se refresca en segundo plano; consultar si un
+ * token está revocado es una búsqueda en un mapa.
+ *
+ * <p>Cada refresco se suma a lo ya conocido en vez de reemplazarlo: una entrada solo sale al
+ * pasar su expiración. Así una respuesta incompleta (otra réplica, una lectura a medias) no
+ * vuelve a habilitar un token revocado. Si el refresco falla se mantiene lo conocido.</p>
+ *
+ * <p>Los usuarios vienen por su {@link TokenCodec#huella huella}, no por username.</p>
+ */
+public class RevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationList.class);
+
+    /** Usuario dado de baja: tokens emitidos hasta {@code desde} no valen; la entrada vive hasta {@code expira}. */
+    private record Baja(long desde, long expira) {
+    }
+
+    /** jti revocados (con su expiración) y bajas de usuario por huella. */
+    private record Estado(Map<String, Long> tokens, Map<String, Baja> usuarios) {
+    }
+
+    private final String url;
+    private final ObjectMapper mapper;
+    private final TokenCodec codec;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private volatile Estado estado = new Estado(Map.of(), Map.of());
+
+    public RevocationList(String url, ObjectMapper mapper, TokenCodec codec) {
+        this.url = url;
+        this.mapper = mapper;
+        this.codec = codec;
+    }
+
+    public boolean revocado(TokenClaims claims) {
+        Estado actual = estado;
+        if (claims.jti() != null && actual.tokens().containsKey(claims.jti())) {
+            return true;
+        }
+        if (actual.usuarios().isEmpty()) {
+            return false;
+        }
+        Baja baja = actual.usuarios().get(codec.huella(claims.sub()));
+        return baja != null && claims.iat() <= baja.desde();
+    }
+
+    public void actualizar() {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        try {
+            HttpResponse<byte[]> resp = http.send(HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(10)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (resp.statusCode() != 200) {
+                log.warn("Lista de revocados respondió {}; se mantiene la anterior", resp.statusCode());
+                return;
+            }
+            fusionar(mapper.readTree(resp.body()), Instant.now().getEpochSecond());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.warn("No se pudo refrescar la lista de revocados: {}", ex.getMessage());
+        }
+    }
+
+    /** Suma la lista publicada a la conocida y descarta lo que ya expiró. Solo la llama el refresco. */
+    synchronized void fusionar(JsonNode lista, long ahoraS) {
+        Estado actual = estado;
+        Map<String, Long> tokens = new HashMap<>(actual.tokens());
+        lista.path("tokens").fields().forEachRemaining(e -> tokens.merge(e.getKey(), e.getValue().asLong(), Math::max));
+        tokens.values().removeIf(exp -> exp < ahoraS);
+
+        Map<String, Baja> usuarios = new HashMap<>(actual.usuarios());
+        lista.path("usuarios").fields().forEachRemaining(e -> usuarios.merge(e.getKey(),
+                new Baja(e.getValue().path("desde").asLong(), e.getValue().path("expira").asLong()),
+                (a, b) -> new Baja(Math.max(a.desde(), b.desde()), Math.max(a.expira(), b.expira()))));
+        usuarios.values().removeIf(b -> b.expira() < ahoraS);
+
+        estado = new Estado(Map.copyOf(tokens), Map.copyOf(usuarios));
+    }
+}
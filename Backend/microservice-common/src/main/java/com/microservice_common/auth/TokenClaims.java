@@ -0,0 +1,16 @@
+package com.microservice_common.auth;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Contenido del token de sesión: usuario, rol e instantes en segundos epoch.
+ * {@code jti} identifica el token para poder revocarlo antes de que expire.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TokenClaims(String sub, String rol, Long uid, String jti, long iat, long exp) {
+
+    /** Atributo del request donde queda el token ya verificado. */
+    public static final String ATRIBUTO = TokenClaims.class.getName();
+}
@@ -0,0 +1,98 @@
+package com.microservice_common.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Tokens HS256 en formato JWT compacto ({@code header.payload.firma}, base64url sin relleno).
+ * Solo se acepta el header propio, así que {@code alg=none} u otros algoritmos no pasan.
+ * El Mac se reutiliza por hilo: verificar es un HMAC y el parseo de un JSON chico,
+ * sin base de datos ni red de por medio. Lo usan user (emite) y gateway/employee (verifican).
+ */
+public class TokenCodec {
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+    private static final String HEADER =
+            B64.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+    /** Largo mínimo del secreto compartido (256 bits). */
+    public static final int MIN_SECRETO = 32;
+
+    private final ObjectMapper mapper;
+    private final long toleranciaS;
+    private final ThreadLocal<Mac> macs;
+
+    public TokenCodec(byte[] secreto, ObjectMapper mapper, long toleranciaS) {
+        if (secreto.length < MIN_SECRETO) {
+            throw new IllegalArgumentException("El secreto HS256 debe tener al menos " + MIN_SECRETO + " bytes");
+        }
+        SecretKeySpec clave = new SecretKeySpec(secreto.clone(), "HmacSHA256");
+        this.mapper = mapper;
+        this.toleranciaS = toleranciaS;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(clave);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("HmacSHA256 no disponible", ex);
+            }
+        });
+    }
+
+    public String firmar(TokenClaims claims) {
+        try {
+            String cuerpo = HEADER + "." + B64.encodeToString(mapper.writeValueAsBytes(claims));
+            return cuerpo + "." + B64.encodeToString(mac(cuerpo));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el token", ex);
+        }
+    }
+
+    /**
+     * Claims del token si la firma es válida y no expiró (con la tolerancia de reloj);
+     * null en cualquier otro caso, sin distinguir el motivo.
+     */
+    public TokenClaims verificar(String token, long ahoraS) {
+        if (token == null) {
+            return null;
+        }
+        int p1 = token.indexOf('.');
+        int p2 = p1 < 0 ? -1 : token.indexOf('.', p1 + 1);
+        if (p1 <= 0 || p2 < 0 || token.indexOf('.', p2 + 1) >= 0 || !token.startsWith(HEADER + ".")) {
+            return null;
+        }
+        try {
+            byte[] firma = B64D.decode(token.substring(p2 + 1));
+            if (!MessageDigest.isEqual(mac(token.substring(0, p2)), firma)) {
+                return null;
+            }
+            TokenClaims claims = mapper.readValue(B64D.decode(token.substring(p1 + 1, p2)), TokenClaims.class);
+            return claims.sub() != null && claims.exp() + toleranciaS >= ahoraS ? claims : null;
+        } catch (IllegalArgumentException | IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Identificador opaco de un usuario para publicarlo sin exponer el username: HMAC del
+     * nombre con el mismo secreto, así solo quien verifica tokens puede calcularlo. El prefijo
+     * lo separa de las firmas, que siempre empiezan con el header.
+     */
+    public String huella(String sub) {
+        return B64.encodeToString(mac("usuario:" + sub));
+    }
+
+    private byte[] mac(String cuerpo) {
+        return macs.get().doFinal(cuerpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package com.microservice_common.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deja pasar a lo más {@code permisos} requests a la vez; el resto espera en una cola FIFO
+ * hasta {@code esperaMs} y después recibe 503 con Retry-After. Sirve para que los hilos
+ * virtuales no se acumulen esperando una conexión del pool de Hikari.
+ * Si el request pasa a asíncrono (StreamingResponseBody, DeferredResult) el permiso se
+ * libera recién cuando el AsyncContext termina: la escritura sigue usando la conexión.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permisos;
+    private final long esperaMs;
+
+    public ConcurrencyLimitFilter(int permisos, long esperaMs) {
+        this.permisos = new Semaphore(permisos, true);
+        this.esperaMs = esperaMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean adquirido;
+        try {
+            adquirido = permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            adquirido = false;
+        }
+        if (!adquirido) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Servicio saturado, reintente");
+            return;
+        }
+        boolean asincrono = false;
+        try {
+            chain.doFilter(request, response);
+            // El contenedor no completa el AsyncContext antes de que vuelva este hilo: no hay carrera
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Liberar());
+                asincrono = true;
+            }
+        } finally {
+            if (!asincrono) {
+                permisos.release();
+            }
+        }
+    }
+
+    public int disponibles() {
+        return permisos.availablePermits();
+    }
+
+    /**
+     * Devuelve el permiso al completar el AsyncContext. Tras un timeout o error el contenedor
+     * igual llama onComplete al cerrarlo, y recién ahí la tarea que escribía dejó la conexión.
+     */
+    private final class Liberar implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permisos.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Un startAsync nuevo descarta los listeners: hay que volver a registrarse
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
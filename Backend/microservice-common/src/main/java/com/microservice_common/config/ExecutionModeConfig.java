@@ -0,0 +1,102 @@
+package com.microservice_common.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Modo de ejecución de los requests HTTP y de los {@code @Scheduled}:
+ * <ul>
+ *   <li>{@code platform} (default): pool de hilos de Tomcat y scheduler de Spring Boot.</li>
+ *   <li>{@code virtual}: un hilo virtual por request y por ejecución de tarea programada.</li>
+ * </ul>
+ * Los hilos virtuales requieren Java 21; en una JVM anterior el modo virtual cae a platform
+ * con un aviso en el log. En modo virtual /api queda detrás de un semáforo del tamaño del
+ * pool de Hikari ({@code dashboard.execution.max-concurrent} lo fija a mano, y con un valor
+ * mayor que 0 también aplica en modo platform).
+ * La usan employee y user con {@code @Import} en su clase de aplicación.
+ */
+@Configuration
+public class ExecutionModeConfig implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Value("${dashboard.execution.mode:platform}")
+    private String modo;
+
+    @Value("${dashboard.execution.max-concurrent:0}")
+    private int maxConcurrent;
+
+    @Value("${dashboard.execution.acquire-timeout-ms:5000}")
+    private long acquireTimeoutMs;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    private Boolean virtual;
+
+    private SimpleAsyncTaskScheduler scheduler;
+
+    /** true solo si se pidió el modo virtual y la JVM lo soporta. */
+    public boolean virtual() {
+        if (virtual == null) {
+            boolean pedido = "virtual".equalsIgnoreCase(modo.trim());
+            boolean soportado = Runtime.version().feature() >= 21;
+            if (pedido && !soportado) {
+                log.warn("dashboard.execution.mode=virtual requiere Java 21 (JVM actual: {}); se usa platform",
+                        Runtime.version());
+            }
+            virtual = pedido && soportado;
+            log.info("Modo de ejecución: {}", virtual ? "virtual" : "platform");
+        }
+        return virtual;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        return protocolHandler -> {
+            if (virtual()) {
+                protocolHandler.setExecutor(new VirtualThreadTaskExecutor("http-vt-"));
+            }
+        };
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (virtual()) {
+            scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setVirtualThreads(true);
+            scheduler.setThreadNamePrefix("sched-vt-");
+            scheduler.start();
+            registrar.setTaskScheduler(scheduler);
+        }
+    }
+
+    @PreDestroy
+    void detenerScheduler() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter() {
+        int permisos = maxConcurrent > 0 ? maxConcurrent : poolSize;
+        FilterRegistrationBean<ConcurrencyLimitFilter> registro =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(permisos, acquireTimeoutMs));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registro.setEnabled(virtual() || maxConcurrent > 0);
+        return registro;
+    }
+}
@@ -0,0 +1,64 @@
+package com.microservice_common.pagination;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Token opaco de paginación por llave (keyset): guarda la llave de orden de la
+ * última fila entregada más su id como desempate. El cliente solo lo devuelve tal cual.
+ */
+public final class Cursor {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<List<String>> VALORES = new TypeReference<>() {};
+
+    private Cursor() {
+    }
+
+    public static String encode(Object... valores) {
+        List<String> texto = Arrays.stream(valores).map(v -> v == null ? null : v.toString()).toList();
+        try {
+            byte[] json = JSON.writeValueAsBytes(texto);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception ex) {
+            throw new IllegalStateException("No se pudo generar el cursor", ex);
+        }
+    }
+
+    /**
+     * Decodifica un cursor esperando exactamente {@code campos} valores.
+     * Devuelve null para el cursor vacío (primera página).
+     */
+    public static List<String> decode(String cursor, int campos) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII));
+            List<String> valores = JSON.readValue(json, VALORES);
+            if (valores.size() != campos) {
+                throw new IllegalArgumentException("cantidad de campos");
+            }
+            return valores;
+        } catch (Exception ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+
+    /** Convierte un valor del cursor; cualquier error se reporta como cursor inválido. */
+    public static <T> T parse(String valor, Function<String, T> conversion) {
+        try {
+            return conversion.apply(valor);
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+}
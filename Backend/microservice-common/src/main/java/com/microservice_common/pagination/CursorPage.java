@@ -0,0 +1,29 @@
+package com.microservice_common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página en modo cursor: {@code next} es null cuando no quedan más filas.
+ */
+public record CursorPage<T>(List<T> items, String next) {
+
+    /** Tamaño máximo de página aceptado en modo cursor. */
+    public static final int MAX_SIZE = 500;
+
+    public static int size(int pedido) {
+        return Math.min(Math.max(pedido, 1), MAX_SIZE);
+    }
+
+    /**
+     * Arma la página a partir de una consulta hecha con {@code LIMIT size + 1}:
+     * la fila extra solo indica que hay una página siguiente.
+     */
+    public static <T> CursorPage<T> of(List<T> filas, int size, Function<T, String> cursorDe) {
+        if (filas.size() <= size) {
+            return new CursorPage<>(filas, null);
+        }
+        List<T> items = filas.subList(0, size);
+        return new CursorPage<>(items, cursorDe.apply(items.get(size - 1)));
+    }
+}
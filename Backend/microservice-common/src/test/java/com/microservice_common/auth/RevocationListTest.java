@@ -0,0 +1,67 @@
+package com.microservice_common.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lista de revocados local: cada refresco se suma a lo conocido y las entradas salen al expirar.
+ */
+class RevocationListTest {
+
+    private static final long AHORA = 1_700_000_000L;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TokenCodec codec = new TokenCodec(
+            "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII), mapper, 30);
+    private final RevocationList lista = new RevocationList("", mapper, codec);
+
+    private static TokenClaims token(String sub, String jti, long iat) {
+        return new TokenClaims(sub, "USER", 1L, jti, iat, iat + 3600);
+    }
+
+    private void publicar(String json, long ahora) throws Exception {
+        lista.fusionar(mapper.readTree(json.replace('\'', '"')), ahora);
+    }
+
+    @Test
+    void unaListaIncompletaNoHabilitaLoYaRevocado() throws Exception {
+        publicar("{'tokens':{'a':" + (AHORA + 100) + "},'usuarios':{}}", AHORA);
+        publicar("{'tokens':{'b':" + (AHORA + 100) + "},'usuarios':{}}", AHORA);
+
+        assertTrue(lista.revocado(token("ana", "a", AHORA - 10)));
+        assertTrue(lista.revocado(token("ana", "b", AHORA - 10)));
+        assertFalse(lista.revocado(token("ana", "c", AHORA - 10)));
+    }
+
+    @Test
+    void lasEntradasSalenAlExpirar() throws Exception {
+        publicar("{'tokens':{'a':" + (AHORA + 100) + "},'usuarios':{}}", AHORA);
+        publicar("{'tokens':{},'usuarios':{}}", AHORA + 101);
+
+        assertFalse(lista.revocado(token("ana", "a", AHORA - 10)));
+    }
+
+    @Test
+    void bajaDeUsuarioPorHuellaCortaLosTokensAnteriores() throws Exception {
+        String huella = codec.huella("ana");
+        publicar("{'tokens':{},'usuarios':{'" + huella + "':{'desde':" + AHORA + ",'expira':" + (AHORA + 3600) + "}}}", AHORA);
+
+        assertTrue(lista.revocado(token("ana", "x", AHORA - 60)));
+        assertFalse(lista.revocado(token("ana", "y", AHORA + 60)));
+        assertFalse(lista.revocado(token("bruno", "z", AHORA - 60)));
+    }
+
+    @Test
+    void laBajaMasRecienteGana() throws Exception {
+        String huella = codec.huella("ana");
+        publicar("{'usuarios':{'" + huella + "':{'desde':" + (AHORA + 50) + ",'expira':" + (AHORA + 3650) + "}}}", AHORA);
+        publicar("{'usuarios':{'" + huella + "':{'desde':" + AHORA + ",'expira':" + (AHORA + 3600) + "}}}", AHORA);
+
+        assertTrue(lista.revocado(token("ana", "x", AHORA + 40)));
+    }
+}
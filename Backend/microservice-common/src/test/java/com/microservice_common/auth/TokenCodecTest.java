@@ -0,0 +1,112 @@
+package com.microservice_common.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verificación HS256: firma alterada, header ajeno, expiración y tolerancia de reloj.
+ */
+class TokenCodecTest {
+
+    private static final byte[] SECRETO = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final long IAT = 1_700_000_000L;
+    private static final long EXP = IAT + 3600;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TokenCodec codec = new TokenCodec(SECRETO, mapper, 30);
+    private final TokenClaims claims = new TokenClaims("ana", "ADMIN", 7L, "jti-1", IAT, EXP);
+
+    @Test
+    void firmaYVerificaIdaYVuelta() {
+        assertEquals(claims, codec.verificar(codec.firmar(claims), IAT + 10));
+    }
+
+    @Test
+    void firmaAlteradaNoPasa() {
+        String token = codec.firmar(claims);
+        char ultimo = token.charAt(token.length() - 1);
+        String alterado = token.substring(0, token.length() - 1) + (ultimo == 'A' ? 'B' : 'A');
+
+        assertNull(codec.verificar(alterado, IAT + 10));
+    }
+
+    @Test
+    void payloadCambiadoConLaFirmaOriginalNoPasa() throws Exception {
+        String[] partes = codec.firmar(claims).split("\\.");
+        String payload = B64.encodeToString(mapper.writeValueAsBytes(
+                new TokenClaims("ana", "SUPER", 7L, "jti-1", IAT, EXP)));
+
+        assertNull(codec.verificar(partes[0] + "." + payload + "." + partes[2], IAT + 10));
+    }
+
+    @Test
+    void otroSecretoNoPasa() {
+        byte[] otro = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII);
+        String token = new TokenCodec(otro, mapper, 30).firmar(claims);
+
+        assertNull(codec.verificar(token, IAT + 10));
+    }
+
+    @Test
+    void headerConAlgNoneUOtroAlgoritmoNoPasa() {
+        String[] partes = codec.firmar(claims).split("\\.");
+        String none = B64.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+        String hs512 = B64.encodeToString("{\"alg\":\"HS512\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+        assertNull(codec.verificar(none + "." + partes[1] + ".", IAT + 10));
+        assertNull(codec.verificar(none + "." + partes[1] + "." + partes[2], IAT + 10));
+        assertNull(codec.verificar(hs512 + "." + partes[1] + "." + partes[2], IAT + 10));
+    }
+
+    @Test
+    void malFormadoNoPasa() {
+        String token = codec.firmar(claims);
+
+        assertNull(codec.verificar(null, IAT));
+        assertNull(codec.verificar("", IAT));
+        assertNull(codec.verificar(token + ".extra", IAT));
+        assertNull(codec.verificar(token.substring(0, token.lastIndexOf('.')), IAT));
+        assertNull(codec.verificar(token.replace('.', '!'), IAT));
+    }
+
+    @Test
+    void expiradoPasaSoloDentroDeLaTolerancia() {
+        String token = codec.firmar(claims);
+
+        assertEquals(claims, codec.verificar(token, EXP));
+        assertEquals(claims, codec.verificar(token, EXP + 30));
+        assertNull(codec.verificar(token, EXP + 31));
+    }
+
+    @Test
+    void sinToleranciaVenceJustoEnExp() {
+        TokenCodec estricto = new TokenCodec(SECRETO, mapper, 0);
+        String token = estricto.firmar(claims);
+
+        assertEquals(claims, estricto.verificar(token, EXP));
+        assertNull(estricto.verificar(token, EXP + 1));
+    }
+
+    @Test
+    void huellaDependeDelSecretoYNoContieneElUsuario() {
+        TokenCodec otro = new TokenCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII), mapper, 30);
+
+        assertEquals(codec.huella("ana"), codec.huella("ana"));
+        assertNotEquals(codec.huella("ana"), codec.huella("anb"));
+        assertNotEquals(codec.huella("ana"), otro.huella("ana"));
+    }
+
+    @Test
+    void secretoCortoSeRechaza() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenCodec(new byte[16], mapper, 30));
+    }
+}
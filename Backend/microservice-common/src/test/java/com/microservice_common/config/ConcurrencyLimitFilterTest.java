@@ -0,0 +1,58 @@
+package com.microservice_common.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Permisos del filtro: se devuelven al terminar el request, o al completar el AsyncContext
+ * si el request pasó a asíncrono.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filtro = new ConcurrencyLimitFilter(1, 10);
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/db/empleados/activos");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    @Test
+    void requestSincronoDevuelveElPermisoAlSalir() throws Exception {
+        filtro.doFilter(request(), new MockHttpServletResponse(), (req, res) -> { });
+
+        assertEquals(1, filtro.disponibles());
+    }
+
+    @Test
+    void requestAsincronoRetieneElPermisoHastaCompletar() throws Exception {
+        MockHttpServletRequest streaming = request();
+        filtro.doFilter(streaming, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(0, filtro.disponibles());
+        MockHttpServletResponse saturado = new MockHttpServletResponse();
+        filtro.doFilter(request(), saturado, (req, res) -> { });
+        assertEquals(503, saturado.getStatus());
+        assertEquals("1", saturado.getHeader("Retry-After"));
+
+        streaming.getAsyncContext().complete();
+
+        assertEquals(1, filtro.disponibles());
+    }
+
+    @Test
+    void siLaCadenaFallaDevuelveElPermiso() {
+        try {
+            filtro.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+                throw new IllegalStateException("falla");
+            });
+        } catch (Exception ignorada) {
+            // Lo que importa es el permiso
+        }
+
+        assertEquals(1, filtro.disponibles());
+    }
+}
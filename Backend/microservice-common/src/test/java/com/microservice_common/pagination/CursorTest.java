@@ -0,0 +1,77 @@
+package com.microservice_common.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cursor opaco: ida y vuelta sin perder valores, cursores ajenos como 400 y armado de la
+ * página a partir de la fila extra.
+ */
+class CursorTest {
+
+    private static void esCursorInvalido(Runnable accion) {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, accion::run);
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void idaYVueltaConservaLosValores() {
+        String cursor = Cursor.encode("Peña, \"Ana\"", null, 42, "2024-03-01");
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "el cursor debe ir tal cual en la URL");
+        assertEquals(Arrays.asList("Peña, \"Ana\"", null, "42", "2024-03-01"), Cursor.decode(cursor, 4));
+    }
+
+    @Test
+    void cursorVacioEsLaPrimeraPagina() {
+        assertNull(Cursor.decode(null, 2));
+        assertNull(Cursor.decode("  ", 2));
+    }
+
+    @Test
+    void cursorAjenoEsBadRequest() {
+        String json = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+
+        esCursorInvalido(() -> Cursor.decode("%%%", 2));
+        esCursorInvalido(() -> Cursor.decode(json, 2));
+        esCursorInvalido(() -> Cursor.decode(Cursor.encode("x", 1), 3));
+    }
+
+    @Test
+    void valorQueNoConvierteEsBadRequest() {
+        List<String> valores = Cursor.decode(Cursor.encode("no-es-fecha", "x"), 2);
+
+        esCursorInvalido(() -> Cursor.parse(valores.get(1), Long::valueOf));
+        long siete = Cursor.parse("7", Long::valueOf);
+        assertEquals(7L, siete);
+    }
+
+    @Test
+    void laFilaExtraGeneraElSiguienteCursor() {
+        CursorPage<Integer> llena = CursorPage.of(List.of(1, 2, 3), 2, i -> Cursor.encode(i));
+        CursorPage<Integer> ultima = CursorPage.of(List.of(1, 2), 2, i -> Cursor.encode(i));
+
+        assertEquals(List.of(1, 2), llena.items());
+        assertEquals(List.of("2"), Cursor.decode(llena.next(), 1));
+        assertNull(ultima.next());
+    }
+
+    @Test
+    void tamanoSeAcotaAlRangoPermitido() {
+        assertEquals(1, CursorPage.size(0));
+        assertEquals(50, CursorPage.size(50));
+        assertEquals(CursorPage.MAX_SIZE, CursorPage.size(10_000));
+    }
+}
@@ -1,9 +1,12 @@
 package com.microservice_employee;
 
+import com.microservice_common.config.ExecutionModeConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(ExecutionModeConfig.class)
 public class MicroserviceEmployeeApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,68 @@
+package com.microservice_employee.auth;
+
+import com.microservice_common.auth.RevocationList;
+import com.microservice_common.auth.TokenClaims;
+import com.microservice_common.auth.TokenCodec;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Verifica el token Bearer localmente (firma, expiración y lista de revocados) y deja los
+ * claims en el request. Con {@code exigir = false} un request sin token válido sigue de
+ * largo, para poder desplegar antes de que todos los clientes envíen el header.
+ * Con {@code rol} solo pasan los tokens de ese rol (403 para los demás).
+ */
+public class TokenAuthFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenCodec codec;
+    private final RevocationList revocados;
+    private final boolean exigir;
+    private final String rol;
+
+    public TokenAuthFilter(TokenCodec codec, RevocationList revocados, boolean exigir) {
+        this(codec, revocados, exigir, null);
+    }
+
+    public TokenAuthFilter(TokenCodec codec, RevocationList revocados, boolean exigir, String rol) {
+        this.codec = codec;
+        this.revocados = revocados;
+        this.exigir = exigir;
+        this.rol = rol;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if ("OPTIONS".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        TokenClaims claims = header != null && header.startsWith(BEARER)
+                ? codec.verificar(header.substring(BEARER.length()).trim(), System.currentTimeMillis() / 1000)
+                : null;
+        if (claims != null && revocados.revocado(claims)) {
+            claims = null;
+        }
+        if (claims != null) {
+            request.setAttribute(TokenClaims.ATRIBUTO, claims);
+        } else if (exigir) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token ausente, inválido o revocado");
+            return;
+        }
+        if (rol != null && (claims == null || !rol.equals(claims.rol()))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Requiere rol " + rol);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
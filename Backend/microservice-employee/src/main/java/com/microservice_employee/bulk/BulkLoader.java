@@ -0,0 +1,186 @@
+package com.microservice_employee.bulk;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.temporal.TemporalAccessor;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Carga masiva de un snapshot RRHH: las filas se transmiten con COPY (CopyManager de PgJDBC)
+ * a las tablas de staging UNLOGGED (migración V4) y luego se mezclan con un solo
+ * INSERT ... SELECT ... ON CONFLICT por tabla. Todo ocurre en una transacción: los lectores
+ * del dashboard ven el snapshot anterior completo o el nuevo completo, nunca uno a medias.
+ *
+ * <p>Los merges usan el mismo {@code IS DISTINCT FROM} que los upserts de Talana, así que las
+ * filas sin cambios no se reescriben. Los empleados que solo aparecen como FK (vacaciones,
+ * licencias o contratos sin detalle) se crean con una sola sentencia, en vez de una consulta
+ * por fila.</p>
+ */
+@Component
+public class BulkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkLoader.class);
+
+    /** Tamaño del bloque que se envía en cada escritura al COPY. */
+    private static final int BLOQUE = 64 * 1024;
+
+    /** Llave del advisory lock que serializa las cargas masivas. */
+    private static final long LOCK_CARGA = 0x52524848_42554C4BL;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Filas copiadas a staging y filas insertadas o cambiadas en la tabla destino. */
+    public record Resultado(long copiadas, long escritas) {
+    }
+
+    /**
+     * Carga las tablas dadas (las ausentes no se tocan). Las filas se consumen una sola vez
+     * y en streaming, así que pueden venir de un generador sin materializarse en memoria.
+     */
+    public Map<BulkTable, Resultado> cargar(Map<BulkTable, ? extends Iterable<Object[]>> filas) {
+        long t0 = System.nanoTime();
+        Map<BulkTable, Resultado> resultado = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, LOCK_CARGA);
+            Map<BulkTable, Long> copiadas = new EnumMap<>(BulkTable.class);
+            for (BulkTable t : BulkTable.values()) {
+                if (filas.containsKey(t)) {
+                    jdbcTemplate.execute("TRUNCATE " + t.staging());
+                    copiadas.put(t, copiar(t, filas.get(t)));
+                }
+            }
+            Map<BulkTable, Resultado> r = new EnumMap<>(BulkTable.class);
+            for (BulkTable t : BulkTable.values()) {
+                if (!copiadas.containsKey(t)) {
+                    continue;
+                }
+                if (t.referenciaEmpleado()) {
+                    jdbcTemplate.update(empleadosFaltantes(t));
+                }
+                r.put(t, new Resultado(copiadas.get(t), jdbcTemplate.update(merge(t))));
+            }
+            return r;
+        });
+        log.info("Carga masiva en {} ms: {}", (System.nanoTime() - t0) / 1_000_000, resultado);
+        return resultado;
+    }
+
+    private long copiar(BulkTable t, Iterable<Object[]> filas) {
+        String sql = "COPY " + t.staging() + " (" + String.join(", ", t.columnas()) + ") FROM STDIN (FORMAT csv)";
+        return jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                StringBuilder buf = new StringBuilder(BLOQUE + 1024);
+                for (Object[] fila : filas) {
+                    csv(buf, fila);
+                    if (buf.length() >= BLOQUE) {
+                        enviar(copy, buf);
+                    }
+                }
+                enviar(copy, buf);
+                return copy.endCopy();
+            } catch (SQLException | RuntimeException ex) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                throw ex;
+            }
+        });
+    }
+
+    private static void enviar(CopyIn copy, StringBuilder buf) throws SQLException {
+        if (buf.length() > 0) {
+            byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buf.setLength(0);
+        }
+    }
+
+    /** Una línea CSV: null va vacío sin comillas (NULL en COPY), el texto siempre entre comillas. */
+    static void csv(StringBuilder buf, Object[] fila) {
+        for (int i = 0; i < fila.length; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            Object v = fila[i];
+            if (v == null) {
+                continue;
+            }
+            if (v instanceof Number || v instanceof TemporalAccessor) {
+                buf.append(v);
+            } else if (v instanceof java.util.Date d) {
+                buf.append(iso(d));
+            } else if (v instanceof Boolean b) {
+                buf.append(b ? 't' : 'f');
+            } else {
+                String s = v.toString();
+                buf.append('"');
+                for (int j = 0; j < s.length(); j++) {
+                    char c = s.charAt(j);
+                    if (c == '"') {
+                        buf.append('"');
+                    }
+                    buf.append(c);
+                }
+                buf.append('"');
+            }
+        }
+        buf.append('\n');
+    }
+
+    /**
+     * Fechas legadas en ISO: el toString de java.util.Date ("Mon Jan 01 ...") no lo acepta COPY.
+     * Timestamp va como hora local, igual que lo escribiría setTimestamp en una columna timestamp.
+     */
+    private static Object iso(java.util.Date d) {
+        if (d instanceof java.sql.Date fecha) {
+            return fecha.toLocalDate();
+        }
+        if (d instanceof java.sql.Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return d.toInstant();
+    }
+
+    /**
+     * INSERT ... SELECT desde staging. Si un id viene repetido gana la última fila copiada
+     * (mayor ctid); la actualización se salta si la fila no cambió.
+     */
+    static String merge(BulkTable t) {
+        List<String> cols = t.columnas();
+        String lista = String.join(", ", cols);
+        List<String> resto = cols.subList(1, cols.size());
+        String set = resto.stream().map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", "));
+        String actuales = resto.stream().map(c -> t.tabla() + "." + c).collect(Collectors.joining(", "));
+        String nuevos = resto.stream().map(c -> "EXCLUDED." + c).collect(Collectors.joining(", "));
+        return "INSERT INTO " + t.tabla() + " (" + lista + ")\n"
+                + "SELECT DISTINCT ON (id) " + lista + " FROM " + t.staging() + " ORDER BY id, ctid DESC\n"
+                + "ON CONFLICT (id) DO UPDATE SET " + set + "\n"
+                + "WHERE (" + actuales + ") IS DISTINCT FROM (" + nuevos + ")";
+    }
+
+    /** Reemplaza ensure_empleado_exists: crea de una vez los empleados referenciados que falten. */
+    static String empleadosFaltantes(BulkTable t) {
+        return "INSERT INTO empleado (id)\n"
+                + "SELECT DISTINCT s.empleado_id FROM " + t.staging() + " s\n"
+                + "WHERE s.empleado_id IS NOT NULL\n"
+                + "ON CONFLICT (id) DO NOTHING";
+    }
+}
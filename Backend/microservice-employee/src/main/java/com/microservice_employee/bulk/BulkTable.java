@@ -0,0 +1,48 @@
+package com.microservice_employee.bulk;
+
+import java.util.List;
+
+/**
+ * Tablas que admite la carga masiva, en orden de merge (primero las referenciadas por FK).
+ * Cada fila que se entrega al loader trae los valores en el orden de {@link #columnas()}.
+ */
+public enum BulkTable {
+
+    EMPLEADO("empleado",
+            List.of("id", "rut", "nombre", "ap_paterno", "ap_materno", "sexo", "fecha_nac", "discapacidad")),
+    CENTRO_COSTO("centro_costo", List.of("id", "codigo", "nombre")),
+    SUCURSAL("sucursal", List.of("id", "nombre")),
+    CONTRATO("contrato",
+            List.of("id", "empleado_id", "cargo", "cargo_norm", "centro_costo_id", "sucursal_id", "jefe_nombre",
+                    "fecha_contratacion", "vigente", "desde", "hasta")),
+    VACACIONES("vacaciones",
+            List.of("id", "empleado_id", "desde", "hasta", "retorno", "dias", "medios_dias", "fecha_aprobacion",
+                    "tipo")),
+    LICENCIAS("licencias",
+            List.of("id", "empleado_id", "desde", "hasta", "dias", "tipo", "fecha_solicitud"));
+
+    private final String tabla;
+    private final List<String> columnas;
+
+    BulkTable(String tabla, List<String> columnas) {
+        this.tabla = tabla;
+        this.columnas = columnas;
+    }
+
+    public String tabla() {
+        return tabla;
+    }
+
+    public String staging() {
+        return "stg_" + tabla;
+    }
+
+    public List<String> columnas() {
+        return columnas;
+    }
+
+    /** Tiene empleado_id con FK a empleado. */
+    boolean referenciaEmpleado() {
+        return columnas.contains("empleado_id");
+    }
+}
@@ -0,0 +1,89 @@
+package com.microservice_employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice_common.auth.RevocationList;
+import com.microservice_common.auth.TokenCodec;
+import com.microservice_employee.auth.TokenAuthFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * Autenticación local con los tokens que emite microservice-user: mismo secreto HS256
+ * ({@code auth.token.secret}) y lista de revocados refrescada en segundo plano.
+ * {@code auth.enforce=false} (default) solo anota los claims; en true /api exige token.
+ */
+@Configuration
+public class AuthConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthConfig.class);
+
+    @Value("${auth.token.secret:}")
+    private String secreto;
+
+    @Value("${auth.token.leeway-s:30}")
+    private long toleranciaS;
+
+    @Value("${auth.enforce:false}")
+    private boolean exigir;
+
+    @Value("${auth.revocations.url:http://localhost:8081/api/user/tokens/revocados}")
+    private String revocacionesUrl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Bean
+    public TokenCodec tokenCodec() {
+        byte[] clave = secreto.getBytes(StandardCharsets.UTF_8);
+        if (clave.length < TokenCodec.MIN_SECRETO) {
+            // Sin secreto compartido ningún token externo valida; sirve solo para desarrollo local
+            log.warn("auth.token.secret ausente o corto: se usa una clave aleatoria y ningún token será aceptado");
+            clave = new byte[TokenCodec.MIN_SECRETO];
+            new SecureRandom().nextBytes(clave);
+        }
+        return new TokenCodec(clave, objectMapper, toleranciaS);
+    }
+
+    @Bean
+    public RevocationList revocationList() {
+        return new RevocationList(revocacionesUrl, objectMapper, tokenCodec());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocations.refresh-ms:30000}")
+    public void refrescarRevocados() {
+        revocationList().actualizar();
+    }
+
+    @Bean
+    public FilterRegistrationBean<TokenAuthFilter> tokenAuthFilter(TokenCodec tokenCodec, RevocationList revocationList) {
+        FilterRegistrationBean<TokenAuthFilter> registro =
+                new FilterRegistrationBean<>(new TokenAuthFilter(tokenCodec, revocationList, exigir));
+        registro.addUrlPatterns("/api/*");
+        // Antes del límite de concurrencia: un request sin token no ocupa un permiso
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registro;
+    }
+
+    /**
+     * /actuator/slowqueries muestra SQL y planes de la base: siempre con token de ADMIN,
+     * sin importar {@code auth.enforce}. Health y prometheus quedan abiertos para las sondas.
+     */
+    @Bean
+    public FilterRegistrationBean<TokenAuthFilter> actuatorAuthFilter(TokenCodec tokenCodec, RevocationList revocationList) {
+        FilterRegistrationBean<TokenAuthFilter> registro =
+                new FilterRegistrationBean<>(new TokenAuthFilter(tokenCodec, revocationList, true, "ADMIN"));
+        registro.addUrlPatterns("/actuator/slowqueries", "/actuator/slowqueries/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registro;
+    }
+}
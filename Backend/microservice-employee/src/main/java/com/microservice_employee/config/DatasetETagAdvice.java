@@ -0,0 +1,36 @@
+package com.microservice_employee.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Pone los validadores que calculó {@link DatasetETagInterceptor} justo antes de escribir el
+ * cuerpo, y solo si el status es 2xx: una respuesta de error no queda cacheada con el ETag
+ * de los datos buenos.
+ */
+@ControllerAdvice
+public class DatasetETagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest req && response instanceof ServletServerHttpResponse res
+                && res.getServletResponse().getStatus() / 100 == 2) {
+            DatasetETagInterceptor.aplicar(req.getServletRequest(), response.getHeaders());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,111 @@
+package com.microservice_employee.config;
+
+import com.microservice_employee.service.DatasetVersionService;
+import com.microservice_employee.streaming.JsonRowStreamer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Validación condicional para las lecturas de /api/db. El ETag sale de la versión del
+ * dataset (más el día, porque las métricas diarias dependen de la fecha), así que un
+ * {@code If-None-Match} vigente responde 304 antes de llegar al controller y sin tocar SQL.
+ *
+ * <p>Si no hay 304, los validadores se calculan aquí (con la versión previa a leer los datos)
+ * pero recién se agregan cuando la respuesta sale bien: {@link DatasetETagAdvice} para los
+ * cuerpos normales y {@link #validadores(HttpHeaders)} para el streaming de filas en memoria.
+ * Un error nunca lleva ETag ni Cache-Control.</p>
+ */
+public class DatasetETagInterceptor implements HandlerInterceptor {
+
+    private static final String VALIDADORES = DatasetETagInterceptor.class.getName() + ".VALIDADORES";
+
+    private final DatasetVersionService datasetVersion;
+    private final String cacheControl;
+
+    public DatasetETagInterceptor(DatasetVersionService datasetVersion, CacheControl cacheControl) {
+        this.datasetVersion = datasetVersion;
+        this.cacheControl = cacheControl.getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        long version = datasetVersion.version();
+        if (version < 0) {
+            // Todavía no se conoce la versión: sin validadores
+            return true;
+        }
+        LocalDate hoy = LocalDate.now();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        boolean ndjson = accept != null && accept.contains(JsonRowStreamer.NDJSON_VALUE);
+        String etag = "\"" + version + "-" + hoy.toEpochDay() + (ndjson ? "-nd" : "") + "\"";
+        long inicioDia = hoy.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long lastModified = Math.max(datasetVersion.cambio().toEpochMilli(), inicioDia);
+
+        if (noModificado(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            return false;
+        }
+        request.setAttribute(VALIDADORES, new Validadores(etag, lastModified, cacheControl));
+        return true;
+    }
+
+    /** Agrega los validadores de este request a una respuesta exitosa; nada si el path no los lleva. */
+    public static void aplicar(HttpServletRequest request, HttpHeaders headers) {
+        if (request.getAttribute(VALIDADORES) instanceof Validadores v) {
+            v.aplicar(headers);
+        }
+    }
+
+    /** Igual que {@link #aplicar}, para quien arma la respuesta sin tener el request a mano. */
+    public static void validadores(HttpHeaders headers) {
+        RequestAttributes actual = RequestContextHolder.getRequestAttributes();
+        if (actual != null && actual.getAttribute(VALIDADORES, RequestAttributes.SCOPE_REQUEST) instanceof Validadores v) {
+            v.aplicar(headers);
+        }
+    }
+
+    /** If-None-Match (comparación débil) y, solo si no viene, If-Modified-Since; como en RFC 9110. */
+    private static boolean noModificado(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidato : ifNoneMatch.split(",")) {
+                String e = candidato.trim();
+                if (e.equals("*") || e.equals(etag) || e.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && lastModified / 1000 * 1000 <= ifModifiedSince;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private record Validadores(String etag, long lastModified, String cacheControl) {
+
+        void aplicar(HttpHeaders headers) {
+            headers.setETag(etag);
+            headers.setLastModified(lastModified);
+            headers.setCacheControl(cacheControl);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+    }
+}
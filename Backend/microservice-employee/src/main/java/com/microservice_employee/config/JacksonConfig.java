@@ -0,0 +1,36 @@
+package com.microservice_employee.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.microservice_employee.model.Contrato;
+import com.microservice_employee.model.ContratoActivo;
+import com.microservice_employee.model.Empleado;
+import com.microservice_employee.model.EmpleadoActivo;
+import com.microservice_employee.model.Licencia;
+import com.microservice_employee.model.Vacacion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Serializadores escritos a mano para las filas tipadas: evitan la introspección
+     * de Jackson y mantienen exactamente los nombres de columna que exponía queryForList.
+     */
+    @Bean
+    public Module dashboardRowsModule() {
+        return rowsModule();
+    }
+
+    public static SimpleModule rowsModule() {
+        SimpleModule module = new SimpleModule("dashboard-rows");
+        module.addSerializer(Empleado.class, new Empleado.Serializer());
+        module.addSerializer(Contrato.class, new Contrato.Serializer());
+        module.addSerializer(Vacacion.class, new Vacacion.Serializer());
+        module.addSerializer(Licencia.class, new Licencia.Serializer());
+        module.addSerializer(EmpleadoActivo.class, new EmpleadoActivo.Serializer());
+        module.addSerializer(ContratoActivo.class, new ContratoActivo.Serializer());
+        return module;
+    }
+}
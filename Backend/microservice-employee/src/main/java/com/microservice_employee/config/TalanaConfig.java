@@ -0,0 +1,59 @@
+package com.microservice_employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice_employee.talana.Backoff;
+import com.microservice_employee.talana.TalanaClient;
+import com.microservice_employee.talana.TalanaPaginator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Cliente de la API de Talana (perfil talana): HttpClient asíncrono con reintentos y el
+ * paginador que usa la ingesta.
+ */
+@Configuration
+@Profile("talana")
+public class TalanaConfig {
+
+    @Value("${talana.api.token}")
+    private String apiToken;
+
+    @Value("${talana.api.base-url:https://talana.com/es/api}")
+    private String baseUrl;
+
+    // Reintentos: exponencial con jitter, sin bloquear hilos (ver TalanaClient)
+    @Value("${talana.api.max-intentos:5}")
+    private int maxIntentos;
+
+    @Value("${talana.api.backoff-base-ms:500}")
+    private long backoffBaseMs;
+
+    @Value("${talana.api.backoff-max-ms:30000}")
+    private long backoffMaxMs;
+
+    @Value("${talana.ingestion.por-pagina:100}")
+    private int porPagina;
+
+    @Value("${talana.ingestion.paralelismo:4}")
+    private int paralelismo;
+
+    @Bean
+    public TalanaClient talanaClient(ObjectMapper objectMapper) {
+        HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(20))
+            .build();
+        Backoff backoff = new Backoff(Duration.ofMillis(backoffBaseMs), Duration.ofMillis(backoffMaxMs), maxIntentos);
+        return new TalanaClient(http, URI.create(baseUrl), apiToken, Duration.ofSeconds(60), backoff, objectMapper);
+    }
+
+    @Bean
+    public TalanaPaginator talanaPaginator(TalanaClient talanaClient) {
+        return new TalanaPaginator(talanaClient, porPagina, paralelismo);
+    }
+}
@@ -1,18 +1,58 @@
 package com.microservice_employee.config;
 
+import com.microservice_employee.service.DatasetVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    // Las respuestas en streaming corren como request asíncronos; el default de Tomcat (30s) es corto para tablas grandes
+    @Value("${dashboard.streaming.timeout-ms:300000}")
+    private long streamingTimeoutMs;
+
+    // Los catálogos casi no cambian: el navegador puede reutilizarlos sin preguntar
+    @Value("${dashboard.catalogos.max-age-s:86400}")
+    private long catalogosMaxAgeS;
+
+    @Autowired
+    private DatasetVersionService datasetVersion;
+
+    private static final String[] CATALOGOS = {"/api/db/centros-costo", "/api/db/sucursales", "/api/db/tipos-contrato"};
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:5173", "http://localhost:5174") // agrega aquí los puertos de tu front
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag", "Last-Modified")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // El resto de /api/db se revalida siempre; /stats lleva su propio asOf y queda fuera
+        registry.addInterceptor(new DatasetETagInterceptor(datasetVersion, CacheControl.noCache()))
+                .addPathPatterns("/api/db/**")
+                .excludePathPatterns("/api/db/stats")
+                .excludePathPatterns(CATALOGOS);
+        registry.addInterceptor(new DatasetETagInterceptor(datasetVersion,
+                        CacheControl.maxAge(catalogosMaxAgeS, TimeUnit.SECONDS).cachePublic()))
+                .addPathPatterns(CATALOGOS);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(streamingTimeoutMs);
+    }
 }
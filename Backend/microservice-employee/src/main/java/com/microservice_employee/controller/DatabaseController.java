@@ -1,41 +1,106 @@
 package com.microservice_employee.controller;
 
+import com.microservice_common.pagination.Cursor;
+import com.microservice_common.pagination.CursorPage;
+import com.microservice_employee.model.Contrato;
+import com.microservice_employee.model.ContratoActivo;
+import com.microservice_employee.model.Empleado;
+import com.microservice_employee.model.EmpleadoActivo;
+import com.microservice_employee.model.Licencia;
+import com.microservice_employee.model.Vacacion;
+import com.microservice_employee.service.AbsenceRangeService;
+import com.microservice_employee.service.ActiveWorkforceSnapshot;
+import com.microservice_employee.service.CatalogService;
+import com.microservice_employee.service.DailyOccupancyService;
+import com.microservice_employee.service.DashboardStatsService;
+import com.microservice_employee.service.EmployeeProfileService;
+import com.microservice_employee.service.WorkforceAggregationService;
+import com.microservice_employee.streaming.JsonRowStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
-import java.sql.Date;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Collections;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/db")
 @CrossOrigin(originPatterns = "*", allowCredentials = "false")
 public class DatabaseController {
 
+    private static final String VACACIONES_SQL = """
+        SELECT 
+            v.id,
+            v.empleado_id,
+            e.nombre || ' ' || e.ap_paterno as empleado_nombre,
+            e.rut as empleado_rut,
+            v.desde,
+            v.hasta,
+            v.retorno,
+            v.dias,
+            v.medios_dias,
+            v.fecha_aprobacion,
+            v.tipo
+        FROM vacaciones v
+        INNER JOIN empleado e ON v.empleado_id = e.id
+        ORDER BY v.desde DESC
+        """;
+
+    private static final String LICENCIAS_SQL = """
+        SELECT 
+            l.id,
+            l.empleado_id,
+            e.nombre || ' ' || e.ap_paterno as empleado_nombre,
+            e.rut as empleado_rut,
+            l.desde,
+            l.hasta,
+            l.dias,
+            l.tipo,
+            l.fecha_solicitud
+        FROM licencias l
+        INNER JOIN empleado e ON l.empleado_id = e.id
+        ORDER BY l.desde DESC
+        """;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private Long safeCount(String sql, Object... args) {
-        try {
-            if (args != null && args.length > 0) {
-                return jdbcTemplate.queryForObject(sql, Long.class, args);
-            } else {
-                return jdbcTemplate.queryForObject(sql, Long.class);
-            }
-        } catch (Exception ex) {
-            return 0L;
-        }
-    }
+    @Autowired
+    private DailyOccupancyService dailyOccupancyService;
+
+    @Autowired
+    private JsonRowStreamer jsonRowStreamer;
+
+    @Autowired
+    private ActiveWorkforceSnapshot dotacion;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private WorkforceAggregationService workforceAggregationService;
+
+    @Autowired
+    private AbsenceRangeService absenceRangeService;
+
+    @Autowired
+    private EmployeeProfileService employeeProfileService;
 
     /**
      * GET /api/db/empleados
      * Obtiene todos los empleados desde la base de datos
      */
     @GetMapping("/empleados")
-    public List<Map<String, Object>> getEmpleados(
+    public List<Empleado> getEmpleados(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size
     ) {
@@ -54,7 +119,42 @@ public class DatabaseController {
             ORDER BY e.nombre, e.ap_paterno
             LIMIT ? OFFSET ?
             """;
-        return jdbcTemplate.queryForList(sql, size, offset);
+        return jdbcTemplate.query(sql, Empleado.MAPPER, size, offset);
+    }
+
+    /**
+     * GET /api/db/empleados?cursor=
+     * Paginación por llave: cursor vacío para la primera página y luego el {@code next} recibido.
+     * Orden (nombre, ap_paterno, id) con nulos como texto vacío.
+     */
+    @GetMapping(value = "/empleados", params = "cursor")
+    public CursorPage<Empleado> getEmpleadosCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        int limite = CursorPage.size(size);
+        List<String> despues = Cursor.decode(cursor, 3);
+        String sql = """
+            SELECT 
+                e.id,
+                e.rut,
+                e.nombre,
+                e.ap_paterno,
+                e.ap_materno,
+                e.sexo,
+                e.fecha_nac,
+                e.discapacidad
+            FROM empleado e
+            """ + (despues != null
+                ? " WHERE (COALESCE(e.nombre, ''), COALESCE(e.ap_paterno, ''), e.id) > (?, ?, ?)\n" : "") + """
+            ORDER BY COALESCE(e.nombre, ''), COALESCE(e.ap_paterno, ''), e.id
+            LIMIT ?
+            """;
+        List<Empleado> filas = despues != null
+                ? jdbcTemplate.query(sql, Empleado.MAPPER, despues.get(0), despues.get(1), Cursor.parse(despues.get(2), Integer::valueOf), limite + 1)
+                : jdbcTemplate.query(sql, Empleado.MAPPER, limite + 1);
+        return CursorPage.of(filas, limite, e -> Cursor.encode(
+                Objects.toString(e.nombre(), ""), Objects.toString(e.apPaterno(), ""), e.id()));
     }
 
     /**
@@ -63,27 +163,26 @@ public class DatabaseController {
      */
     @GetMapping("/empleados/{empleadoId}/detalle")
     public Map<String, Object> getEmpleadoDetalle(@PathVariable int empleadoId) {
-        String sql = """
-            SELECT DISTINCT ON (c.empleado_id)
-                COALESCE(c.cargo, '')              AS cargo,
-                cc.codigo                          AS centroCostoCodigo,
-                cc.nombre                          AS centroCostoNombre,
-                COALESCE(s.nombre, 'Sin sucursal') AS sucursal,
-                c.fecha_contratacion               AS fechaIngreso,
-                ''                                 AS jefe
-            FROM contrato c
-            LEFT JOIN centro_costo cc ON c.centro_costo_id = cc.id
-            LEFT JOIN sucursal s ON c.sucursal_id = s.id
-            WHERE c.empleado_id = ? 
-              AND c.vigente = true
-            ORDER BY c.empleado_id, c.fecha_contratacion DESC NULLS LAST
-            """;
-        try {
-            List<Map<String, Object>> list = jdbcTemplate.queryForList(sql, empleadoId);
-            return list.isEmpty() ? Map.of() : list.get(0);
-        } catch (Exception ex) {
-            return Map.of();
-        }
+        return employeeProfileService.detalle(empleadoId);
+    }
+
+    /**
+     * GET /api/db/empleados/detalle?ids=1,2,3
+     * Detalle de una página completa de empleados en un solo request. Devuelve
+     * {version, detalles: {id: detalle | null}, faltantes: [ids sin contrato vigente]}.
+     */
+    @GetMapping("/empleados/detalle")
+    public Map<String, Object> getEmpleadosDetalle(@RequestParam List<Integer> ids) {
+        return employeeProfileService.detalles(ids);
+    }
+
+    /**
+     * POST /api/db/empleados/detalle con el arreglo de ids en el cuerpo,
+     * para listas que no caben cómodas en la URL.
+     */
+    @PostMapping("/empleados/detalle")
+    public Map<String, Object> postEmpleadosDetalle(@RequestBody List<Integer> ids) {
+        return employeeProfileService.detalles(ids);
     }
 
     /**
@@ -91,22 +190,7 @@ public class DatabaseController {
      */
     @GetMapping("/empleados/{empleadoId}/vacaciones")
     public List<Map<String, Object>> getVacacionesPorEmpleado(@PathVariable int empleadoId) {
-        String sql = """
-            SELECT 
-                v.id,
-                v.empleado_id,
-                v.desde,
-                v.hasta,
-                v.retorno,
-                v.dias,
-                v.medios_dias,
-                v.fecha_aprobacion,
-                v.tipo
-            FROM vacaciones v
-            WHERE v.empleado_id = ?
-            ORDER BY v.desde DESC
-            """;
-        return jdbcTemplate.queryForList(sql, empleadoId);
+        return employeeProfileService.vacaciones(empleadoId);
     }
 
     /**
@@ -114,20 +198,20 @@ public class DatabaseController {
      */
     @GetMapping("/empleados/{empleadoId}/licencias")
     public List<Map<String, Object>> getLicenciasPorEmpleado(@PathVariable int empleadoId) {
-        String sql = """
-            SELECT 
-                l.id,
-                l.empleado_id,
-                l.desde,
-                l.hasta,
-                l.dias,
-                l.tipo,
-                l.fecha_solicitud
-            FROM licencias l
-            WHERE l.empleado_id = ?
-            ORDER BY l.desde DESC
-            """;
-        return jdbcTemplate.queryForList(sql, empleadoId);
+        return employeeProfileService.licencias(empleadoId);
+    }
+
+    /**
+     * GET /api/db/empleados/{empleadoId}/perfil?include=detalle,vacaciones,licencias
+     * Detalle, vacaciones y licencias en una sola respuesta; las consultas corren en paralelo.
+     * Sin include vienen las tres partes.
+     */
+    @GetMapping("/empleados/{empleadoId}/perfil")
+    public Map<String, Object> getEmpleadoPerfil(
+            @PathVariable int empleadoId,
+            @RequestParam(required = false) String include
+    ) {
+        return employeeProfileService.perfil(empleadoId, EmployeeProfileService.Parte.of(include));
     }
 
     /**
@@ -135,26 +219,35 @@ public class DatabaseController {
      * Devuelve una lista normalizada para el front con datos de empleados con contrato vigente.
      */
     @GetMapping("/empleados/activos")
-    public List<Map<String, Object>> getEmpleadosActivos() {
-        String sql = """
-            SELECT DISTINCT ON (c.empleado_id)
-                c.empleado_id,
-                COALESCE(s.nombre, 'Sin sucursal') AS "sucursalNombre",
-                COALESCE(c.cargo, '') AS cargo,
-                e.sexo,
-                e.fecha_nac AS fecha_nacimiento,
-                e.discapacidad
-            FROM contrato c
-            INNER JOIN empleado e ON c.empleado_id = e.id
-            LEFT JOIN sucursal s ON c.sucursal_id = s.id
-            WHERE c.vigente = true
-            ORDER BY c.empleado_id, c.fecha_contratacion DESC NULLS LAST
-            """;
-        try {
-            return jdbcTemplate.queryForList(sql);
-        } catch (Exception ex) {
-            return Collections.emptyList();
-        }
+    public List<EmpleadoActivo> getEmpleadosActivos() {
+        return dotacion.get().empleadosActivos();
+    }
+
+    /**
+     * GET /api/db/empleados/activos (streaming)
+     * Mismo snapshot enviado fila a fila: NDJSON con {@code Accept: application/x-ndjson},
+     * o arreglo JSON por partes con {@code ?stream=true}.
+     */
+    @GetMapping(value = "/empleados/activos", produces = JsonRowStreamer.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getEmpleadosActivosNdjson() {
+        return jsonRowStreamer.ndjson(dotacion.get().empleadosActivos());
+    }
+
+    @GetMapping(value = "/empleados/activos", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getEmpleadosActivosStream() {
+        return jsonRowStreamer.jsonArray(dotacion.get().empleadosActivos());
+    }
+
+    /**
+     * GET /api/db/empleados/activos/agregado?por=sucursal,sexo
+     * Conteos de la dotación activa agrupados por las dimensiones pedidas
+     * (sexo, edad, discapacidad, sucursal, cargo, centroCosto). Sin {@code por} devuelve solo el total.
+     */
+    @GetMapping("/empleados/activos/agregado")
+    public Map<String, Object> getDotacionAgregada(@RequestParam(required = false) List<String> por) {
+        List<WorkforceAggregationService.Dimension> dimensiones = por == null ? List.of()
+                : por.stream().filter(p -> !p.isBlank()).map(WorkforceAggregationService.Dimension::of).toList();
+        return workforceAggregationService.agregar(dimensiones);
     }
 
     /**
@@ -162,7 +255,7 @@ public class DatabaseController {
      * Obtiene todos los contratos activos desde la base de datos
      */
     @GetMapping("/contratos")
-    public List<Map<String, Object>> getContratos(
+    public List<Contrato> getContratos(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(required = false) Boolean activo
@@ -187,48 +280,90 @@ public class DatabaseController {
             LEFT JOIN centro_costo cc ON c.centro_costo_id = cc.id
             LEFT JOIN sucursal s ON c.sucursal_id = s.id
             WHERE 1=1
-            """ + (activo != null ? " AND c.vigente = ?" : "") + """
+            """ + (activo != null ? " AND c.vigente = ?\n" : "") + """
             ORDER BY c.fecha_contratacion DESC, e.nombre
             LIMIT ? OFFSET ?
             """;
         
         if (activo != null) {
-            return jdbcTemplate.queryForList(sql, activo, size, offset);
+            return jdbcTemplate.query(sql, Contrato.MAPPER, activo, size, offset);
         } else {
-            return jdbcTemplate.queryForList(sql, size, offset);
+            return jdbcTemplate.query(sql, Contrato.MAPPER, size, offset);
         }
     }
 
     /**
-     * GET /api/db/contratos/activos
-     * Lista normalizada de contratos activos/vigentes con nombres en camelCase para el front.
+     * GET /api/db/contratos?cursor=
+     * Paginación por llave sobre (fecha_contratacion DESC, id DESC); contratos sin fecha al final.
      */
-    @GetMapping("/contratos/activos")
-    public List<Map<String, Object>> getContratosActivos() {
+    @GetMapping(value = "/contratos", params = "cursor")
+    public CursorPage<Contrato> getContratosCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Boolean activo
+    ) {
+        int limite = CursorPage.size(size);
+        List<String> despues = Cursor.decode(cursor, 2);
         String sql = """
-            SELECT DISTINCT ON (c.empleado_id)
-                c.empleado_id              AS "empleadoId",
-                e.rut                      AS "rut",
-                e.nombre                   AS "nombre",
-                e.ap_paterno               AS "apellidoPaterno",
-                COALESCE(c.cargo, '')      AS "cargo",
-                cc.codigo                  AS "centroCostoCodigo",
-                cc.nombre                  AS "centroCostoNombre",
-                COALESCE(s.nombre, 'Sin sucursal') AS "sucursalNombre",
-                ''                         AS "jefeNombre",
-                c.fecha_contratacion       AS "fechaContratacion"
+            SELECT 
+                c.id,
+                c.empleado_id,
+                e.nombre || ' ' || e.ap_paterno || ' ' || COALESCE(e.ap_materno, '') as empleado_nombre,
+                e.rut as empleado_rut,
+                c.fecha_contratacion,
+                c.desde,
+                c.hasta,
+                c.cargo,
+                c.cargo_norm,
+                cc.nombre as centro_costo_nombre,
+                s.nombre as sucursal_nombre,
+                c.vigente
             FROM contrato c
             INNER JOIN empleado e ON c.empleado_id = e.id
             LEFT JOIN centro_costo cc ON c.centro_costo_id = cc.id
             LEFT JOIN sucursal s ON c.sucursal_id = s.id
-            WHERE c.vigente = true
-            ORDER BY c.empleado_id, c.fecha_contratacion DESC NULLS LAST
+            WHERE 1=1
+            """ + (activo != null ? " AND c.vigente = ?\n" : "")
+                + (despues != null
+                ? " AND (COALESCE(c.fecha_contratacion, '-infinity'::date), c.id) < (?::date, ?)\n" : "") + """
+            ORDER BY COALESCE(c.fecha_contratacion, '-infinity'::date) DESC, c.id DESC
+            LIMIT ?
             """;
-        try {
-            return jdbcTemplate.queryForList(sql);
-        } catch (Exception ex) {
-            return Collections.emptyList();
+
+        List<Object> args = new ArrayList<>(4);
+        if (activo != null) args.add(activo);
+        if (despues != null) {
+            args.add(Cursor.parse(despues.get(0), f -> f.equals("-infinity") ? f : LocalDate.parse(f).toString()));
+            args.add(Cursor.parse(despues.get(1), Long::valueOf));
         }
+        args.add(limite + 1);
+        List<Contrato> filas = jdbcTemplate.query(sql, Contrato.MAPPER, args.toArray());
+        return CursorPage.of(filas, limite, c -> Cursor.encode(
+                Objects.toString(c.fechaContratacion(), "-infinity"), c.id()));
+    }
+
+    /**
+     * GET /api/db/contratos/activos
+     * Lista normalizada de contratos activos/vigentes con nombres en camelCase para el front.
+     */
+    @GetMapping("/contratos/activos")
+    public List<ContratoActivo> getContratosActivos() {
+        return dotacion.get().contratosActivos();
+    }
+
+    /**
+     * GET /api/db/contratos/activos (streaming)
+     * Mismo snapshot enviado fila a fila: NDJSON con {@code Accept: application/x-ndjson},
+     * o arreglo JSON por partes con {@code ?stream=true}.
+     */
+    @GetMapping(value = "/contratos/activos", produces = JsonRowStreamer.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getContratosActivosNdjson() {
+        return jsonRowStreamer.ndjson(dotacion.get().contratosActivos());
+    }
+
+    @GetMapping(value = "/contratos/activos", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getContratosActivosStream() {
+        return jsonRowStreamer.jsonArray(dotacion.get().contratosActivos());
     }
 
     /**
@@ -256,8 +391,7 @@ public class DatabaseController {
      */
     @GetMapping("/centros-costo")
     public List<Map<String, Object>> getCentrosCosto() {
-        String sql = "SELECT id, nombre, codigo FROM centro_costo ORDER BY nombre";
-        return jdbcTemplate.queryForList(sql);
+        return catalogService.centrosCosto();
     }
 
     /**
@@ -266,18 +400,16 @@ public class DatabaseController {
      */
     @GetMapping("/sucursales")
     public List<Map<String, Object>> getSucursales() {
-        String sql = "SELECT id, nombre, codigo FROM sucursal ORDER BY nombre";
-        return jdbcTemplate.queryForList(sql);
+        return catalogService.sucursales();
     }
 
     /**
      * GET /api/db/tipos-contrato
-     * Obtiene todos los tipos de contrato
+     * Lista vacía: el esquema no tiene tipos de contrato (se mantiene por compatibilidad con el front)
      */
     @GetMapping("/tipos-contrato")
     public List<Map<String, Object>> getTiposContrato() {
-        String sql = "SELECT id, nombre FROM tipo_contrato ORDER BY nombre";
-        return jdbcTemplate.queryForList(sql);
+        return catalogService.tiposContrato();
     }
 
     /**
@@ -285,111 +417,72 @@ public class DatabaseController {
      * Obtiene todas las vacaciones (tabla para llenado manual)
      */
     @GetMapping("/vacaciones")
-    public List<Map<String, Object>> getVacaciones() {
-        String sql = """
-            SELECT 
-                v.id,
-                v.empleado_id,
-                e.nombre || ' ' || e.ap_paterno as empleado_nombre,
-                e.rut as empleado_rut,
-                v.desde,
-                v.hasta,
-                v.retorno,
-                v.dias,
-                v.medios_dias,
-                v.fecha_aprobacion,
-                v.tipo
-            FROM vacaciones v
-            INNER JOIN empleado e ON v.empleado_id = e.id
-            ORDER BY v.desde DESC
-            """;
-        return jdbcTemplate.queryForList(sql);
+    public List<Vacacion> getVacaciones() {
+        return jdbcTemplate.query(VACACIONES_SQL, Vacacion.MAPPER);
+    }
+
+    /**
+     * GET /api/db/vacaciones (streaming)
+     * Misma consulta enviada fila a fila: NDJSON con {@code Accept: application/x-ndjson},
+     * o arreglo JSON por partes con {@code ?stream=true}.
+     */
+    @GetMapping(value = "/vacaciones", produces = JsonRowStreamer.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getVacacionesNdjson() {
+        return jsonRowStreamer.ndjson(VACACIONES_SQL, Vacacion.MAPPER);
+    }
+
+    @GetMapping(value = "/vacaciones", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getVacacionesStream() {
+        return jsonRowStreamer.jsonArray(VACACIONES_SQL, Vacacion.MAPPER);
     }
 
     /**
      * GET /api/db/vacaciones/rango
-     * Lista vacaciones en un rango de fechas [desde, hasta]
+     * Lista vacaciones que se cruzan con el rango [desde, hasta] (solape, no solo las que
+     * empiezan dentro). Filtros opcionales por sucursal (contrato vigente), empleado y tipo.
      */
     @GetMapping("/vacaciones/rango")
-    public List<Map<String, Object>> getVacacionesRango(
-            @RequestParam String desde,
-            @RequestParam String hasta
+    public List<Vacacion> getVacacionesRango(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) Integer sucursalId,
+            @RequestParam(required = false) Integer empleadoId,
+            @RequestParam(required = false) String tipo
     ) {
-        String sql = """
-            SELECT 
-                v.id,
-                v.empleado_id,
-                e.nombre || ' ' || e.ap_paterno as empleado_nombre,
-                e.rut as empleado_rut,
-                v.desde,
-                v.hasta,
-                v.retorno,
-                v.dias,
-                v.medios_dias,
-                v.fecha_aprobacion,
-                v.tipo
-            FROM vacaciones v
-            INNER JOIN empleado e ON v.empleado_id = e.id
-            WHERE v.desde::date >= DATE ? AND v.desde::date <= DATE ?
-            ORDER BY v.desde DESC
-            """;
-        return jdbcTemplate.queryForList(sql, desde, hasta);
+        return absenceRangeService.vacaciones(new AbsenceRangeService.Filtro(desde, hasta, sucursalId, empleadoId, tipo));
+    }
+
+    /**
+     * GET /api/db/vacaciones/rango?cursor=...&size=...
+     * Mismo rango paginado por llave (desde DESC, id DESC). Primera página con {@code cursor=} vacío.
+     */
+    @GetMapping(value = "/vacaciones/rango", params = "cursor")
+    public CursorPage<Vacacion> getVacacionesRangoCursor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) Integer sucursalId,
+            @RequestParam(required = false) Integer empleadoId,
+            @RequestParam(required = false) String tipo,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return absenceRangeService.vacaciones(
+                new AbsenceRangeService.Filtro(desde, hasta, sucursalId, empleadoId, tipo), cursor, size);
     }
 
     /**
      * GET /api/db/metrics/vacaciones/daily
      * Serie diaria de vacaciones activas desde ayer hasta los próximos N días.
      * Cuenta todas las vacaciones que estén vigentes en cada fecha (no solo las que inician ese día).
+     * Con personas=false devuelve solo fecha y total (para gráficos).
      */
     @GetMapping("/metrics/vacaciones/daily")
     public List<Map<String, Object>> getVacacionesDaily(
-            @RequestParam(defaultValue = "14") int days
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(defaultValue = "true") boolean personas
     ) {
         LocalDate ayer = LocalDate.now().minusDays(1);
-        LocalDate fin = ayer.plusDays(days);
-        String fechasSql = """
-            WITH RECURSIVE fechas AS (
-                SELECT ?::date AS fecha
-                UNION ALL
-                SELECT fecha + 1
-                FROM fechas
-                WHERE fecha < ?::date
-            )
-            SELECT fecha FROM fechas ORDER BY fecha
-        """;
-        List<Map<String, Object>> fechas = jdbcTemplate.queryForList(fechasSql, Date.valueOf(ayer), Date.valueOf(fin));
-        // Para cada fecha, obtener total y personas
-        String personasSql = """
-            SELECT 
-                e.nombre || ' ' || e.ap_paterno as nombre,
-                e.rut as rut,
-                COALESCE(s.nombre, 'Sin sucursal') as sucursal,
-                v.desde,
-                v.hasta,
-                v.retorno,
-                v.dias,
-                v.tipo
-            FROM vacaciones v
-            INNER JOIN empleado e ON v.empleado_id = e.id
-            LEFT JOIN LATERAL (
-                SELECT c.sucursal_id
-                FROM contrato c
-                WHERE c.empleado_id = e.id AND c.vigente = true
-                ORDER BY c.fecha_contratacion DESC NULLS LAST
-                LIMIT 1
-            ) contrato_vigente ON true
-            LEFT JOIN sucursal s ON contrato_vigente.sucursal_id = s.id
-            WHERE ?::date >= v.desde::date AND ?::date <= COALESCE(v.hasta::date, v.retorno::date)
-        """;
-        return fechas.stream().map(f -> {
-            LocalDate fecha = ((Date) f.get("fecha")).toLocalDate();
-            List<Map<String, Object>> personas = jdbcTemplate.queryForList(personasSql, Date.valueOf(fecha), Date.valueOf(fecha));
-            return Map.of(
-                "fecha", fecha.toString(),
-                "total", personas.size(),
-                "personas", personas
-            );
-        }).toList();
+        return dailyOccupancyService.vacaciones(ayer, ayer.plusDays(days), personas);
     }
 
     /**
@@ -397,132 +490,82 @@ public class DatabaseController {
      * Obtiene todas las licencias (tabla para llenado manual)
      */
     @GetMapping("/licencias")
-    public List<Map<String, Object>> getLicencias() {
-        String sql = """
-            SELECT 
-                l.id,
-                l.empleado_id,
-                e.nombre || ' ' || e.ap_paterno as empleado_nombre,
-                e.rut as empleado_rut,
-                l.desde,
-                l.hasta,
-                l.dias,
-                l.tipo,
-                l.fecha_solicitud
-            FROM licencias l
-            INNER JOIN empleado e ON l.empleado_id = e.id
-            ORDER BY l.desde DESC
-            """;
-        return jdbcTemplate.queryForList(sql);
+    public List<Licencia> getLicencias() {
+        return jdbcTemplate.query(LICENCIAS_SQL, Licencia.MAPPER);
+    }
+
+    /**
+     * GET /api/db/licencias (streaming)
+     * Misma consulta enviada fila a fila: NDJSON con {@code Accept: application/x-ndjson},
+     * o arreglo JSON por partes con {@code ?stream=true}.
+     */
+    @GetMapping(value = "/licencias", produces = JsonRowStreamer.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getLicenciasNdjson() {
+        return jsonRowStreamer.ndjson(LICENCIAS_SQL, Licencia.MAPPER);
+    }
+
+    @GetMapping(value = "/licencias", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getLicenciasStream() {
+        return jsonRowStreamer.jsonArray(LICENCIAS_SQL, Licencia.MAPPER);
     }
 
     /**
      * GET /api/db/licencias/rango
-     * Lista licencias en un rango de fechas [desde, hasta]
+     * Lista licencias que se cruzan con el rango [desde, hasta] (solape, no solo las que
+     * empiezan dentro). Filtros opcionales por sucursal (contrato vigente), empleado y tipo.
      */
     @GetMapping("/licencias/rango")
-    public List<Map<String, Object>> getLicenciasRango(
-            @RequestParam String desde,
-            @RequestParam String hasta
+    public List<Licencia> getLicenciasRango(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) Integer sucursalId,
+            @RequestParam(required = false) Integer empleadoId,
+            @RequestParam(required = false) String tipo
     ) {
-        String sql = """
-            SELECT 
-                l.id,
-                l.empleado_id,
-                e.nombre || ' ' || e.ap_paterno as empleado_nombre,
-                e.rut as empleado_rut,
-                l.desde,
-                l.hasta,
-                l.dias,
-                l.tipo,
-                l.fecha_solicitud
-            FROM licencias l
-            INNER JOIN empleado e ON l.empleado_id = e.id
-            WHERE l.desde::date >= DATE ? AND l.desde::date <= DATE ?
-            ORDER BY l.desde DESC
-            """;
-        return jdbcTemplate.queryForList(sql, desde, hasta);
+        return absenceRangeService.licencias(new AbsenceRangeService.Filtro(desde, hasta, sucursalId, empleadoId, tipo));
+    }
+
+    /**
+     * GET /api/db/licencias/rango?cursor=...&size=...
+     * Mismo rango paginado por llave (desde DESC, id DESC). Primera página con {@code cursor=} vacío.
+     */
+    @GetMapping(value = "/licencias/rango", params = "cursor")
+    public CursorPage<Licencia> getLicenciasRangoCursor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) Integer sucursalId,
+            @RequestParam(required = false) Integer empleadoId,
+            @RequestParam(required = false) String tipo,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return absenceRangeService.licencias(
+                new AbsenceRangeService.Filtro(desde, hasta, sucursalId, empleadoId, tipo), cursor, size);
     }
 
     /**
      * GET /api/db/metrics/licencias/daily
      * Serie diaria de licencias activas desde ayer hasta los próximos N días.
      * Cuenta todas las licencias que estén vigentes en cada fecha (no solo las que inician ese día).
+     * Con personas=false devuelve solo fecha y total (para gráficos).
      */
     @GetMapping("/metrics/licencias/daily")
     public List<Map<String, Object>> getLicenciasDaily(
-            @RequestParam(defaultValue = "14") int days
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(defaultValue = "true") boolean personas
     ) {
         LocalDate ayer = LocalDate.now().minusDays(1);
-        LocalDate fin = ayer.plusDays(days);
-        String fechasSql = """
-            WITH RECURSIVE fechas AS (
-                SELECT ?::date AS fecha
-                UNION ALL
-                SELECT fecha + 1
-                FROM fechas
-                WHERE fecha < ?::date
-            )
-            SELECT fecha FROM fechas ORDER BY fecha
-        """;
-        List<Map<String, Object>> fechas = jdbcTemplate.queryForList(fechasSql, Date.valueOf(ayer), Date.valueOf(fin));
-        String personasSql = """
-            SELECT 
-                e.nombre || ' ' || e.ap_paterno as nombre,
-                e.rut as rut,
-                COALESCE(s.nombre, 'Sin sucursal') as sucursal,
-                l.desde,
-                l.hasta
-            FROM licencias l
-            INNER JOIN empleado e ON l.empleado_id = e.id
-            LEFT JOIN LATERAL (
-                SELECT c.sucursal_id
-                FROM contrato c
-                WHERE c.empleado_id = e.id AND c.vigente = true
-                ORDER BY c.fecha_contratacion DESC NULLS LAST
-                LIMIT 1
-            ) contrato_vigente ON true
-            LEFT JOIN sucursal s ON contrato_vigente.sucursal_id = s.id
-            WHERE ?::date >= l.desde::date AND ?::date <= l.hasta::date
-        """;
-        return fechas.stream().map(f -> {
-            LocalDate fecha = ((Date) f.get("fecha")).toLocalDate();
-            List<Map<String, Object>> personas = jdbcTemplate.queryForList(personasSql, Date.valueOf(fecha), Date.valueOf(fecha));
-            return Map.of(
-                "fecha", fecha.toString(),
-                "total", personas.size(),
-                "personas", personas
-            );
-        }).toList();
+        return dailyOccupancyService.licencias(ayer, ayer.plusDays(days), personas);
     }
 
     /**
      * GET /api/db/stats
-     * Estadísticas generales
+     * Estadísticas generales, servidas desde memoria. {@code asOf} indica cuándo se
+     * calcularon, {@code stale} si superan el TTL y {@code degraded} si el último
+     * recálculo falló (los contadores quedan en null si nunca hubo uno bueno).
      */
     @GetMapping("/stats")
     public Map<String, Object> getStats() {
-        Long totalEmpleados = safeCount("SELECT COUNT(*) FROM empleado");
-        Long totalContratos = safeCount("SELECT COUNT(*) FROM contrato");
-        Long contratosActivos = safeCount("SELECT COUNT(*) FROM contrato WHERE vigente = true");
-        Long totalVacaciones = safeCount("SELECT COUNT(*) FROM vacaciones");
-        Long totalLicencias = safeCount("SELECT COUNT(*) FROM licencias");
-
-        // Último día (hoy) para métricas diarias rápidas
-        LocalDate hoy = LocalDate.now();
-        Long vacacionesHoy = safeCount(
-            "SELECT COUNT(*) FROM vacaciones WHERE desde::date = ?", Date.valueOf(hoy));
-        Long licenciasHoy = safeCount(
-            "SELECT COUNT(*) FROM licencias WHERE desde::date = ?", Date.valueOf(hoy));
-        
-        return Map.of(
-            "totalEmpleados", totalEmpleados,
-            "totalContratos", totalContratos,
-            "contratosActivos", contratosActivos,
-            "totalVacaciones", totalVacaciones,
-            "totalLicencias", totalLicencias,
-            "vacacionesHoy", vacacionesHoy,
-            "licenciasHoy", licenciasHoy
-        );
+        return dashboardStatsService.stats();
     }
 }
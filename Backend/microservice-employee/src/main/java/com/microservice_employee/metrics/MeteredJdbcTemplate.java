@@ -0,0 +1,136 @@
+package com.microservice_employee.metrics;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlProvider;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * JdbcTemplate que registra cada consulta y update en {@link QueryMetrics}. Se interceptan
+ * los puntos por los que pasan todas las variantes de {@code query}/{@code queryForObject}/
+ * {@code queryForList}/{@code update} (con y sin argumentos), así que el resto del código
+ * sigue inyectando un JdbcTemplate normal. Quedan sin medir {@code batchUpdate},
+ * {@code queryForStream} y {@code execute}, que solo usan la carga masiva y la ingesta.
+ * Las sentencias lentas pasan además a {@link SlowQueryLog} con su SQL y parámetros.
+ */
+public class MeteredJdbcTemplate extends JdbcTemplate {
+
+    private static final Object[] NINGUNO = {};
+
+    private final QueryMetrics metrics;
+    private final SlowQueryLog lentas;
+
+    public MeteredJdbcTemplate(DataSource dataSource, QueryMetrics metrics, SlowQueryLog lentas) {
+        super(dataSource);
+        this.metrics = metrics;
+        this.lentas = lentas;
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse)
+            throws DataAccessException {
+        return medir(() -> super.query(psc, pss, rse), QueryMetrics::filas, sql(psc), argumentos(psc, pss));
+    }
+
+    @Override
+    public <T> T query(String sql, ResultSetExtractor<T> rse) throws DataAccessException {
+        return medir(() -> super.query(sql, rse), QueryMetrics::filas, sql, NINGUNO);
+    }
+
+    // Las variantes con RowCallbackHandler devuelven void: se cuentan las filas al recorrerlas
+
+    @Override
+    public void query(PreparedStatementCreator psc, RowCallbackHandler rch) throws DataAccessException {
+        query(psc, null, contar(rch));
+    }
+
+    @Override
+    public void query(String sql, PreparedStatementSetter pss, RowCallbackHandler rch) throws DataAccessException {
+        query(sql, pss, contar(rch));
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler rch) throws DataAccessException {
+        query(sql, contar(rch));
+    }
+
+    @Override
+    protected int update(PreparedStatementCreator psc, PreparedStatementSetter pss) throws DataAccessException {
+        return medir(() -> super.update(psc, pss), Integer::longValue, sql(psc), argumentos(psc, pss));
+    }
+
+    @Override
+    public int update(String sql) throws DataAccessException {
+        return medir(() -> super.update(sql), Integer::longValue, sql, NINGUNO);
+    }
+
+    /** Guarda los argumentos a la vista para poder repetir la sentencia en un EXPLAIN. */
+    @Override
+    protected PreparedStatementSetter newArgPreparedStatementSetter(Object[] args) {
+        return new ArgumentosSetter(args);
+    }
+
+    private <T> T medir(Supplier<T> sentencia, ToLongFunction<T> filas, String sql, Object[] args) {
+        QueryMetrics.Medicion medicion = metrics.iniciar();
+        T resultado;
+        try {
+            resultado = sentencia.get();
+        } catch (RuntimeException | Error ex) {
+            lentas.registrar(medicion.sentencia(), sql, args, medicion.error(), -1, true);
+            throw ex;
+        }
+        long n = filas.applyAsLong(resultado);
+        lentas.registrar(medicion.sentencia(), sql, args, medicion.ok(n), n, false);
+        return resultado;
+    }
+
+    private static String sql(PreparedStatementCreator psc) {
+        return psc instanceof SqlProvider p ? p.getSql() : null;
+    }
+
+    /** null si no se conocen (setter o creator armado a mano que fija sus propios parámetros). */
+    private static Object[] argumentos(PreparedStatementCreator psc, PreparedStatementSetter pss) {
+        Object fuente = pss != null ? pss : psc;
+        return fuente instanceof Argumentos a ? a.argumentos() : null;
+    }
+
+    private ResultSetExtractor<QueryMetrics.FilasLeidas> contar(RowCallbackHandler rch) {
+        int max = getMaxRows();
+        return rs -> {
+            long n = 0;
+            while ((max <= 0 || n < max) && rs.next()) {
+                rch.processRow(rs);
+                n++;
+            }
+            return new QueryMetrics.FilasLeidas(n);
+        };
+    }
+
+    /** Sentencia que conoce sus parámetros (para los PreparedStatementCreator propios). */
+    public interface Argumentos {
+        Object[] argumentos();
+    }
+
+    private static final class ArgumentosSetter extends ArgumentPreparedStatementSetter implements Argumentos {
+
+        private final Object[] args;
+
+        ArgumentosSetter(Object[] args) {
+            super(args);
+            this.args = args;
+        }
+
+        @Override
+        public Object[] argumentos() {
+            return args != null ? args : NINGUNO;
+        }
+    }
+}
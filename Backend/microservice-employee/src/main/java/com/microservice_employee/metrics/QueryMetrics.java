@@ -0,0 +1,148 @@
+package com.microservice_employee.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas por sentencia SQL:
+ * <ul>
+ *   <li>{@code db.query} (timer, tags statement y outcome): desde que se prepara la sentencia
+ *       hasta que se terminó de leer el ResultSet, mapeo de filas incluido.</li>
+ *   <li>{@code db.query.rows} (resumen, tag statement): filas devueltas, o afectadas en un update.</li>
+ * </ul>
+ * La etiqueta {@code statement} no es el SQL sino {@code Clase.metodo} de quien llamó al
+ * JdbcTemplate (p. ej. {@code DatabaseController.getVacaciones}, {@code EmployeeProfileService.perfil}),
+ * así que su cardinalidad queda acotada por el código y no por los parámetros.
+ */
+public class QueryMetrics {
+
+    static final String TIMER = "db.query";
+    static final String FILAS = "db.query.rows";
+    static final String SIN_NOMBRE = "otros";
+
+    private static final String PAQUETE = "com.microservice_employee.";
+    private static final String PROPIO = QueryMetrics.class.getPackageName() + ".";
+    private static final StackWalker PILA = StackWalker.getInstance();
+    private static final ThreadLocal<String> FIJADA = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Medidores> porSentencia = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Marca el inicio de una sentencia; el nombre se resuelve ahora, en el hilo que la ejecuta. */
+    public Medicion iniciar() {
+        String fijada = FIJADA.get();
+        return new Medicion(medidores(fijada != null ? fijada : sentencia(null)), System.nanoTime());
+    }
+
+    /**
+     * Ejecuta {@code tarea} con el nombre de sentencia ya resuelto. Para consultas que corren en
+     * otro hilo (p. ej. streaming), donde quien las pidió ya no está en la pila.
+     */
+    public static void como(String sentencia, Runnable tarea) {
+        String anterior = FIJADA.get();
+        FIJADA.set(sentencia);
+        try {
+            tarea.run();
+        } finally {
+            if (anterior == null) {
+                FIJADA.remove();
+            } else {
+                FIJADA.set(anterior);
+            }
+        }
+    }
+
+    private Medidores medidores(String sentencia) {
+        return porSentencia.computeIfAbsent(sentencia, s -> new Medidores(s,
+                Timer.builder(TIMER).tag("statement", s).tag("outcome", "ok")
+                        .description("Ejecución de SQL y lectura del resultado").register(registry),
+                Timer.builder(TIMER).tag("statement", s).tag("outcome", "error").register(registry),
+                DistributionSummary.builder(FILAS).tag("statement", s).baseUnit("rows")
+                        .description("Filas devueltas o afectadas por sentencia").register(registry)));
+    }
+
+    /** Primer método de la aplicación en la pila, fuera de este paquete y de {@code omitir}. */
+    public static String sentencia(Class<?> omitir) {
+        String omitida = omitir != null ? omitir.getName() : null;
+        return PILA.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAQUETE) && !f.getClassName().startsWith(PROPIO)
+                        && (omitida == null || !f.getClassName().startsWith(omitida)))
+                .findFirst()
+                .map(f -> nombre(f.getClassName(), f.getMethodName()))
+                .orElse(SIN_NOMBRE));
+    }
+
+    /** {@code pkg.Clase$$SpringCGLIB$$0} y {@code lambda$perfil$3} quedan como {@code Clase.perfil}. */
+    static String nombre(String clase, String metodo) {
+        String simple = clase.substring(clase.lastIndexOf('.') + 1);
+        int proxy = simple.indexOf("$$");
+        if (proxy >= 0) {
+            simple = simple.substring(0, proxy);
+        }
+        if (metodo.startsWith("lambda$")) {
+            int fin = metodo.indexOf('$', 7);
+            metodo = fin > 7 ? metodo.substring(7, fin) : metodo.substring(7);
+        }
+        return simple.replace('$', '.') + "." + metodo;
+    }
+
+    /** Filas de un resultado: tamaño si es colección, el número si es un conteo de filas, -1 si no se sabe. */
+    static long filas(Object resultado) {
+        if (resultado instanceof Collection<?> c) {
+            return c.size();
+        }
+        if (resultado instanceof FilasLeidas f) {
+            return f.filas();
+        }
+        return -1;
+    }
+
+    private record Medidores(String sentencia, Timer ok, Timer error, DistributionSummary filas) {
+    }
+
+    /** Filas contadas por un extractor que no devuelve colección (RowCallbackHandler). */
+    record FilasLeidas(long filas) {
+    }
+
+    public static final class Medicion {
+
+        private final Medidores medidores;
+        private final long inicio;
+
+        private Medicion(Medidores medidores, long inicio) {
+            this.medidores = medidores;
+            this.inicio = inicio;
+        }
+
+        public String sentencia() {
+            return medidores.sentencia();
+        }
+
+        /** Registra la ejecución exitosa y devuelve su duración en nanosegundos. */
+        public long ok(long filas) {
+            long nanos = System.nanoTime() - inicio;
+            medidores.ok().record(nanos, TimeUnit.NANOSECONDS);
+            if (filas >= 0) {
+                medidores.filas().record(filas);
+            }
+            return nanos;
+        }
+
+        /** Registra la ejecución fallida y devuelve su duración en nanosegundos. */
+        public long error() {
+            long nanos = System.nanoTime() - inicio;
+            medidores.error().record(nanos, TimeUnit.NANOSECONDS);
+            return nanos;
+        }
+    }
+}
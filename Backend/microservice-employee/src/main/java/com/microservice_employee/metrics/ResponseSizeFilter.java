@@ -0,0 +1,126 @@
+package com.microservice_employee.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Bytes escritos en el cuerpo de cada respuesta de /api, como resumen {@code http.server.response.size}
+ * con el patrón del endpoint ({@code /api/db/empleados/{empleadoId}/detalle}) en el tag uri,
+ * igual que {@code http.server.requests}. Los StreamingResponseBody se registran al completar
+ * el request asíncrono, no al volver del controller.
+ */
+public class ResponseSizeFilter extends OncePerRequestFilter {
+
+    static final String RESUMEN = "http.server.response.size";
+
+    private final MeterRegistry registry;
+
+    public ResponseSizeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Contador contador = new Contador(response);
+        chain.doFilter(request, contador);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    registrar(request, contador);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            registrar(request, contador);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, Contador contador) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(RESUMEN)
+                .baseUnit("bytes")
+                .description("Bytes del cuerpo de la respuesta")
+                .tag("uri", patron != null ? patron.toString() : QueryMetrics.SIN_NOMBRE)
+                .tag("method", request.getMethod())
+                .register(registry)
+                .record(contador.bytes);
+    }
+
+    /** Envuelve el OutputStream de la respuesta y cuenta lo que pasa por él. */
+    private static final class Contador extends HttpServletResponseWrapper {
+
+        private volatile long bytes;
+        private ServletOutputStream salida;
+
+        Contador(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (salida == null) {
+                ServletOutputStream original = super.getOutputStream();
+                salida = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        original.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        original.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        original.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        original.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        original.setWriteListener(listener);
+                    }
+                };
+            }
+            return salida;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.microservice_employee.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/slowqueries?top=N: sentencias lentas con más tiempo acumulado, con llamadas,
+ * tiempos y el último plan capturado (sin constantes). DELETE vacía el registro.
+ * Exige token de ADMIN (AuthConfig); en los perfiles desplegados es de solo lectura.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Value("${dashboard.slow-query.top:10}")
+    private int topDefault;
+
+    @ReadOperation
+    public Map<String, Object> top(@Nullable Integer top) {
+        return slowQueryLog.top(top != null ? top : topDefault);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.limpiar();
+    }
+}
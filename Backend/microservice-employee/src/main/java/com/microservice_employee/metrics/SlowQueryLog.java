@@ -0,0 +1,353 @@
+package com.microservice_employee.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sentencias que superan {@code dashboard.slow-query.threshold-ms}, guardadas en un anillo de
+ * tamaño fijo (las más antiguas se pisan), con el plan de ejecución capturado aparte.
+ * <p>
+ * El plan se obtiene re-ejecutando la sentencia con {@code EXPLAIN (ANALYZE, BUFFERS)} en un
+ * hilo propio, dentro de una transacción de solo lectura que se descarta y con statement_timeout.
+ * Como ocupa una conexión del pool, se limita a un EXPLAIN a la vez, a
+ * {@code plans-per-minute} por minuto y a uno por sentencia cada {@code plan-interval-min};
+ * lo que no cabe se descarta. Solo se explican SELECT/WITH exitosos. Los parámetros se usan
+ * para el EXPLAIN pero no se guardan; como PostgreSQL los imprime como literales en las
+ * condiciones del plan, el texto se guarda con cada constante reemplazada por {@code ?}.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    /**
+     * Líneas del plan donde aparecen valores de la consulta: condiciones, filtros y salidas,
+     * en texto ({@code Index Cond: ...}) o en JSON ({@code "Index Cond": "..."}).
+     */
+    private static final Pattern CONDICION = Pattern.compile(
+            "^(\\s*\"?(?:Index Cond|Recheck Cond|Filter|Join Filter|One-Time Filter|Hash Cond|Merge Cond"
+                    + "|TID Cond|Cache Key|Order By|Output)\"?:)(.*)$",
+            Pattern.MULTILINE);
+    /** Literal entre comillas simples ('' escapa una comilla) o número suelto. */
+    private static final Pattern CONSTANTE = Pattern.compile("'(?:[^']|'')*'|(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${dashboard.slow-query.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${dashboard.slow-query.threshold-ms:500}")
+    private long umbralMs;
+
+    @Value("${dashboard.slow-query.capacity:256}")
+    private int capacidad;
+
+    @Value("${dashboard.slow-query.plans-per-minute:2}")
+    private int planesPorMinuto;
+
+    @Value("${dashboard.slow-query.plan-interval-min:15}")
+    private long intervaloPlanMin;
+
+    @Value("${dashboard.slow-query.explain-timeout-ms:30000}")
+    private long explainTimeoutMs;
+
+    @Value("${dashboard.slow-query.explain-prefix:EXPLAIN (ANALYZE, BUFFERS) }")
+    private String explainPrefijo;
+
+    private long umbralNanos;
+    private Lenta[] anillo;
+    private long registradas;
+
+    // Por texto de SQL; acotado para que sentencias armadas dinámicamente no lo hagan crecer sin fin
+    private final Map<String, Plan> planes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Plan> eldest) {
+            return size() > capacidad;
+        }
+    };
+    private final Set<String> pendientes = new HashSet<>();
+    private long ventana;
+    private int enVentana;
+    private long planesDescartados;
+
+    private JdbcTemplate explicador;
+    private ThreadPoolExecutor explain;
+
+    @PostConstruct
+    void iniciar() {
+        umbralNanos = TimeUnit.MILLISECONDS.toNanos(umbralMs);
+        anillo = new Lenta[capacidad];
+        // Sin instrumentar: el EXPLAIN no debe contarse ni volver a entrar aquí
+        explicador = new JdbcTemplate(dataSource);
+        explain = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(4), r -> {
+            Thread t = new Thread(r, "slow-query-explain");
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        explain.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        explain.shutdownNow();
+    }
+
+    /**
+     * Lo llama {@link MeteredJdbcTemplate} después de cada sentencia; por debajo del umbral no hace nada.
+     * {@code args} es null si no se conocen los parámetros (y entonces no hay EXPLAIN de sentencias con ?).
+     */
+    public void registrar(String sentencia, String sql, Object[] args, long nanos, long filas, boolean error) {
+        if (!habilitado || nanos < umbralNanos || sql == null) {
+            return;
+        }
+        Instant ahora = Instant.now();
+        boolean explicar;
+        synchronized (this) {
+            anillo[(int) (registradas++ % anillo.length)] = new Lenta(ahora, sentencia, sql, nanos, filas, error);
+            explicar = !error && explicable(sql, args) && reservar(sql, ahora);
+        }
+        if (explicar) {
+            try {
+                explain.execute(() -> capturar(sql, args));
+            } catch (RejectedExecutionException ex) {
+                synchronized (this) {
+                    pendientes.remove(sql);
+                    planesDescartados++;
+                }
+            }
+        }
+        log.debug("Sentencia lenta {} ({} ms, {} filas)", sentencia, TimeUnit.NANOSECONDS.toMillis(nanos), filas);
+    }
+
+    private static boolean explicable(String sql, Object[] args) {
+        String inicio = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return (inicio.startsWith("select") || inicio.startsWith("with")) && (args != null || sql.indexOf('?') < 0);
+    }
+
+    /** Aplica los límites de frecuencia; con el lock tomado. */
+    private boolean reservar(String sql, Instant ahora) {
+        Plan previo = planes.get(sql);
+        if (pendientes.contains(sql)
+                || previo != null && previo.capturado().plus(Duration.ofMinutes(intervaloPlanMin)).isAfter(ahora)) {
+            return false;
+        }
+        long minuto = ahora.getEpochSecond() / 60;
+        if (minuto != ventana) {
+            ventana = minuto;
+            enVentana = 0;
+        }
+        if (enVentana >= planesPorMinuto) {
+            planesDescartados++;
+            return false;
+        }
+        enVentana++;
+        pendientes.add(sql);
+        return true;
+    }
+
+    private void capturar(String sql, Object[] args) {
+        long inicio = System.nanoTime();
+        String texto;
+        try {
+            texto = explicador.execute((ConnectionCallback<String>) con -> {
+                boolean autoCommit = con.getAutoCommit();
+                con.setAutoCommit(false);
+                try {
+                    try (Statement st = con.createStatement()) {
+                        st.execute("SET TRANSACTION READ ONLY");
+                        st.execute("SET LOCAL statement_timeout = " + explainTimeoutMs);
+                    }
+                    try (PreparedStatement ps = con.prepareStatement(explainPrefijo + sql)) {
+                        if (args != null) {
+                            new ArgumentPreparedStatementSetter(args).setValues(ps);
+                        }
+                        StringBuilder plan = new StringBuilder();
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                plan.append(rs.getString(1)).append('\n');
+                            }
+                        }
+                        return plan.toString();
+                    }
+                } finally {
+                    con.rollback();
+                    con.setAutoCommit(autoCommit);
+                }
+            });
+            texto = sinConstantes(texto);
+        } catch (Exception ex) {
+            log.warn("No se pudo capturar el plan de una sentencia lenta: {}", ex.getMessage());
+            // El mensaje del driver puede citar un valor; afuera solo va el tipo de error
+            texto = "(sin plan: " + ex.getClass().getSimpleName() + ")";
+        }
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        synchronized (this) {
+            pendientes.remove(sql);
+            planes.put(sql, new Plan(Instant.now(), ms, texto));
+        }
+    }
+
+    /** Reemplaza por {@code ?} los literales de las líneas de condición; costos y filas quedan. */
+    static String sinConstantes(String plan) {
+        Matcher linea = CONDICION.matcher(plan);
+        StringBuilder limpio = new StringBuilder(plan.length());
+        while (linea.find()) {
+            String resto = CONSTANTE.matcher(linea.group(2)).replaceAll("?");
+            linea.appendReplacement(limpio, Matcher.quoteReplacement(linea.group(1) + resto));
+        }
+        linea.appendTail(limpio);
+        return limpio.toString();
+    }
+
+    /**
+     * Las {@code n} sentencias con más tiempo acumulado en el anillo, agrupadas por nombre y SQL,
+     * con su último plan y los totales de {@code db.query} (todas las ejecuciones, no solo las lentas).
+     */
+    public Map<String, Object> top(int n) {
+        List<Lenta> lentas = new ArrayList<>(capacidad);
+        Map<String, Plan> copiaPlanes;
+        long total;
+        long descartados;
+        synchronized (this) {
+            for (Lenta l : anillo) {
+                if (l != null) {
+                    lentas.add(l);
+                }
+            }
+            copiaPlanes = new LinkedHashMap<>(planes);
+            total = registradas;
+            descartados = planesDescartados;
+        }
+
+        Map<String, Grupo> grupos = new LinkedHashMap<>();
+        for (Lenta l : lentas) {
+            grupos.computeIfAbsent(l.sentencia() + '\u0000' + l.sql(), k -> new Grupo(l.sentencia(), l.sql())).sumar(l);
+        }
+        List<Map<String, Object>> top = grupos.values().stream()
+                .sorted(Comparator.comparingLong(Grupo::nanos).reversed())
+                .limit(Math.max(n, 0))
+                .map(g -> g.resumen(copiaPlanes.get(g.sql), registry))
+                .toList();
+
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("umbralMs", umbralMs);
+        respuesta.put("capacidad", capacidad);
+        respuesta.put("registradas", total);
+        respuesta.put("enAnillo", lentas.size());
+        respuesta.put("planes", copiaPlanes.size());
+        respuesta.put("planesDescartados", descartados);
+        respuesta.put("top", top);
+        return respuesta;
+    }
+
+    public synchronized void limpiar() {
+        Arrays.fill(anillo, null);
+        registradas = 0;
+        planes.clear();
+        planesDescartados = 0;
+    }
+
+    private record Lenta(Instant cuando, String sentencia, String sql, long nanos, long filas, boolean error) {
+    }
+
+    private record Plan(Instant capturado, long duracionMs, String texto) {
+    }
+
+    private static final class Grupo {
+        private final String sentencia;
+        private final String sql;
+        private long llamadas;
+        private long errores;
+        private long nanos;
+        private long maxNanos;
+        private long filas = -1;
+        private Instant ultima;
+
+        Grupo(String sentencia, String sql) {
+            this.sentencia = sentencia;
+            this.sql = sql;
+        }
+
+        void sumar(Lenta l) {
+            llamadas++;
+            if (l.error()) {
+                errores++;
+            }
+            nanos += l.nanos();
+            maxNanos = Math.max(maxNanos, l.nanos());
+            if (ultima == null || l.cuando().isAfter(ultima)) {
+                ultima = l.cuando();
+                filas = l.filas();
+            }
+        }
+
+        long nanos() {
+            return nanos;
+        }
+
+        Map<String, Object> resumen(Plan plan, MeterRegistry registry) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("sentencia", sentencia);
+            m.put("sql", sql.strip().replaceAll("\\s+", " "));
+            m.put("llamadasLentas", llamadas);
+            m.put("errores", errores);
+            m.put("totalMs", TimeUnit.NANOSECONDS.toMillis(nanos));
+            m.put("promedioMs", TimeUnit.NANOSECONDS.toMillis(nanos / llamadas));
+            m.put("maxMs", TimeUnit.NANOSECONDS.toMillis(maxNanos));
+            m.put("ultimasFilas", filas);
+            m.put("ultima", ultima);
+            long llamadasTotales = 0;
+            double totalMs = 0;
+            for (Timer t : registry.find(QueryMetrics.TIMER).tag("statement", sentencia).timers()) {
+                llamadasTotales += t.count();
+                totalMs += t.totalTime(TimeUnit.MILLISECONDS);
+            }
+            m.put("llamadasTotales", llamadasTotales);
+            m.put("tiempoTotalMs", Math.round(totalMs));
+            if (plan != null) {
+                m.put("plan", plan.texto());
+                m.put("planCapturado", plan.capturado());
+                m.put("planDuracionMs", plan.duracionMs());
+            } else {
+                m.put("plan", null);
+            }
+            return m;
+        }
+    }
+}
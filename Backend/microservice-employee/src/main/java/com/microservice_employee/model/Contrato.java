@@ -0,0 +1,81 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Fila de /api/db/contratos.
+ */
+public record Contrato(
+        long id,
+        Integer empleadoId,
+        String empleadoNombre,
+        String empleadoRut,
+        LocalDate fechaContratacion,
+        LocalDate desde,
+        LocalDate hasta,
+        String cargo,
+        String cargoNorm,
+        String centroCostoNombre,
+        String sucursalNombre,
+        Boolean vigente
+) {
+
+    public static final RowMapper<Contrato> MAPPER = (rs, rowNum) -> new Contrato(
+            rs.getLong("id"),
+            RowJson.entero(rs, "empleado_id"),
+            rs.getString("empleado_nombre"),
+            rs.getString("empleado_rut"),
+            RowJson.fecha(rs, "fecha_contratacion"),
+            RowJson.fecha(rs, "desde"),
+            RowJson.fecha(rs, "hasta"),
+            rs.getString("cargo"),
+            rs.getString("cargo_norm"),
+            rs.getString("centro_costo_nombre"),
+            rs.getString("sucursal_nombre"),
+            RowJson.booleano(rs, "vigente")
+    );
+
+    public static final class Serializer extends StdSerializer<Contrato> {
+        private static final SerializableString ID = RowJson.campo("id");
+        private static final SerializableString EMPLEADO_ID = RowJson.campo("empleado_id");
+        private static final SerializableString EMPLEADO_NOMBRE = RowJson.campo("empleado_nombre");
+        private static final SerializableString EMPLEADO_RUT = RowJson.campo("empleado_rut");
+        private static final SerializableString FECHA_CONTRATACION = RowJson.campo("fecha_contratacion");
+        private static final SerializableString DESDE = RowJson.campo("desde");
+        private static final SerializableString HASTA = RowJson.campo("hasta");
+        private static final SerializableString CARGO = RowJson.campo("cargo");
+        private static final SerializableString CARGO_NORM = RowJson.campo("cargo_norm");
+        private static final SerializableString CENTRO_COSTO_NOMBRE = RowJson.campo("centro_costo_nombre");
+        private static final SerializableString SUCURSAL_NOMBRE = RowJson.campo("sucursal_nombre");
+        private static final SerializableString VIGENTE = RowJson.campo("vigente");
+
+        public Serializer() {
+            super(Contrato.class);
+        }
+
+        @Override
+        public void serialize(Contrato c, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            RowJson.largo(gen, ID, c.id());
+            RowJson.entero(gen, EMPLEADO_ID, c.empleadoId());
+            RowJson.texto(gen, EMPLEADO_NOMBRE, c.empleadoNombre());
+            RowJson.texto(gen, EMPLEADO_RUT, c.empleadoRut());
+            RowJson.fecha(gen, provider, FECHA_CONTRATACION, c.fechaContratacion());
+            RowJson.fecha(gen, provider, DESDE, c.desde());
+            RowJson.fecha(gen, provider, HASTA, c.hasta());
+            RowJson.texto(gen, CARGO, c.cargo());
+            RowJson.texto(gen, CARGO_NORM, c.cargoNorm());
+            RowJson.texto(gen, CENTRO_COSTO_NOMBRE, c.centroCostoNombre());
+            RowJson.texto(gen, SUCURSAL_NOMBRE, c.sucursalNombre());
+            RowJson.booleano(gen, VIGENTE, c.vigente());
+            gen.writeEndObject();
+        }
+    }
+}
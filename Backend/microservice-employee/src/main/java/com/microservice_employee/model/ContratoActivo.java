@@ -0,0 +1,73 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Proyección de /api/db/contratos/activos (nombres en camelCase para el front).
+ */
+public record ContratoActivo(
+        int empleadoId,
+        String rut,
+        String nombre,
+        String apellidoPaterno,
+        String cargo,
+        String centroCostoCodigo,
+        String centroCostoNombre,
+        String sucursalNombre,
+        String jefeNombre,
+        LocalDate fechaContratacion
+) {
+
+    public static final RowMapper<ContratoActivo> MAPPER = (rs, rowNum) -> new ContratoActivo(
+            rs.getInt("empleadoId"),
+            rs.getString("rut"),
+            rs.getString("nombre"),
+            rs.getString("apellidoPaterno"),
+            rs.getString("cargo"),
+            rs.getString("centroCostoCodigo"),
+            rs.getString("centroCostoNombre"),
+            rs.getString("sucursalNombre"),
+            rs.getString("jefeNombre"),
+            RowJson.fecha(rs, "fechaContratacion")
+    );
+
+    public static final class Serializer extends StdSerializer<ContratoActivo> {
+        private static final SerializableString EMPLEADO_ID = RowJson.campo("empleadoId");
+        private static final SerializableString RUT = RowJson.campo("rut");
+        private static final SerializableString NOMBRE = RowJson.campo("nombre");
+        private static final SerializableString APELLIDO_PATERNO = RowJson.campo("apellidoPaterno");
+        private static final SerializableString CARGO = RowJson.campo("cargo");
+        private static final SerializableString CENTRO_COSTO_CODIGO = RowJson.campo("centroCostoCodigo");
+        private static final SerializableString CENTRO_COSTO_NOMBRE = RowJson.campo("centroCostoNombre");
+        private static final SerializableString SUCURSAL_NOMBRE = RowJson.campo("sucursalNombre");
+        private static final SerializableString JEFE_NOMBRE = RowJson.campo("jefeNombre");
+        private static final SerializableString FECHA_CONTRATACION = RowJson.campo("fechaContratacion");
+
+        public Serializer() {
+            super(ContratoActivo.class);
+        }
+
+        @Override
+        public void serialize(ContratoActivo c, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            RowJson.largo(gen, EMPLEADO_ID, c.empleadoId());
+            RowJson.texto(gen, RUT, c.rut());
+            RowJson.texto(gen, NOMBRE, c.nombre());
+            RowJson.texto(gen, APELLIDO_PATERNO, c.apellidoPaterno());
+            RowJson.texto(gen, CARGO, c.cargo());
+            RowJson.texto(gen, CENTRO_COSTO_CODIGO, c.centroCostoCodigo());
+            RowJson.texto(gen, CENTRO_COSTO_NOMBRE, c.centroCostoNombre());
+            RowJson.texto(gen, SUCURSAL_NOMBRE, c.sucursalNombre());
+            RowJson.texto(gen, JEFE_NOMBRE, c.jefeNombre());
+            RowJson.fecha(gen, provider, FECHA_CONTRATACION, c.fechaContratacion());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.microservice_employee.model;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Último contrato vigente de un empleado junto con sus datos personales:
+ * la fila compacta que guarda el snapshot de dotación activa.
+ */
+public record ContratoVigente(
+        int empleadoId,
+        String rut,
+        String nombre,
+        String apPaterno,
+        String sexo,
+        LocalDate fechaNac,
+        Object discapacidad,
+        String cargo,
+        String centroCostoCodigo,
+        String centroCostoNombre,
+        Integer sucursalId,
+        String sucursalNombre,
+        LocalDate fechaContratacion
+) {
+
+    public EmpleadoActivo empleadoActivo() {
+        return new EmpleadoActivo(empleadoId, sucursalNombre, cargo, sexo, fechaNac, discapacidad);
+    }
+
+    public ContratoActivo contratoActivo() {
+        return new ContratoActivo(empleadoId, rut, nombre, apPaterno, cargo,
+                centroCostoCodigo, centroCostoNombre, sucursalNombre, "", fechaContratacion);
+    }
+
+    /**
+     * Forma de /empleados/{id}/detalle. Las llaves van en minúscula porque así las
+     * devolvía PostgreSQL para los alias sin comillas de la consulta original.
+     */
+    public Map<String, Object> detalle() {
+        Map<String, Object> detalle = new LinkedHashMap<>(8);
+        detalle.put("cargo", cargo);
+        detalle.put("centrocostocodigo", centroCostoCodigo);
+        detalle.put("centrocostonombre", centroCostoNombre);
+        detalle.put("sucursal", sucursalNombre);
+        detalle.put("fechaingreso", fechaContratacion == null ? null : Date.valueOf(fechaContratacion));
+        detalle.put("jefe", "");
+        return detalle;
+    }
+}
@@ -0,0 +1,65 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Fila de /api/db/empleados.
+ */
+public record Empleado(
+        int id,
+        String rut,
+        String nombre,
+        String apPaterno,
+        String apMaterno,
+        String sexo,
+        LocalDate fechaNac,
+        Object discapacidad
+) {
+
+    public static final RowMapper<Empleado> MAPPER = (rs, rowNum) -> new Empleado(
+            rs.getInt("id"),
+            rs.getString("rut"),
+            rs.getString("nombre"),
+            rs.getString("ap_paterno"),
+            rs.getString("ap_materno"),
+            rs.getString("sexo"),
+            RowJson.fecha(rs, "fecha_nac"),
+            rs.getObject("discapacidad")
+    );
+
+    public static final class Serializer extends StdSerializer<Empleado> {
+        private static final SerializableString ID = RowJson.campo("id");
+        private static final SerializableString RUT = RowJson.campo("rut");
+        private static final SerializableString NOMBRE = RowJson.campo("nombre");
+        private static final SerializableString AP_PATERNO = RowJson.campo("ap_paterno");
+        private static final SerializableString AP_MATERNO = RowJson.campo("ap_materno");
+        private static final SerializableString SEXO = RowJson.campo("sexo");
+        private static final SerializableString FECHA_NAC = RowJson.campo("fecha_nac");
+        private static final SerializableString DISCAPACIDAD = RowJson.campo("discapacidad");
+
+        public Serializer() {
+            super(Empleado.class);
+        }
+
+        @Override
+        public void serialize(Empleado e, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            RowJson.largo(gen, ID, e.id());
+            RowJson.texto(gen, RUT, e.rut());
+            RowJson.texto(gen, NOMBRE, e.nombre());
+            RowJson.texto(gen, AP_PATERNO, e.apPaterno());
+            RowJson.texto(gen, AP_MATERNO, e.apMaterno());
+            RowJson.texto(gen, SEXO, e.sexo());
+            RowJson.fecha(gen, provider, FECHA_NAC, e.fechaNac());
+            RowJson.discapacidad(gen, DISCAPACIDAD, e.discapacidad());
+            gen.writeEndObject();
+        }
+    }
+}
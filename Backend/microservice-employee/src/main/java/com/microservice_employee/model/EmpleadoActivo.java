@@ -0,0 +1,57 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Proyección de /api/db/empleados/activos: un registro por empleado con contrato vigente.
+ */
+public record EmpleadoActivo(
+        int empleadoId,
+        String sucursalNombre,
+        String cargo,
+        String sexo,
+        LocalDate fechaNacimiento,
+        Object discapacidad
+) {
+
+    public static final RowMapper<EmpleadoActivo> MAPPER = (rs, rowNum) -> new EmpleadoActivo(
+            rs.getInt("empleado_id"),
+            rs.getString("sucursalNombre"),
+            rs.getString("cargo"),
+            rs.getString("sexo"),
+            RowJson.fecha(rs, "fecha_nacimiento"),
+            rs.getObject("discapacidad")
+    );
+
+    public static final class Serializer extends StdSerializer<EmpleadoActivo> {
+        private static final SerializableString EMPLEADO_ID = RowJson.campo("empleado_id");
+        private static final SerializableString SUCURSAL_NOMBRE = RowJson.campo("sucursalNombre");
+        private static final SerializableString CARGO = RowJson.campo("cargo");
+        private static final SerializableString SEXO = RowJson.campo("sexo");
+        private static final SerializableString FECHA_NACIMIENTO = RowJson.campo("fecha_nacimiento");
+        private static final SerializableString DISCAPACIDAD = RowJson.campo("discapacidad");
+
+        public Serializer() {
+            super(EmpleadoActivo.class);
+        }
+
+        @Override
+        public void serialize(EmpleadoActivo e, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            RowJson.largo(gen, EMPLEADO_ID, e.empleadoId());
+            RowJson.texto(gen, SUCURSAL_NOMBRE, e.sucursalNombre());
+            RowJson.texto(gen, CARGO, e.cargo());
+            RowJson.texto(gen, SEXO, e.sexo());
+            RowJson.fecha(gen, provider, FECHA_NACIMIENTO, e.fechaNacimiento());
+            RowJson.discapacidad(gen, DISCAPACIDAD, e.discapacidad());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Fila de /api/db/licencias (y del rango por fechas).
+ */
+public record Licencia(
+        long id,
+        Integer empleadoId,
+        String empleadoNombre,
+        String empleadoRut,
+        LocalDate desde,
+        LocalDate hasta,
+        BigDecimal dias,
+        String tipo,
+        Timestamp fechaSolicitud
+) {
+
+    public static final RowMapper<Licencia> MAPPER = (rs, rowNum) -> new Licencia(
+            rs.getLong("id"),
+            RowJson.entero(rs, "empleado_id"),
+            rs.getString("empleado_nombre"),
+            rs.getString("empleado_rut"),
+            RowJson.fecha(rs, "desde"),
+            RowJson.fecha(rs, "hasta"),
+            rs.getBigDecimal("dias"),
+            rs.getString("tipo"),
+            rs.getTimestamp("fecha_solicitud")
+    );
+
+    public static final class Serializer extends StdSerializer<Licencia> {
+        private static final SerializableString ID = RowJson.campo("id");
+        private static final SerializableString EMPLEADO_ID = RowJson.campo("empleado_id");
+        private static final SerializableString EMPLEADO_NOMBRE = RowJson.campo("empleado_nombre");
+        private static final SerializableString EMPLEADO_RUT = RowJson.campo("empleado_rut");
+        private static final SerializableString DESDE = RowJson.campo("desde");
+        private static final SerializableString HASTA = RowJson.campo("hasta");
+        private static final SerializableString DIAS = RowJson.campo("dias");
+        private static final SerializableString TIPO = RowJson.campo("tipo");
+        private static final SerializableString FECHA_SOLICITUD = RowJson.campo("fecha_solicitud");
+
+        public Serializer() {
+            super(Licencia.class);
+        }
+
+        @Override
+        public void serialize(Licencia l, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            RowJson.largo(gen, ID, l.id());
+            RowJson.entero(gen, EMPLEADO_ID, l.empleadoId());
+            RowJson.texto(gen, EMPLEADO_NOMBRE, l.empleadoNombre());
+            RowJson.texto(gen, EMPLEADO_RUT, l.empleadoRut());
+            RowJson.fecha(gen, provider, DESDE, l.desde());
+            RowJson.fecha(gen, provider, HASTA, l.hasta());
+            RowJson.decimal(gen, DIAS, l.dias());
+            RowJson.texto(gen, TIPO, l.tipo());
+            RowJson.timestamp(gen, provider, FECHA_SOLICITUD, l.fechaSolicitud());
+            gen.writeEndObject();
+        }
+    }
+}
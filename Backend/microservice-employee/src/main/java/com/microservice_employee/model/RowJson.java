@@ -0,0 +1,96 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Utilidades compartidas por los RowMapper y serializadores de las filas tipadas.
+ * Los valores se escriben con el mismo formato que producía queryForList + Jackson
+ * (fechas ISO, timestamps con el DateFormat del ObjectMapper, nulls explícitos).
+ */
+final class RowJson {
+
+    private RowJson() {
+    }
+
+    static SerializableString campo(String nombre) {
+        return new SerializedString(nombre);
+    }
+
+    static Integer entero(ResultSet rs, String columna) throws SQLException {
+        int valor = rs.getInt(columna);
+        return rs.wasNull() ? null : valor;
+    }
+
+    static Boolean booleano(ResultSet rs, String columna) throws SQLException {
+        boolean valor = rs.getBoolean(columna);
+        return rs.wasNull() ? null : valor;
+    }
+
+    static LocalDate fecha(ResultSet rs, String columna) throws SQLException {
+        return rs.getObject(columna, LocalDate.class);
+    }
+
+    static void texto(JsonGenerator gen, SerializableString campo, String valor) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) gen.writeNull(); else gen.writeString(valor);
+    }
+
+    static void entero(JsonGenerator gen, SerializableString campo, Integer valor) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) gen.writeNull(); else gen.writeNumber(valor);
+    }
+
+    static void largo(JsonGenerator gen, SerializableString campo, long valor) throws IOException {
+        gen.writeFieldName(campo);
+        gen.writeNumber(valor);
+    }
+
+    static void decimal(JsonGenerator gen, SerializableString campo, BigDecimal valor) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) gen.writeNull(); else gen.writeNumber(valor);
+    }
+
+    static void booleano(JsonGenerator gen, SerializableString campo, Boolean valor) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) gen.writeNull(); else gen.writeBoolean(valor);
+    }
+
+    /** Igual que java.sql.Date en Jackson: ISO por defecto, epoch millis si WRITE_DATES_AS_TIMESTAMPS está activo. */
+    static void fecha(JsonGenerator gen, SerializerProvider provider, SerializableString campo, LocalDate valor)
+            throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) gen.writeNull();
+        else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS))
+            provider.defaultSerializeDateValue(Date.valueOf(valor), gen);
+        else gen.writeString(valor.toString());
+    }
+
+    static void timestamp(JsonGenerator gen, SerializerProvider provider, SerializableString campo, Timestamp valor)
+            throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) gen.writeNull(); else provider.defaultSerializeDateValue(valor, gen);
+    }
+
+    /**
+     * {@code discapacidad} es boolean en V1__init.sql y texto en las bases migradas
+     * con fix-discapacidad-column.sql; se conserva el tipo que venga.
+     */
+    static void discapacidad(JsonGenerator gen, SerializableString campo, Object valor) throws IOException {
+        gen.writeFieldName(campo);
+        if (valor == null) gen.writeNull();
+        else if (valor instanceof Boolean b) gen.writeBoolean(b);
+        else gen.writeString(valor.toString());
+    }
+}
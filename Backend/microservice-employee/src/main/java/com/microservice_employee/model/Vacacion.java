@@ -0,0 +1,79 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Fila de /api/db/vacaciones (y del rango por fechas).
+ */
+public record Vacacion(
+        long id,
+        Integer empleadoId,
+        String empleadoNombre,
+        String empleadoRut,
+        LocalDate desde,
+        LocalDate hasta,
+        LocalDate retorno,
+        BigDecimal dias,
+        Integer mediosDias,
+        Timestamp fechaAprobacion,
+        String tipo
+) {
+
+    public static final RowMapper<Vacacion> MAPPER = (rs, rowNum) -> new Vacacion(
+            rs.getLong("id"),
+            RowJson.entero(rs, "empleado_id"),
+            rs.getString("empleado_nombre"),
+            rs.getString("empleado_rut"),
+            RowJson.fecha(rs, "desde"),
+            RowJson.fecha(rs, "hasta"),
+            RowJson.fecha(rs, "retorno"),
+            rs.getBigDecimal("dias"),
+            RowJson.entero(rs, "medios_dias"),
+            rs.getTimestamp("fecha_aprobacion"),
+            rs.getString("tipo")
+    );
+
+    public static final class Serializer extends StdSerializer<Vacacion> {
+        private static final SerializableString ID = RowJson.campo("id");
+        private static final SerializableString EMPLEADO_ID = RowJson.campo("empleado_id");
+        private static final SerializableString EMPLEADO_NOMBRE = RowJson.campo("empleado_nombre");
+        private static final SerializableString EMPLEADO_RUT = RowJson.campo("empleado_rut");
+        private static final SerializableString DESDE = RowJson.campo("desde");
+        private static final SerializableString HASTA = RowJson.campo("hasta");
+        private static final SerializableString RETORNO = RowJson.campo("retorno");
+        private static final SerializableString DIAS = RowJson.campo("dias");
+        private static final SerializableString MEDIOS_DIAS = RowJson.campo("medios_dias");
+        private static final SerializableString FECHA_APROBACION = RowJson.campo("fecha_aprobacion");
+        private static final SerializableString TIPO = RowJson.campo("tipo");
+
+        public Serializer() {
+            super(Vacacion.class);
+        }
+
+        @Override
+        public void serialize(Vacacion v, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            RowJson.largo(gen, ID, v.id());
+            RowJson.entero(gen, EMPLEADO_ID, v.empleadoId());
+            RowJson.texto(gen, EMPLEADO_NOMBRE, v.empleadoNombre());
+            RowJson.texto(gen, EMPLEADO_RUT, v.empleadoRut());
+            RowJson.fecha(gen, provider, DESDE, v.desde());
+            RowJson.fecha(gen, provider, HASTA, v.hasta());
+            RowJson.fecha(gen, provider, RETORNO, v.retorno());
+            RowJson.decimal(gen, DIAS, v.dias());
+            RowJson.entero(gen, MEDIOS_DIAS, v.mediosDias());
+            RowJson.timestamp(gen, provider, FECHA_APROBACION, v.fechaAprobacion());
+            RowJson.texto(gen, TIPO, v.tipo());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.microservice_employee.service;
+
+import com.microservice_common.pagination.Cursor;
+import com.microservice_common.pagination.CursorPage;
+import com.microservice_employee.model.ContratoVigente;
+import com.microservice_employee.model.Licencia;
+import com.microservice_employee.model.Vacacion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Consultas por rango de fechas sobre vacaciones y licencias con semántica de solape:
+ * entra toda ausencia que toque [desde, hasta], aunque haya empezado antes de la ventana.
+ *
+ * <p>El fin de cada ausencia se escribe igual que en idx_vacaciones_fin / idx_licencias_fin
+ * ({@code COALESCE(hasta, retorno)}, licencias sin {@code hasta} abiertas hasta 9999-12-31):
+ * con otra expresión equivalente PostgreSQL no usa el índice.
+ * El orden es {@code desde DESC, id DESC}, que también es la llave del cursor.</p>
+ */
+@Service
+public class AbsenceRangeService {
+
+    private static final String VACACIONES_SQL = """
+        SELECT
+            v.id,
+            v.empleado_id,
+            e.nombre || ' ' || e.ap_paterno as empleado_nombre,
+            e.rut as empleado_rut,
+            v.desde,
+            v.hasta,
+            v.retorno,
+            v.dias,
+            v.medios_dias,
+            v.fecha_aprobacion,
+            v.tipo
+        FROM vacaciones v
+        INNER JOIN empleado e ON v.empleado_id = e.id
+        WHERE v.desde <= ?
+          AND COALESCE(v.hasta, v.retorno) >= ?
+        """;
+
+    private static final String LICENCIAS_SQL = """
+        SELECT
+            l.id,
+            l.empleado_id,
+            e.nombre || ' ' || e.ap_paterno as empleado_nombre,
+            e.rut as empleado_rut,
+            l.desde,
+            l.hasta,
+            l.dias,
+            l.tipo,
+            l.fecha_solicitud
+        FROM licencias l
+        INNER JOIN empleado e ON l.empleado_id = e.id
+        WHERE l.desde <= ?
+          AND COALESCE(l.hasta, DATE '9999-12-31') >= ?
+        """;
+
+    private static final Tabla<Vacacion> VACACIONES = new Tabla<>(VACACIONES_SQL, "v", Vacacion.MAPPER);
+    private static final Tabla<Licencia> LICENCIAS = new Tabla<>(LICENCIAS_SQL, "l", Licencia.MAPPER);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActiveWorkforceSnapshot dotacion;
+
+    /**
+     * Filtros opcionales del rango. {@code sucursalId} se resuelve contra el contrato vigente
+     * de cada empleado (snapshot de dotación activa).
+     */
+    public record Filtro(LocalDate desde, LocalDate hasta, Integer sucursalId, Integer empleadoId, String tipo) {
+    }
+
+    public List<Vacacion> vacaciones(Filtro filtro) {
+        return listar(VACACIONES, filtro);
+    }
+
+    public CursorPage<Vacacion> vacaciones(Filtro filtro, String cursor, int size) {
+        return pagina(VACACIONES, filtro, cursor, size, v -> Cursor.encode(v.desde(), v.id()));
+    }
+
+    public List<Licencia> licencias(Filtro filtro) {
+        return listar(LICENCIAS, filtro);
+    }
+
+    public CursorPage<Licencia> licencias(Filtro filtro, String cursor, int size) {
+        return pagina(LICENCIAS, filtro, cursor, size, l -> Cursor.encode(l.desde(), l.id()));
+    }
+
+    private <T> List<T> listar(Tabla<T> tabla, Filtro filtro) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = consulta(tabla, filtro, args);
+        if (sql == null) {
+            return List.of();
+        }
+        sql.append("ORDER BY ").append(tabla.alias).append(".desde DESC, ").append(tabla.alias).append(".id DESC\n");
+        return jdbcTemplate.query(sql.toString(), tabla.mapper, args.toArray());
+    }
+
+    private <T> CursorPage<T> pagina(Tabla<T> tabla, Filtro filtro, String cursor, int size,
+                                     Function<T, String> cursorDe) {
+        int limite = CursorPage.size(size);
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = consulta(tabla, filtro, args);
+        if (sql == null) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<String> despues = Cursor.decode(cursor, 2);
+        if (despues != null) {
+            sql.append("  AND (").append(tabla.alias).append(".desde, ").append(tabla.alias).append(".id) < (?, ?)\n");
+            args.add(Cursor.parse(despues.get(0), f -> Date.valueOf(LocalDate.parse(f))));
+            args.add(Cursor.parse(despues.get(1), Long::valueOf));
+        }
+        sql.append("ORDER BY ").append(tabla.alias).append(".desde DESC, ").append(tabla.alias).append(".id DESC\n");
+        sql.append("LIMIT ?");
+        args.add(limite + 1);
+        List<T> filas = jdbcTemplate.query(sql.toString(), tabla.mapper, args.toArray());
+        return CursorPage.of(filas, limite, cursorDe);
+    }
+
+    /**
+     * Arma el SELECT con solape y filtros. Devuelve null si el filtro por sucursal no
+     * calza con ningún empleado vigente (no hace falta ir a la base).
+     */
+    private StringBuilder consulta(Tabla<?> tabla, Filtro filtro, List<Object> args) {
+        if (filtro.desde() == null || filtro.hasta() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "desde y hasta son obligatorios");
+        }
+        if (filtro.desde().isAfter(filtro.hasta())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "desde no puede ser posterior a hasta");
+        }
+        StringBuilder sql = new StringBuilder(tabla.sql);
+        args.add(Date.valueOf(filtro.hasta()));
+        args.add(Date.valueOf(filtro.desde()));
+        if (filtro.empleadoId() != null) {
+            sql.append("  AND ").append(tabla.alias).append(".empleado_id = ?\n");
+            args.add(filtro.empleadoId());
+        }
+        if (filtro.sucursalId() != null) {
+            Integer[] empleados = dotacion.get().todos().stream()
+                    .filter(c -> filtro.sucursalId().equals(c.sucursalId()))
+                    .map(ContratoVigente::empleadoId)
+                    .toArray(Integer[]::new);
+            if (empleados.length == 0) {
+                return null;
+            }
+            sql.append("  AND ").append(tabla.alias).append(".empleado_id = ANY(?)\n");
+            // Arreglo SQL explícito: no depende de que el driver acepte un int[] suelto
+            args.add(new SqlArrayValue("integer", (Object[]) empleados));
+        }
+        if (filtro.tipo() != null && !filtro.tipo().isBlank()) {
+            sql.append("  AND ").append(tabla.alias).append(".tipo = ?\n");
+            args.add(filtro.tipo());
+        }
+        return sql;
+    }
+
+    /** SELECT base de cada tabla y su alias. */
+    private record Tabla<T>(String sql, String alias, RowMapper<T> mapper) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.microservice_employee.service;
+
+import com.microservice_employee.model.ContratoActivo;
+import com.microservice_employee.model.ContratoVigente;
+import com.microservice_employee.model.EmpleadoActivo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot en memoria de la dotación activa: el último contrato vigente de cada empleado
+ * (el mismo DISTINCT ON que repetían detalle, empleados/activos, contratos/activos y las
+ * métricas diarias). Se reconstruye completo cuando cambia la versión del dataset y se
+ * publica con un solo cambio de referencia; los lectores nunca ven un estado a medias.
+ */
+@Service
+public class ActiveWorkforceSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveWorkforceSnapshot.class);
+
+    private static final String SQL = """
+        SELECT DISTINCT ON (c.empleado_id)
+            c.empleado_id,
+            e.rut,
+            e.nombre,
+            e.ap_paterno,
+            e.sexo,
+            e.fecha_nac,
+            e.discapacidad,
+            COALESCE(c.cargo, '')              AS cargo,
+            cc.codigo                          AS centro_costo_codigo,
+            cc.nombre                          AS centro_costo_nombre,
+            c.sucursal_id,
+            COALESCE(s.nombre, 'Sin sucursal') AS sucursal_nombre,
+            c.fecha_contratacion
+        FROM contrato c
+        INNER JOIN empleado e ON c.empleado_id = e.id
+        LEFT JOIN centro_costo cc ON c.centro_costo_id = cc.id
+        LEFT JOIN sucursal s ON c.sucursal_id = s.id
+        WHERE c.vigente = true
+        ORDER BY c.empleado_id, c.fecha_contratacion DESC NULLS LAST
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatasetVersionService datasetVersion;
+
+    private volatile Plantilla actual;
+
+    /** Snapshot vigente; la primera llamada lo carga si aún no existe. */
+    public Plantilla get() {
+        Plantilla p = actual;
+        if (p == null) {
+            synchronized (this) {
+                p = actual;
+                if (p == null) {
+                    p = construir(datasetVersion.version());
+                    actual = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Reconstruye para la versión nueva. Si falla, la excepción vuelve a DatasetVersionService,
+     * que no adopta la versión y reintenta en el próximo sondeo; mientras tanto se sigue
+     * sirviendo el snapshot anterior con su versión (y su ETag).
+     */
+    @EventListener
+    public void alCambiarDataset(DatasetChangedEvent evento) {
+        if (actual != null && actual.version() == evento.version()) {
+            return;
+        }
+        Plantilla nueva = construir(evento.version());
+        synchronized (this) {
+            actual = nueva;
+        }
+    }
+
+    private Plantilla construir(long version) {
+        long t0 = System.nanoTime();
+        Map<String, String> textos = new HashMap<>();
+        List<ContratoVigente> filas = jdbcTemplate.query(SQL, (rs, rowNum) -> {
+            return new ContratoVigente(
+                    rs.getInt("empleado_id"),
+                    rs.getString("rut"),
+                    rs.getString("nombre"),
+                    rs.getString("ap_paterno"),
+                    compartido(textos, rs.getString("sexo")),
+                    rs.getObject("fecha_nac", LocalDate.class),
+                    compartido(textos, rs.getObject("discapacidad")),
+                    compartido(textos, rs.getString("cargo")),
+                    compartido(textos, rs.getString("centro_costo_codigo")),
+                    compartido(textos, rs.getString("centro_costo_nombre")),
+                    rs.getObject("sucursal_id", Integer.class),
+                    compartido(textos, rs.getString("sucursal_nombre")),
+                    rs.getObject("fecha_contratacion", LocalDate.class));
+        });
+        Plantilla p = new Plantilla(version, Instant.now(), filas);
+        log.info("Dotación activa cargada: {} empleados en {} ms (versión {})",
+                filas.size(), (System.nanoTime() - t0) / 1_000_000, version);
+        return p;
+    }
+
+    /** Cargos, sucursales y centros de costo se repiten mucho: una sola instancia por valor. */
+    @SuppressWarnings("unchecked")
+    private static <T> T compartido(Map<String, String> textos, T valor) {
+        if (valor instanceof String s) {
+            return (T) textos.computeIfAbsent(s, k -> k);
+        }
+        return valor;
+    }
+
+    /**
+     * Snapshot inmutable indexado por empleado_id: arreglo de ids ordenado (búsqueda
+     * binaria, sin boxing) y arreglo paralelo de filas. Las proyecciones de los endpoints
+     * se arman una sola vez por snapshot.
+     */
+    public static final class Plantilla {
+        private final long version;
+        private final Instant construido;
+        private final int[] ids;
+        private final ContratoVigente[] filas;
+        private final List<ContratoVigente> todos;
+        private final List<EmpleadoActivo> empleadosActivos;
+        private final List<ContratoActivo> contratosActivos;
+
+        Plantilla(long version, Instant construido, List<ContratoVigente> ordenadas) {
+            this.version = version;
+            this.construido = construido;
+            this.filas = ordenadas.toArray(new ContratoVigente[0]);
+            this.ids = new int[filas.length];
+            List<EmpleadoActivo> empleados = new ArrayList<>(filas.length);
+            List<ContratoActivo> contratos = new ArrayList<>(filas.length);
+            for (int i = 0; i < filas.length; i++) {
+                ids[i] = filas[i].empleadoId();
+                empleados.add(filas[i].empleadoActivo());
+                contratos.add(filas[i].contratoActivo());
+            }
+            this.todos = Collections.unmodifiableList(Arrays.asList(filas));
+            this.empleadosActivos = Collections.unmodifiableList(empleados);
+            this.contratosActivos = Collections.unmodifiableList(contratos);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public Instant construido() {
+            return construido;
+        }
+
+        public int size() {
+            return filas.length;
+        }
+
+        /** Contrato vigente del empleado, o null si no tiene. */
+        public ContratoVigente buscar(int empleadoId) {
+            int i = Arrays.binarySearch(ids, empleadoId);
+            return i >= 0 ? filas[i] : null;
+        }
+
+        /** Todas las filas, ordenadas por empleado_id. */
+        public List<ContratoVigente> todos() {
+            return todos;
+        }
+
+        public List<EmpleadoActivo> empleadosActivos() {
+            return empleadosActivos;
+        }
+
+        public List<ContratoActivo> contratosActivos() {
+            return contratosActivos;
+        }
+    }
+}
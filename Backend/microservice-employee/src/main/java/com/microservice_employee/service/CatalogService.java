@@ -0,0 +1,92 @@
+package com.microservice_employee.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogos (centros de costo, sucursales) en memoria. Son tablas chicas que solo cambian
+ * con una carga del ETL, así que se leen una vez por versión del dataset. Cada catálogo se
+ * carga por separado: si uno falla, los demás se siguen sirviendo. La falla igual se
+ * propaga a DatasetVersionService, que no adopta la versión nueva y reintenta en el
+ * próximo sondeo; mientras, el catálogo roto conserva sus filas anteriores.
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Catalogo centrosCosto = new Catalogo("SELECT id, nombre, codigo FROM centro_costo ORDER BY nombre");
+    private final Catalogo sucursales = new Catalogo("SELECT id, nombre FROM sucursal ORDER BY nombre");
+
+    public List<Map<String, Object>> centrosCosto() {
+        return centrosCosto.get();
+    }
+
+    public List<Map<String, Object>> sucursales() {
+        return sucursales.get();
+    }
+
+    /** El esquema no tiene tabla de tipos de contrato (ni columna en contrato): no hay nada que listar. */
+    public List<Map<String, Object>> tiposContrato() {
+        return List.of();
+    }
+
+    @EventListener
+    public void alCambiarDataset(DatasetChangedEvent evento) {
+        RuntimeException falla = null;
+        for (Catalogo catalogo : List.of(centrosCosto, sucursales)) {
+            try {
+                catalogo.recargar();
+            } catch (RuntimeException ex) {
+                log.warn("No se pudo recargar el catálogo [{}]: {}", catalogo.sql, ex.getMessage());
+                if (falla == null) {
+                    falla = ex;
+                } else {
+                    falla.addSuppressed(ex);
+                }
+            }
+        }
+        if (falla != null) {
+            throw falla;
+        }
+    }
+
+    /** Un catálogo: se lee la primera vez que se pide y se recarga con cada versión del dataset. */
+    private final class Catalogo {
+
+        private final String sql;
+        private volatile List<Map<String, Object>> filas;
+
+        Catalogo(String sql) {
+            this.sql = sql;
+        }
+
+        List<Map<String, Object>> get() {
+            List<Map<String, Object>> f = filas;
+            if (f == null) {
+                synchronized (this) {
+                    f = filas;
+                    if (f == null) {
+                        f = List.copyOf(jdbcTemplate.queryForList(sql));
+                        filas = f;
+                    }
+                }
+            }
+            return f;
+        }
+
+        void recargar() {
+            filas = List.copyOf(jdbcTemplate.queryForList(sql));
+        }
+    }
+}
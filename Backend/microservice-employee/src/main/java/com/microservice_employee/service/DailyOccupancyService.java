@@ -0,0 +1,198 @@
+package com.microservice_employee.service;
+
+import com.microservice_employee.model.ContratoVigente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serie diaria de ocupación (vacaciones / licencias activas por día).
+ * Trae una sola vez los intervalos que se cruzan con la ventana y arma
+ * los totales y las personas de cada día en memoria con un barrido de
+ * eventos de inicio/fin, en vez de una consulta por fecha. La sucursal
+ * sale del snapshot de dotación activa en lugar de un LATERAL por fila.
+ */
+@Service
+public class DailyOccupancyService {
+
+    private static final String VACACIONES_SQL = """
+        SELECT
+            e.nombre || ' ' || e.ap_paterno as nombre,
+            e.rut as rut,
+            v.empleado_id,
+            v.desde,
+            v.hasta,
+            v.retorno,
+            v.dias,
+            v.tipo
+        FROM vacaciones v
+        INNER JOIN empleado e ON v.empleado_id = e.id
+        WHERE v.desde <= ? AND COALESCE(v.hasta, v.retorno) >= ?
+        ORDER BY v.desde, v.id
+    """;
+
+    // El fin con la expresión de idx_licencias_fin; sin hasta, la licencia sigue abierta
+    private static final String LICENCIAS_SQL = """
+        SELECT
+            e.nombre || ' ' || e.ap_paterno as nombre,
+            e.rut as rut,
+            l.empleado_id,
+            l.desde,
+            l.hasta
+        FROM licencias l
+        INNER JOIN empleado e ON l.empleado_id = e.id
+        WHERE l.desde <= ? AND COALESCE(l.hasta, DATE '9999-12-31') >= ?
+        ORDER BY l.desde, l.id
+    """;
+
+    private static final String[] VACACIONES_COLUMNAS = {"desde", "hasta", "retorno", "dias", "tipo"};
+    private static final String[] LICENCIAS_COLUMNAS = {"desde", "hasta"};
+
+    /** Fin de una licencia sin {@code hasta}, igual que en idx_licencias_fin y AbsenceRangeService. */
+    private static final LocalDate FIN_ABIERTO = LocalDate.of(9999, 12, 31);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActiveWorkforceSnapshot dotacion;
+
+    /**
+     * Vacaciones activas por día en [desde, hasta]. El fin de cada vacación es
+     * {@code hasta} o, si falta, {@code retorno}.
+     */
+    public List<Map<String, Object>> vacaciones(LocalDate desde, LocalDate hasta, boolean incluirPersonas) {
+        List<Intervalo> intervalos = jdbcTemplate.query(VACACIONES_SQL,
+            intervaloMapper(VACACIONES_COLUMNAS, "retorno"),
+            Date.valueOf(hasta), Date.valueOf(desde));
+        return barrer(intervalos, desde, hasta, incluirPersonas);
+    }
+
+    /**
+     * Licencias activas por día en [desde, hasta]. Una licencia sin {@code hasta} sigue
+     * activa hasta el final de la ventana.
+     */
+    public List<Map<String, Object>> licencias(LocalDate desde, LocalDate hasta, boolean incluirPersonas) {
+        List<Intervalo> intervalos = jdbcTemplate.query(LICENCIAS_SQL,
+            intervaloMapper(LICENCIAS_COLUMNAS, null), Date.valueOf(hasta), Date.valueOf(desde));
+        return barrer(intervalos, desde, hasta, incluirPersonas);
+    }
+
+    /**
+     * Barrido sobre eventos de inicio/fin. Los intervalos deben venir ordenados
+     * por inicio para que cada lista de personas conserve ese orden.
+     * Con {@code incluirPersonas = false} solo se acumulan totales (O(n + días)).
+     */
+    public static List<Map<String, Object>> barrer(List<Intervalo> intervalos, LocalDate desde, LocalDate hasta,
+                                                   boolean incluirPersonas) {
+        int dias = (int) Math.max(ChronoUnit.DAYS.between(desde, hasta), 0) + 1;
+        List<Map<String, Object>> serie = new ArrayList<>(dias);
+
+        if (!incluirPersonas) {
+            int[] delta = new int[dias + 1];
+            for (Intervalo it : intervalos) {
+                int ini = Math.max(indice(desde, it.inicio(), dias), 0);
+                int fin = Math.min(indice(desde, it.fin(), dias), dias - 1);
+                if (ini > fin) continue;
+                delta[ini]++;
+                delta[fin + 1]--;
+            }
+            int total = 0;
+            for (int d = 0; d < dias; d++) {
+                total += delta[d];
+                serie.add(punto(desde.plusDays(d), total, null));
+            }
+            return serie;
+        }
+
+        // entradas[d] / salidas[d]: índices de intervalos que empiezan / terminan (fin + 1) en el día d
+        List<List<Integer>> entradas = new ArrayList<>(dias + 1);
+        List<List<Integer>> salidas = new ArrayList<>(dias + 1);
+        for (int d = 0; d <= dias; d++) {
+            entradas.add(null);
+            salidas.add(null);
+        }
+        for (int i = 0; i < intervalos.size(); i++) {
+            Intervalo it = intervalos.get(i);
+            int ini = Math.max(indice(desde, it.inicio(), dias), 0);
+            int fin = Math.min(indice(desde, it.fin(), dias), dias - 1);
+            if (ini > fin) continue;
+            agregar(entradas, ini, i);
+            agregar(salidas, fin + 1, i);
+        }
+
+        LinkedHashMap<Integer, Map<String, Object>> activos = new LinkedHashMap<>();
+        for (int d = 0; d < dias; d++) {
+            List<Integer> salen = salidas.get(d);
+            if (salen != null) salen.forEach(activos::remove);
+            List<Integer> entran = entradas.get(d);
+            if (entran != null) entran.forEach(i -> activos.put(i, intervalos.get(i).persona()));
+            List<Map<String, Object>> personas = new ArrayList<>(activos.values());
+            serie.add(punto(desde.plusDays(d), personas.size(), personas));
+        }
+        return serie;
+    }
+
+    /** Posición del día dentro de la ventana, recortada a [-1, dias]. */
+    private static int indice(LocalDate desde, LocalDate fecha, int dias) {
+        long d = ChronoUnit.DAYS.between(desde, fecha);
+        return (int) Math.min(Math.max(d, -1), dias);
+    }
+
+    private static void agregar(List<List<Integer>> buckets, int dia, int intervalo) {
+        List<Integer> bucket = buckets.get(dia);
+        if (bucket == null) {
+            bucket = new ArrayList<>(4);
+            buckets.set(dia, bucket);
+        }
+        bucket.add(intervalo);
+    }
+
+    private static Map<String, Object> punto(LocalDate fecha, int total, List<Map<String, Object>> personas) {
+        Map<String, Object> punto = new LinkedHashMap<>(4);
+        punto.put("fecha", fecha.toString());
+        punto.put("total", total);
+        if (personas != null) {
+            punto.put("personas", personas);
+        }
+        return punto;
+    }
+
+    /**
+     * Arma la persona en el mismo orden de llaves que exponía la consulta con LATERAL:
+     * nombre, rut, sucursal y luego las columnas propias del intervalo.
+     */
+    private RowMapper<Intervalo> intervaloMapper(String[] columnas, String finAlternativoCol) {
+        ActiveWorkforceSnapshot.Plantilla plantilla = dotacion.get();
+        return (rs, rowNum) -> {
+            ContratoVigente vigente = plantilla.buscar(rs.getInt("empleado_id"));
+            Map<String, Object> persona = new LinkedHashMap<>(columnas.length + 4);
+            persona.put("nombre", rs.getString("nombre"));
+            persona.put("rut", rs.getString("rut"));
+            persona.put("sucursal", vigente != null && vigente.sucursalNombre() != null
+                    ? vigente.sucursalNombre() : "Sin sucursal");
+            for (String columna : columnas) {
+                persona.put(columna, rs.getObject(columna));
+            }
+            Date fin = rs.getDate("hasta");
+            if (fin == null && finAlternativoCol != null) {
+                fin = rs.getDate(finAlternativoCol);
+            }
+            return new Intervalo(rs.getDate("desde").toLocalDate(),
+                    fin != null ? fin.toLocalDate() : FIN_ABIERTO, persona);
+        };
+    }
+
+    /** Intervalo cerrado [inicio, fin] con la fila de persona que se expone en la serie. */
+    public record Intervalo(LocalDate inicio, LocalDate fin, Map<String, Object> persona) {
+    }
+}
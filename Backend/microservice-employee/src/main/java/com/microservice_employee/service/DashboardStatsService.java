@@ -0,0 +1,143 @@
+package com.microservice_employee.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contadores de /api/db/stats. Se calculan con una sola sentencia y se guardan en memoria;
+ * el recálculo corre en segundo plano (programado y al cambiar el dataset), de modo que
+ * las peticiones solo leen el último resultado. Si el recálculo falla se sigue sirviendo
+ * el último valor bueno marcado como degradado, nunca ceros inventados.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    private static final String STATS_SQL = """
+        SELECT
+            e.total   AS total_empleados,
+            c.total   AS total_contratos,
+            c.activos AS contratos_activos,
+            v.total   AS total_vacaciones,
+            v.hoy     AS vacaciones_hoy,
+            l.total   AS total_licencias,
+            l.hoy     AS licencias_hoy
+        FROM (SELECT COUNT(*) AS total FROM empleado) e
+        CROSS JOIN (SELECT COUNT(*) AS total,
+                           COUNT(*) FILTER (WHERE vigente = true) AS activos
+                    FROM contrato) c
+        CROSS JOIN (SELECT COUNT(*) AS total,
+                           COUNT(*) FILTER (WHERE desde::date = ?) AS hoy
+                    FROM vacaciones) v
+        CROSS JOIN (SELECT COUNT(*) AS total,
+                           COUNT(*) FILTER (WHERE desde::date = ?) AS hoy
+                    FROM licencias) l
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Antigüedad a partir de la cual el resultado se informa como {@code stale}. */
+    @Value("${dashboard.stats.ttl-ms:120000}")
+    private long ttlMs;
+
+    private final ReentrantLock recalculando = new ReentrantLock();
+
+    private volatile Conteo ultimo;
+    private volatile boolean fallo;
+
+    /**
+     * Contadores más recientes con {@code asOf}, {@code stale} y {@code degraded}.
+     * Solo la primera petición tras el arranque espera la consulta.
+     */
+    public Map<String, Object> stats() {
+        if (ultimo == null && !fallo) {
+            // Arranque en frío: quien llegue mientras otro calcula espera ese mismo cálculo
+            recalculando.lock();
+            try {
+                if (ultimo == null) {
+                    refrescar();
+                }
+            } finally {
+                recalculando.unlock();
+            }
+        }
+        Conteo c = ultimo;
+        Instant ahora = Instant.now();
+        boolean stale = c == null
+                || Duration.between(c.asOf(), ahora).toMillis() > ttlMs
+                || !c.fecha().equals(LocalDate.now());
+
+        Map<String, Object> respuesta = new LinkedHashMap<>(12);
+        respuesta.put("totalEmpleados", c == null ? null : c.totalEmpleados());
+        respuesta.put("totalContratos", c == null ? null : c.totalContratos());
+        respuesta.put("contratosActivos", c == null ? null : c.contratosActivos());
+        respuesta.put("totalVacaciones", c == null ? null : c.totalVacaciones());
+        respuesta.put("totalLicencias", c == null ? null : c.totalLicencias());
+        respuesta.put("vacacionesHoy", c == null ? null : c.vacacionesHoy());
+        respuesta.put("licenciasHoy", c == null ? null : c.licenciasHoy());
+        respuesta.put("asOf", c == null ? null : c.asOf().toString());
+        respuesta.put("stale", stale);
+        respuesta.put("degraded", fallo);
+        return respuesta;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stats.refresh-ms:60000}",
+               initialDelayString = "${dashboard.stats.refresh-ms:60000}")
+    public void programado() {
+        refrescar();
+    }
+
+    @EventListener
+    public void alCambiarDataset(DatasetChangedEvent evento) {
+        refrescar();
+    }
+
+    /** Recalcula si nadie más lo está haciendo; los llamados concurrentes no se apilan. */
+    void refrescar() {
+        if (!recalculando.tryLock()) {
+            return;
+        }
+        try {
+            LocalDate hoy = LocalDate.now();
+            Date dia = Date.valueOf(hoy);
+            ultimo = jdbcTemplate.queryForObject(STATS_SQL, (rs, rowNum) -> new Conteo(
+                    rs.getLong("total_empleados"),
+                    rs.getLong("total_contratos"),
+                    rs.getLong("contratos_activos"),
+                    rs.getLong("total_vacaciones"),
+                    rs.getLong("total_licencias"),
+                    rs.getLong("vacaciones_hoy"),
+                    rs.getLong("licencias_hoy"),
+                    hoy,
+                    Instant.now()), dia, dia);
+            fallo = false;
+        } catch (Exception ex) {
+            fallo = true;
+            log.warn("No se pudieron recalcular las estadísticas: {}", ex.getMessage());
+        } finally {
+            recalculando.unlock();
+        }
+    }
+
+    private record Conteo(long totalEmpleados, long totalContratos, long contratosActivos,
+                          long totalVacaciones, long totalLicencias,
+                          long vacacionesHoy, long licenciasHoy,
+                          LocalDate fecha, Instant asOf) {
+    }
+}
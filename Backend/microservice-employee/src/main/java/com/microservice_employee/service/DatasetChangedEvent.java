@@ -0,0 +1,8 @@
+package com.microservice_employee.service;
+
+/**
+ * Se publica cuando cambia la marca de agua de las tablas del snapshot RRHH
+ * (típicamente después de una carga del ETL).
+ */
+public record DatasetChangedEvent(long version) {
+}
@@ -0,0 +1,147 @@
+package com.microservice_employee.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Versión del dataset RRHH. Los datos solo cambian cuando el ETL o la ingesta cargan algo,
+ * y cada transacción que escribe en las tablas del dashboard sube en uno el contador de
+ * {@code dataset_version} al confirmar (trigger de V6). La versión es ese contador: la misma
+ * para todas las instancias, solo crece y es visible recién junto con los datos.
+ *
+ * <p>Una versión nueva se adopta recién cuando todas las cachés que escuchan
+ * {@link DatasetChangedEvent} se reconstruyeron; si alguna falla se queda la anterior y el
+ * próximo sondeo lo vuelve a intentar.</p>
+ *
+ * <p>Si la tabla no existe (Flyway está apagado en los perfiles desplegados y falta correr
+ * scripts/apply-ddl.sql) se usa {@link #ACTIVIDAD_SQL} como respaldo y se avisa con ERROR.</p>
+ */
+@Service
+public class DatasetVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetVersionService.class);
+
+    private static final String WATERMARK_SQL = "SELECT version FROM dataset_version";
+
+    /**
+     * Respaldo sin dataset_version: escrituras acumuladas en las tablas del dashboard según
+     * pg_stat_user_tables. Esos contadores vuelven a cero con un reinicio, un failover o un
+     * pg_stat_reset, por eso se combinan con el inicio del servidor y el último reset: después
+     * de cualquiera de ellos la versión igual cambia. Se actualizan con un segundo o dos de
+     * atraso, lo que no importa con un sondeo cada 30 s.
+     */
+    private static final String ACTIVIDAD_SQL = """
+        SELECT
+            (SELECT COALESCE(SUM(n_tup_ins + n_tup_upd + n_tup_del), 0) FROM pg_stat_user_tables
+             WHERE relname IN ('empleado', 'contrato', 'centro_costo', 'sucursal', 'vacaciones', 'licencias')) AS escrituras,
+            CAST(EXTRACT(EPOCH FROM pg_postmaster_start_time()) AS BIGINT) AS inicio,
+            (SELECT CAST(COALESCE(EXTRACT(EPOCH FROM stats_reset), 0) AS BIGINT) FROM pg_stat_database
+             WHERE datname = current_database()) AS reinicio
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Value("${dashboard.dataset.watermark-sql:}")
+    private String watermarkSqlOverride;
+
+    private volatile long version = -1;
+    private volatile Instant cambio = Instant.now();
+    private volatile boolean respaldo;
+
+    public long version() {
+        return version;
+    }
+
+    /** Momento en que esta instancia observó la versión actual. */
+    public Instant cambio() {
+        return cambio;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        revisar();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.dataset.check-interval-ms:30000}",
+               initialDelayString = "${dashboard.dataset.check-interval-ms:30000}")
+    public void revisar() {
+        Long actual;
+        try {
+            actual = leer();
+        } catch (Exception ex) {
+            log.warn("No se pudo leer la marca de agua del dataset: {}", ex.getMessage());
+            return;
+        }
+        if (actual != null && actual != version) {
+            actualizar(actual);
+        }
+    }
+
+    /** Para cargas hechas dentro de este proceso: no esperar al próximo sondeo. */
+    public void marcarCambio() {
+        revisar();
+    }
+
+    private Long leer() {
+        if (!watermarkSqlOverride.isBlank()) {
+            return jdbcTemplate.queryForObject(watermarkSqlOverride, Long.class);
+        }
+        try {
+            Long contador = jdbcTemplate.queryForObject(WATERMARK_SQL, Long.class);
+            if (respaldo) {
+                respaldo = false;
+                log.info("La tabla dataset_version ya existe: la versión vuelve a salir del contador");
+            }
+            return contador;
+        } catch (BadSqlGrammarException ex) {
+            if (!respaldo) {
+                respaldo = true;
+                log.error("No existe la tabla dataset_version (Flyway está apagado en este perfil: aplicar "
+                        + "scripts/apply-ddl.sql). Mientras tanto la versión sale de pg_stat_user_tables, que es "
+                        + "aproximada: {}", ex.getMessage());
+            }
+            return jdbcTemplate.queryForObject(ACTIVIDAD_SQL, (rs, rowNum) ->
+                    huella(rs.getLong("escrituras"), rs.getLong("inicio"), rs.getLong("reinicio")));
+        }
+    }
+
+    /** Mezcla los tres valores en una versión no negativa (las negativas significan "sin versión"). */
+    static long huella(long escrituras, long inicio, long reinicio) {
+        long h = inicio * 0x9E3779B97F4A7C15L;
+        h = (h ^ reinicio) * 0xBF58476D1CE4E5B9L;
+        return ((h ^ (h >>> 31)) + escrituras) & Long.MAX_VALUE;
+    }
+
+    private synchronized void actualizar(long nueva) {
+        if (nueva == version) {
+            return;
+        }
+        // Primero se reconstruyen las cachés y recién después se expone la versión nueva,
+        // así un ETag nuevo nunca acompaña datos viejos
+        try {
+            events.publishEvent(new DatasetChangedEvent(nueva));
+        } catch (RuntimeException ex) {
+            log.warn("No se pudieron reconstruir las cachés para la versión {}; se sigue en la {} y se "
+                    + "reintenta en el próximo sondeo: {}", nueva, version, ex.getMessage());
+            return;
+        }
+        log.info("Dataset RRHH cambió: versión {} -> {}", version, nueva);
+        version = nueva;
+        cambio = Instant.now();
+    }
+}
@@ -0,0 +1,269 @@
+package com.microservice_employee.service;
+
+import com.microservice_employee.metrics.MeteredJdbcTemplate;
+import com.microservice_employee.model.ContratoVigente;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ficha de un empleado: detalle laboral, vacaciones y licencias.
+ *
+ * <p>El perfil compuesto lanza las dos consultas en un executor acotado y resuelve el detalle
+ * (que sale del snapshot de dotación) en el hilo del request mientras tanto, así la latencia
+ * es la de la consulta más lenta y no la suma. Si el executor está lleno, la consulta corre en
+ * el hilo del request (CallerRunsPolicy): se degrada a secuencial en vez de fallar.</p>
+ *
+ * <p>Cancelar el future no corta la consulta JDBC, así que cada consulta lleva además un
+ * query timeout con lo que queda del plazo: al vencer, el driver la cancela en la base y la
+ * conexión vuelve al pool.</p>
+ */
+@Service
+public class EmployeeProfileService {
+
+    private static final String VACACIONES_SQL = """
+        SELECT
+            v.id,
+            v.empleado_id,
+            v.desde,
+            v.hasta,
+            v.retorno,
+            v.dias,
+            v.medios_dias,
+            v.fecha_aprobacion,
+            v.tipo
+        FROM vacaciones v
+        WHERE v.empleado_id = ?
+        ORDER BY v.desde DESC
+        """;
+
+    private static final String LICENCIAS_SQL = """
+        SELECT
+            l.id,
+            l.empleado_id,
+            l.desde,
+            l.hasta,
+            l.dias,
+            l.tipo,
+            l.fecha_solicitud
+        FROM licencias l
+        WHERE l.empleado_id = ?
+        ORDER BY l.desde DESC
+        """;
+
+    /** Partes del perfil que se pueden pedir con {@code ?include=}. */
+    public enum Parte {
+        DETALLE, VACACIONES, LICENCIAS;
+
+        /** Lista separada por comas; vacía o null significa todas. */
+        public static Set<Parte> of(String include) {
+            if (include == null || include.isBlank()) {
+                return EnumSet.allOf(Parte.class);
+            }
+            Set<Parte> partes = EnumSet.noneOf(Parte.class);
+            for (String nombre : include.split(",")) {
+                if (nombre.isBlank()) continue;
+                try {
+                    partes.add(valueOf(nombre.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException ex) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parte desconocida: " + nombre.trim());
+                }
+            }
+            return partes;
+        }
+
+        String clave() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActiveWorkforceSnapshot dotacion;
+
+    // Por debajo del pool de Hikari (5): deja conexiones para el resto de los endpoints
+    @Value("${dashboard.perfil.threads:4}")
+    private int hilos;
+
+    @Value("${dashboard.perfil.queue:64}")
+    private int cola;
+
+    @Value("${dashboard.perfil.timeout-ms:10000}")
+    private long timeoutMs;
+
+    @Value("${dashboard.detalle.max-ids:500}")
+    private int maxIds;
+
+    private ThreadPoolExecutor consultas;
+
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger n = new AtomicInteger();
+        consultas = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(cola), r -> {
+            Thread t = new Thread(r, "perfil-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        consultas.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        consultas.shutdownNow();
+    }
+
+    /** Detalle laboral a partir del contrato vigente; vacío si no tiene. Si el snapshot falla, el error sube. */
+    public Map<String, Object> detalle(int empleadoId) {
+        ContratoVigente vigente = dotacion.get().buscar(empleadoId);
+        return vigente == null ? Map.of() : vigente.detalle();
+    }
+
+    /**
+     * Detalle de varios empleados en una pasada sobre el snapshot (sin consultas por fila).
+     * {@code detalles} respeta el orden pedido sin repetidos; los ids sin contrato vigente
+     * quedan con valor null y además se listan en {@code faltantes}.
+     */
+    public Map<String, Object> detalles(List<Integer> ids) {
+        Set<Integer> unicos = ids == null ? new LinkedHashSet<>() : new LinkedHashSet<>(ids);
+        unicos.remove(null);
+        if (unicos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids es obligatorio");
+        }
+        if (unicos.size() > maxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Máximo " + maxIds + " ids por consulta (llegaron " + unicos.size() + ")");
+        }
+        ActiveWorkforceSnapshot.Plantilla plantilla = dotacion.get();
+        Map<Integer, Map<String, Object>> detalles = new LinkedHashMap<>(unicos.size() * 2);
+        List<Integer> faltantes = new ArrayList<>();
+        for (Integer id : unicos) {
+            ContratoVigente vigente = plantilla.buscar(id);
+            detalles.put(id, vigente == null ? null : vigente.detalle());
+            if (vigente == null) {
+                faltantes.add(id);
+            }
+        }
+        Map<String, Object> respuesta = new LinkedHashMap<>(4);
+        respuesta.put("version", plantilla.version());
+        respuesta.put("detalles", detalles);
+        respuesta.put("faltantes", faltantes);
+        return respuesta;
+    }
+
+    public List<Map<String, Object>> vacaciones(int empleadoId) {
+        return jdbcTemplate.queryForList(VACACIONES_SQL, empleadoId);
+    }
+
+    public List<Map<String, Object>> licencias(int empleadoId) {
+        return jdbcTemplate.queryForList(LICENCIAS_SQL, empleadoId);
+    }
+
+    /**
+     * Perfil con las partes pedidas, en orden fijo: empleadoId, detalle, vacaciones, licencias.
+     */
+    public Map<String, Object> perfil(int empleadoId, Set<Parte> partes) {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        CompletableFuture<List<Map<String, Object>>> vacaciones = partes.contains(Parte.VACACIONES)
+                ? CompletableFuture.supplyAsync(() -> consultar(VACACIONES_SQL, empleadoId, limite), consultas) : null;
+        CompletableFuture<List<Map<String, Object>>> licencias = partes.contains(Parte.LICENCIAS)
+                ? CompletableFuture.supplyAsync(() -> consultar(LICENCIAS_SQL, empleadoId, limite), consultas) : null;
+
+        Map<String, Object> perfil = new LinkedHashMap<>(8);
+        perfil.put("empleadoId", empleadoId);
+        if (partes.contains(Parte.DETALLE)) {
+            perfil.put(Parte.DETALLE.clave(), detalle(empleadoId));
+        }
+        try {
+            if (vacaciones != null) {
+                perfil.put(Parte.VACACIONES.clave(), esperar(vacaciones, limite));
+            }
+            if (licencias != null) {
+                perfil.put(Parte.LICENCIAS.clave(), esperar(licencias, limite));
+            }
+        } catch (RuntimeException ex) {
+            if (vacaciones != null) vacaciones.cancel(true);
+            if (licencias != null) licencias.cancel(true);
+            throw ex;
+        }
+        return perfil;
+    }
+
+    /**
+     * Consulta del perfil con query timeout igual a lo que queda del plazo (en segundos, hacia
+     * arriba). Si el plazo ya venció mientras esperaba en la cola, ni siquiera va a la base.
+     */
+    private List<Map<String, Object>> consultar(String sql, int empleadoId, long limiteNanos) {
+        long restante = limiteNanos - System.nanoTime();
+        if (restante <= 0) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "El perfil tardó demasiado");
+        }
+        int segundos = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(restante + 999_999_999));
+        return jdbcTemplate.query(new ConPlazo(sql, new Object[]{empleadoId}, segundos), new ColumnMapRowMapper());
+    }
+
+    private static <T> T esperar(CompletableFuture<T> futuro, long limiteNanos) {
+        try {
+            return futuro.get(Math.max(limiteNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "El perfil tardó demasiado");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Consulta interrumpida");
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            throw causa instanceof RuntimeException re ? re : new CompletionException(causa);
+        }
+    }
+
+    /**
+     * Sentencia con su propio query timeout; expone SQL y parámetros para las métricas. Un
+     * {@code spring.jdbc.template.query-timeout} global, si se configura, lo reemplaza.
+     */
+    private record ConPlazo(String sql, Object[] argumentos, int segundos)
+            implements PreparedStatementCreator, SqlProvider, MeteredJdbcTemplate.Argumentos {
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setQueryTimeout(segundos);
+            new ArgumentPreparedStatementSetter(argumentos).setValues(ps);
+            return ps;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+}
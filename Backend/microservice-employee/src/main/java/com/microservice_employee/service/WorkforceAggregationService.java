@@ -0,0 +1,202 @@
+package com.microservice_employee.service;
+
+import com.microservice_employee.model.ContratoVigente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Conteos agrupados de la dotación activa (sexo, tramo de edad, discapacidad, sucursal,
+ * cargo, centro de costo) para los reportes del front, que antes descargaban la lista
+ * completa y agrupaban en el navegador.
+ *
+ * <p>Por cada snapshot de dotación (y día, porque la edad cambia con la fecha) cada empleado
+ * se codifica una vez como un entero por dimensión; cada combinación de dimensiones pedida
+ * se agrega una sola vez y queda guardada hasta el próximo snapshot.</p>
+ */
+@Service
+public class WorkforceAggregationService {
+
+    /** Límites inferiores de los tramos de edad (los mismos del gráfico de Home); el último es abierto. */
+    private static final int[] TRAMOS = {0, 18, 26, 36, 46, 61};
+    private static final String[] TRAMOS_NOMBRE = {"<18", "18-25", "26-35", "36-45", "46-60", "60+"};
+    private static final String SIN_DATO = "Sin dato";
+
+    public enum Dimension {
+        SEXO("sexo", (c, hoy) -> texto(c.sexo())),
+        EDAD("edad", (c, hoy) -> tramoEdad(c.fechaNac(), hoy)),
+        DISCAPACIDAD("discapacidad", (c, hoy) -> tieneDiscapacidad(c.discapacidad()) ? "si" : "no"),
+        SUCURSAL("sucursal", (c, hoy) -> texto(c.sucursalNombre())),
+        CARGO("cargo", (c, hoy) -> texto(c.cargo())),
+        CENTRO_COSTO("centroCosto", (c, hoy) -> texto(c.centroCostoNombre()));
+
+        private final String nombre;
+        private final BiFunction<ContratoVigente, LocalDate, String> valor;
+
+        Dimension(String nombre, BiFunction<ContratoVigente, LocalDate, String> valor) {
+            this.nombre = nombre;
+            this.valor = valor;
+        }
+
+        public String nombre() {
+            return nombre;
+        }
+
+        public static Dimension of(String nombre) {
+            for (Dimension d : values()) {
+                if (d.nombre.equalsIgnoreCase(nombre.trim())) {
+                    return d;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dimensión desconocida: " + nombre);
+        }
+    }
+
+    @Autowired
+    private ActiveWorkforceSnapshot dotacion;
+
+    private volatile Cubo cubo;
+
+    /**
+     * Agrupa por las dimensiones pedidas (en el orden pedido). Sin dimensiones devuelve
+     * solo el total. Cada grupo lleva {@code cantidad} y {@code edadPromedio} (sobre los
+     * empleados con fecha de nacimiento).
+     */
+    public Map<String, Object> agregar(List<Dimension> dimensiones) {
+        ActiveWorkforceSnapshot.Plantilla plantilla = dotacion.get();
+        LocalDate hoy = LocalDate.now();
+        Cubo c = cubo;
+        if (c == null || c.plantilla != plantilla || !c.fecha.equals(hoy)) {
+            c = new Cubo(plantilla, hoy);
+            cubo = c;
+        }
+        List<Dimension> orden = dimensiones.stream().distinct().toList();
+
+        Map<String, Object> respuesta = new LinkedHashMap<>(6);
+        respuesta.put("version", plantilla.version());
+        respuesta.put("fecha", hoy.toString());
+        respuesta.put("total", plantilla.size());
+        respuesta.put("dimensiones", orden.stream().map(Dimension::nombre).toList());
+        respuesta.put("grupos", c.grupos(orden));
+        return respuesta;
+    }
+
+    /** Dimensiones codificadas de un snapshot más las agregaciones ya calculadas. */
+    private static final class Cubo {
+        final ActiveWorkforceSnapshot.Plantilla plantilla;
+        final LocalDate fecha;
+        final int n;
+        final int[][] codigos = new int[Dimension.values().length][];
+        final String[][] valores = new String[Dimension.values().length][];
+        final int[] edades;
+        final Map<List<Dimension>, List<Map<String, Object>>> calculados = new ConcurrentHashMap<>();
+
+        Cubo(ActiveWorkforceSnapshot.Plantilla plantilla, LocalDate fecha) {
+            this.plantilla = plantilla;
+            this.fecha = fecha;
+            List<ContratoVigente> filas = plantilla.todos();
+            this.n = filas.size();
+            this.edades = new int[n];
+            for (int i = 0; i < n; i++) {
+                LocalDate nac = filas.get(i).fechaNac();
+                edades[i] = nac == null ? -1 : Period.between(nac, fecha).getYears();
+            }
+            for (Dimension d : Dimension.values()) {
+                Map<String, Integer> diccionario = new HashMap<>();
+                List<String> lista = new ArrayList<>();
+                int[] cod = new int[n];
+                for (int i = 0; i < n; i++) {
+                    String v = d.valor.apply(filas.get(i), fecha);
+                    cod[i] = diccionario.computeIfAbsent(v, k -> {
+                        lista.add(k);
+                        return lista.size() - 1;
+                    });
+                }
+                codigos[d.ordinal()] = cod;
+                valores[d.ordinal()] = lista.toArray(new String[0]);
+            }
+        }
+
+        List<Map<String, Object>> grupos(List<Dimension> dims) {
+            return calculados.computeIfAbsent(List.copyOf(dims), this::calcular);
+        }
+
+        private List<Map<String, Object>> calcular(List<Dimension> dims) {
+            // Llave de grupo en base mixta: cada dimensión aporta un dígito de su diccionario
+            Map<Long, long[]> acumulado = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                long llave = 0;
+                for (Dimension d : dims) {
+                    llave = llave * valores[d.ordinal()].length + codigos[d.ordinal()][i];
+                }
+                long[] acc = acumulado.computeIfAbsent(llave, k -> new long[3]);
+                acc[0]++;
+                if (edades[i] >= 0) {
+                    acc[1] += edades[i];
+                    acc[2]++;
+                }
+            }
+            List<Map<String, Object>> grupos = new ArrayList<>(acumulado.size());
+            acumulado.forEach((llave, acc) -> {
+                Map<String, Object> grupo = new LinkedHashMap<>(dims.size() + 2);
+                long resto = llave;
+                String[] partes = new String[dims.size()];
+                for (int j = dims.size() - 1; j >= 0; j--) {
+                    int base = valores[dims.get(j).ordinal()].length;
+                    partes[j] = valores[dims.get(j).ordinal()][(int) (resto % base)];
+                    resto /= base;
+                }
+                for (int j = 0; j < dims.size(); j++) {
+                    grupo.put(dims.get(j).nombre(), partes[j]);
+                }
+                grupo.put("cantidad", acc[0]);
+                grupo.put("edadPromedio", acc[2] == 0 ? null : Math.round(acc[1] * 100.0 / acc[2]) / 100.0);
+                grupos.add(Collections.unmodifiableMap(grupo));
+            });
+            grupos.sort(Comparator.<Map<String, Object>>comparingLong(g -> -(long) g.get("cantidad"))
+                    .thenComparing(g -> g.values().toString()));
+            return Collections.unmodifiableList(grupos);
+        }
+    }
+
+    private static String texto(String valor) {
+        return valor == null || valor.isBlank() ? SIN_DATO : valor;
+    }
+
+    private static String tramoEdad(LocalDate nacimiento, LocalDate hoy) {
+        if (nacimiento == null) {
+            return SIN_DATO;
+        }
+        int edad = Period.between(nacimiento, hoy).getYears();
+        for (int i = TRAMOS.length - 1; i >= 0; i--) {
+            if (edad >= TRAMOS[i]) {
+                return TRAMOS_NOMBRE[i];
+            }
+        }
+        return TRAMOS_NOMBRE[0];
+    }
+
+    /** Misma regla que el front: booleano tal cual, texto no vacío cuenta como sí. */
+    static boolean tieneDiscapacidad(Object valor) {
+        if (valor instanceof Boolean b) {
+            return b;
+        }
+        if (valor instanceof String s) {
+            return !s.isBlank();
+        }
+        return false;
+    }
+}
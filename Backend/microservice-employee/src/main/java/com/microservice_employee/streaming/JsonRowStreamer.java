@@ -0,0 +1,189 @@
+package com.microservice_employee.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice_employee.config.DatasetETagInterceptor;
+import com.microservice_employee.metrics.MeteredJdbcTemplate;
+import com.microservice_employee.metrics.QueryMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Escribe el resultado de una consulta directo en la respuesta, fila a fila,
+ * sin armar la lista completa en memoria. Usa un cursor de solo avance con
+ * fetch size fijo (en PostgreSQL requiere transacción, por eso el TransactionTemplate).
+ *
+ * <p>Solo las filas en memoria llevan ETag: ya están completas antes de enviar los headers.
+ * Una consulta puede fallar con el 200 ya enviado y el cuerpo cortado no debe revalidarse.</p>
+ */
+@Component
+public class JsonRowStreamer {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
+    private static final Logger log = LoggerFactory.getLogger(JsonRowStreamer.class);
+
+    /** Cada cuántas filas se empuja lo escrito al cliente. */
+    private static final int FLUSH_CADA = 256;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.streaming.fetch-size:500}")
+    private int fetchSize;
+
+    /** Una fila JSON por línea ({@code application/x-ndjson}). */
+    public <T> ResponseEntity<StreamingResponseBody> ndjson(String sql, RowMapper<T> mapper, Object... args) {
+        String sentencia = QueryMetrics.sentencia(JsonRowStreamer.class);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(out -> escribir(out, false, sentencia, sql, mapper, args));
+    }
+
+    /** Arreglo JSON enviado por partes (chunked), igual al de la versión en lista. */
+    public <T> ResponseEntity<StreamingResponseBody> jsonArray(String sql, RowMapper<T> mapper, Object... args) {
+        String sentencia = QueryMetrics.sentencia(JsonRowStreamer.class);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> escribir(out, true, sentencia, sql, mapper, args));
+    }
+
+    /** NDJSON de filas que ya están en memoria (p. ej. un snapshot). */
+    public <T> ResponseEntity<StreamingResponseBody> ndjson(Iterable<T> filas) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .headers(DatasetETagInterceptor::validadores)
+                .body(out -> escribir(out, false, filas));
+    }
+
+    /** Arreglo JSON chunked de filas que ya están en memoria. */
+    public <T> ResponseEntity<StreamingResponseBody> jsonArray(Iterable<T> filas) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(DatasetETagInterceptor::validadores)
+                .body(out -> escribir(out, true, filas));
+    }
+
+    private <T> void escribir(OutputStream out, boolean arreglo, Iterable<T> filas) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.setRootValueSeparator(null);
+            if (arreglo) {
+                gen.writeStartArray();
+            }
+            int n = 0;
+            for (T fila : filas) {
+                gen.writeObject(fila);
+                if (!arreglo) {
+                    gen.writeRaw('\n');
+                }
+                if (++n % FLUSH_CADA == 0) {
+                    gen.flush();
+                }
+            }
+            if (arreglo) {
+                gen.writeEndArray();
+            }
+        } catch (IOException ex) {
+            // El cliente cortó la conexión: no hay a quién responder
+            log.debug("Streaming interrumpido: {}", ex.getMessage());
+        }
+    }
+
+    private <T> void escribir(OutputStream out, boolean arreglo, String sentencia, String sql, RowMapper<T> mapper,
+                              Object[] args) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.setRootValueSeparator(null);
+            if (arreglo) {
+                gen.writeStartArray();
+            }
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            // Corre en el hilo asíncrono: la métrica lleva el nombre del endpoint que lo pidió
+            QueryMetrics.como(sentencia, () -> tx.executeWithoutResult(status -> jdbcTemplate.query(
+                    new Consulta(sql, args, fetchSize), new FilaWriter<>(gen, arreglo, mapper))));
+            if (arreglo) {
+                gen.writeEndArray();
+            }
+        } catch (UncheckedIOException ex) {
+            // El cliente cortó la conexión: no hay a quién responder
+            log.debug("Streaming interrumpido: {}", ex.getMessage());
+        }
+    }
+
+    /** Sentencia de solo avance con fetch size; expone SQL y parámetros para el registro de lentas. */
+    private record Consulta(String sql, Object[] argumentos, int fetchSize)
+            implements PreparedStatementCreator, SqlProvider, MeteredJdbcTemplate.Argumentos {
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(argumentos).setValues(ps);
+            return ps;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    /** Mapea cada fila con el RowMapper tipado y la escribe de inmediato; no se retiene nada. */
+    private static final class FilaWriter<T> implements RowCallbackHandler {
+        private final JsonGenerator gen;
+        private final boolean arreglo;
+        private final RowMapper<T> mapper;
+        private int filas;
+
+        FilaWriter(JsonGenerator gen, boolean arreglo, RowMapper<T> mapper) {
+            this.gen = gen;
+            this.arreglo = arreglo;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            T fila = mapper.mapRow(rs, filas);
+            try {
+                gen.writeObject(fila);
+                if (!arreglo) {
+                    gen.writeRaw('\n');
+                }
+                if (++filas % FLUSH_CADA == 0) {
+                    gen.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.microservice_employee.talana;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Espera exponencial con jitter completo: el intento n espera un valor al azar entre
+ * 0 y min(tope, base * 2^n). Así varias páginas que fallan juntas no reintentan juntas.
+ */
+public record Backoff(Duration base, Duration tope, int maxIntentos) {
+
+    public long demoraMs(int intento) {
+        long techo = base.toMillis() << Math.min(intento, 20);
+        techo = Math.min(techo, tope.toMillis());
+        return techo <= 0 ? 0 : ThreadLocalRandom.current().nextLong(techo + 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.microservice_employee.talana;
+
+/**
+ * Resultado de sincronizar una entidad: registros leídos de Talana, omitidos por no haber
+ * cambiado (hash igual) y filas efectivamente escritas en la base.
+ */
+public record SyncRun(String entidad, Modo modo, int paginas, long leidas, long omitidas, long escritas) {
+
+    public enum Modo {
+        /** Solo lo cambiado desde la última marca; salta registros con el mismo hash. */
+        DELTA,
+        /** Relee todo (o una ventana amplia) y compara contra la base; corre con menos frecuencia. */
+        RECONCILIACION
+    }
+}
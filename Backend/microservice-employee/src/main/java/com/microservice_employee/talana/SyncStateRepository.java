@@ -0,0 +1,84 @@
+package com.microservice_employee.talana;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Marcas de agua y hashes de contenido de la sincronización incremental (tablas
+ * sync_watermark y sync_hash, migración V3).
+ */
+@Repository
+@Profile("talana")
+public class SyncStateRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Marca de la última corrida exitosa de la entidad, o null si nunca corrió. */
+    public Instant marca(String entidad) {
+        List<Timestamp> filas = jdbcTemplate.queryForList(
+                "SELECT marca FROM sync_watermark WHERE entidad = ?", Timestamp.class, entidad);
+        return filas.isEmpty() || filas.get(0) == null ? null : filas.get(0).toInstant();
+    }
+
+    /** Hashes conocidos de la entidad, por id. */
+    public Map<Long, Long> hashes(String entidad) {
+        Map<Long, Long> hashes = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT id, hash FROM sync_hash WHERE entidad = ?",
+                rs -> {
+                    hashes.put(rs.getLong(1), rs.getLong(2));
+                }, entidad);
+        return hashes;
+    }
+
+    public void guardarHashes(String entidad, Map<Long, Long> cambiados) {
+        if (cambiados.isEmpty()) {
+            return;
+        }
+        List<Object[]> filas = cambiados.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> new Object[] {entidad, e.getKey(), e.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO sync_hash (entidad, id, hash) VALUES (?, ?, ?)
+            ON CONFLICT (entidad, id) DO UPDATE SET hash = EXCLUDED.hash
+            """, filas);
+    }
+
+    /** Registra la corrida y, si terminó bien, avanza la marca al inicio de la corrida. */
+    public void registrar(SyncRun corrida, Instant inicio) {
+        boolean reconciliacion = corrida.modo() == SyncRun.Modo.RECONCILIACION;
+        jdbcTemplate.update("""
+            INSERT INTO sync_watermark (entidad, marca, ultimo_modo, ultima_corrida, ultima_reconciliacion,
+                                        filas_leidas, filas_omitidas, filas_escritas)
+            VALUES (?, ?, ?, now(), CASE WHEN ? THEN now() END, ?, ?, ?)
+            ON CONFLICT (entidad) DO UPDATE SET
+              marca = EXCLUDED.marca,
+              ultimo_modo = EXCLUDED.ultimo_modo,
+              ultima_corrida = EXCLUDED.ultima_corrida,
+              ultima_reconciliacion = COALESCE(EXCLUDED.ultima_reconciliacion, sync_watermark.ultima_reconciliacion),
+              filas_leidas = EXCLUDED.filas_leidas,
+              filas_omitidas = EXCLUDED.filas_omitidas,
+              filas_escritas = EXCLUDED.filas_escritas
+            """,
+                corrida.entidad(), Timestamp.from(inicio), corrida.modo().name(), reconciliacion,
+                corrida.leidas(), corrida.omitidas(), corrida.escritas());
+    }
+
+    public List<Map<String, Object>> estado() {
+        return jdbcTemplate.queryForList("""
+            SELECT entidad, marca, ultimo_modo, ultima_corrida, ultima_reconciliacion,
+                   filas_leidas, filas_omitidas, filas_escritas
+            FROM sync_watermark
+            ORDER BY entidad
+            """);
+    }
+}
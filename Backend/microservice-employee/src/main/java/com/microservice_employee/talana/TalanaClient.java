@@ -0,0 +1,126 @@
+package com.microservice_employee.talana;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cliente asíncrono de la API de Talana sobre {@link HttpClient#sendAsync}: ningún hilo
+ * queda bloqueado esperando la respuesta ni entre reintentos. Los 5xx, 429 y errores de
+ * red se reintentan con {@link Backoff}; la espera se agenda con
+ * {@link CompletableFuture#delayedExecutor} en vez de {@code Thread.sleep}.
+ */
+public class TalanaClient {
+
+    private static final Logger log = LoggerFactory.getLogger(TalanaClient.class);
+
+    private final HttpClient http;
+    private final URI base;
+    private final String token;
+    private final Duration timeout;
+    private final Backoff backoff;
+    private final ObjectMapper json;
+
+    public TalanaClient(HttpClient http, URI base, String token, Duration timeout, Backoff backoff, ObjectMapper json) {
+        this.http = http;
+        this.base = base;
+        this.token = token;
+        this.timeout = timeout;
+        this.backoff = backoff;
+        this.json = json;
+    }
+
+    /**
+     * GET a {@code ruta} (relativa a la URL base) con los parámetros dados. Un 404 se
+     * devuelve como {@link MissingNode}: DRF responde así a una página fuera de rango.
+     */
+    public CompletableFuture<JsonNode> get(String ruta, Map<String, String> params) {
+        HttpRequest request = HttpRequest.newBuilder(uri(ruta, params))
+                .timeout(timeout)
+                .header("Authorization", "Token " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return intentar(request, 0);
+    }
+
+    private CompletableFuture<JsonNode> intentar(HttpRequest request, int intento) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((res, err) -> {
+                    if (err != null) {
+                        return reintentar(request, intento, causa(err).toString(), -1);
+                    }
+                    int status = res.statusCode();
+                    if (status == 404) {
+                        return CompletableFuture.<JsonNode>completedFuture(MissingNode.getInstance());
+                    }
+                    if (status == 429 || status >= 500) {
+                        return reintentar(request, intento, "HTTP " + status, retryAfterMs(res));
+                    }
+                    if (status >= 400) {
+                        return CompletableFuture.<JsonNode>failedFuture(
+                                new TalanaException("HTTP " + status + " en " + request.uri()));
+                    }
+                    try {
+                        return CompletableFuture.completedFuture(json.readTree(res.body()));
+                    } catch (IOException ex) {
+                        return CompletableFuture.<JsonNode>failedFuture(
+                                new TalanaException("Respuesta inválida de " + request.uri(), ex));
+                    }
+                })
+                .thenCompose(f -> f);
+    }
+
+    private CompletableFuture<JsonNode> reintentar(HttpRequest request, int intento, String motivo, long sugeridoMs) {
+        if (intento + 1 >= backoff.maxIntentos()) {
+            return CompletableFuture.failedFuture(new TalanaException(
+                    "Sin respuesta de " + request.uri() + " tras " + (intento + 1) + " intentos: " + motivo));
+        }
+        long demora = Math.max(backoff.demoraMs(intento), sugeridoMs);
+        log.debug("Reintento {} de {} en {} ms ({})", intento + 1, request.uri(), demora, motivo);
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(demora, TimeUnit.MILLISECONDS))
+                .thenCompose(v -> intentar(request, intento + 1));
+    }
+
+    private static long retryAfterMs(HttpResponse<?> res) {
+        return res.headers().firstValue("Retry-After")
+                .map(v -> {
+                    try {
+                        return Long.parseLong(v.trim()) * 1000;
+                    } catch (NumberFormatException ex) {
+                        return -1L;
+                    }
+                })
+                .orElse(-1L);
+    }
+
+    private static Throwable causa(Throwable err) {
+        return err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+    }
+
+    private URI uri(String ruta, Map<String, String> params) {
+        String query = params.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        String raiz = base.toString().endsWith("/") ? base.toString() : base + "/";
+        String relativa = ruta.startsWith("/") ? ruta.substring(1) : ruta;
+        return URI.create(raiz + relativa + (query.isEmpty() ? "" : "?" + query));
+    }
+}
@@ -0,0 +1,13 @@
+package com.microservice_employee.talana;
+
+/** Falla definitiva al leer la API de Talana (sin más reintentos). */
+public class TalanaException extends RuntimeException {
+
+    public TalanaException(String message) {
+        super(message);
+    }
+
+    public TalanaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
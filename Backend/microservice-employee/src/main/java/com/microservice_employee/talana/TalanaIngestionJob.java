@@ -0,0 +1,267 @@
+package com.microservice_employee.talana;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.microservice_employee.service.DatasetVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Carga programada desde Talana: contratos (con empleados, centros de costo y sucursales),
+ * luego vacaciones y licencias en paralelo. Las páginas se piden de forma concurrente
+ * (acotada por {@code talana.ingestion.paralelismo}) y cada una se escribe apenas llega,
+ * en un pool chico de escritores para no acaparar el pool de conexiones.
+ *
+ * <p>Dos modos ({@link SyncRun.Modo}): el delta, frecuente, pide solo lo cambiado desde la
+ * última marca (si la API tiene filtro por fecha de cambio) y salta los registros cuyo hash
+ * de contenido no cambió; la reconciliación, diaria, relee todo y deja que los upserts con
+ * {@code IS DISTINCT FROM} escriban solo las diferencias. En ambos se registran filas leídas,
+ * omitidas y escritas por entidad en sync_watermark.</p>
+ *
+ * <p>Nunca corren dos cargas a la vez. Un delta que encuentra otra carga en curso se omite
+ * (el próximo lo cubre); una reconciliación queda pendiente y corre apenas termina la carga
+ * en curso, para no perder la del día.</p>
+ */
+@Component
+@Profile("talana")
+public class TalanaIngestionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TalanaIngestionJob.class);
+
+    @Autowired
+    private TalanaPaginator paginator;
+
+    @Autowired
+    private TalanaWriter writer;
+
+    @Autowired
+    private SyncStateRepository syncState;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatasetVersionService datasetVersion;
+
+    @Value("${talana.ingestion.contratos-path:contrato-paginado/}")
+    private String contratosPath;
+
+    @Value("${talana.ingestion.vacaciones-path:vacations-resumed}")
+    private String vacacionesPath;
+
+    @Value("${talana.ingestion.licencias-path:personaAusencia-paginado/}")
+    private String licenciasPath;
+
+    /** Días hacia atrás que se piden de vacaciones y licencias en modo delta (etl.py usaba 1). */
+    @Value("${talana.ingestion.dias-atras:1}")
+    private int diasAtras;
+
+    /** Ventana de vacaciones y licencias que relee la reconciliación. */
+    @Value("${talana.delta.reconciliacion-dias:90}")
+    private int diasReconciliacion;
+
+    /**
+     * Parámetro de la API para pedir registros modificados desde una fecha, por entidad.
+     * Vacío: la API no lo ofrece y el delta se apoya solo en los hashes.
+     */
+    @Value("${talana.delta.contratos.param-desde:}")
+    private String contratosParamDesde;
+
+    @Value("${talana.delta.vacaciones.param-desde:}")
+    private String vacacionesParamDesde;
+
+    @Value("${talana.delta.licencias.param-desde:}")
+    private String licenciasParamDesde;
+
+    /** Se retrocede la marca este margen para cubrir relojes desfasados y cambios en vuelo. */
+    @Value("${talana.delta.margen-min:10}")
+    private long margenMin;
+
+    private final AtomicBoolean corriendo = new AtomicBoolean();
+
+    private final AtomicBoolean reconciliacionPendiente = new AtomicBoolean();
+
+    private final ExecutorService escritores = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "talana-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Scheduled(cron = "${talana.delta.cron:0 */30 * * * *}")
+    public void delta() {
+        ejecutar(SyncRun.Modo.DELTA);
+    }
+
+    // Desfasada de los :00/:30 del delta; si igual lo encuentra corriendo, queda pendiente
+    @Scheduled(cron = "${talana.ingestion.cron:0 15 6 * * *}")
+    public void reconciliacion() {
+        ejecutar(SyncRun.Modo.RECONCILIACION);
+    }
+
+    /**
+     * Corre una sincronización completa en el modo dado. Si ya hay una en curso, el delta se
+     * omite y la reconciliación queda pendiente para cuando esa termine.
+     */
+    public List<SyncRun> ejecutar(SyncRun.Modo modo) {
+        if (!corriendo.compareAndSet(false, true)) {
+            if (modo == SyncRun.Modo.RECONCILIACION) {
+                reconciliacionPendiente.set(true);
+                log.info("Carga Talana en curso, la reconciliación corre cuando termine");
+                // La carga pudo terminar justo antes de ver la marca: en ese caso se corre aquí
+                if (!corriendo.get() && reconciliacionPendiente.getAndSet(false)) {
+                    return ejecutar(modo);
+                }
+            } else {
+                log.info("Carga Talana ya en curso, se omite ({})", modo);
+            }
+            return List.of();
+        }
+        try {
+            return correr(modo);
+        } finally {
+            corriendo.set(false);
+            if (reconciliacionPendiente.getAndSet(false)) {
+                ejecutar(SyncRun.Modo.RECONCILIACION);
+            }
+        }
+    }
+
+    private List<SyncRun> correr(SyncRun.Modo modo) {
+        long t0 = System.nanoTime();
+        Instant inicio = Instant.now();
+        try {
+            LocalDate hoy = LocalDate.now();
+            int dias = modo == SyncRun.Modo.RECONCILIACION ? diasReconciliacion : diasAtras;
+            String desde = hoy.minusDays(dias).toString();
+
+            SyncRun contratos = sincronizar(modo, inicio,
+                    new TalanaPaginator.Feed("contratos", contratosPath, Map.of(), "per_page"),
+                    contratosParamDesde, writer::contratos).join();
+
+            // Vacaciones y licencias solo dependen de que existan los empleados
+            CompletableFuture<SyncRun> vacaciones = sincronizar(modo, inicio,
+                    new TalanaPaginator.Feed("vacaciones", vacacionesPath,
+                            Map.of("absent_since", desde, "absent_to", hoy.toString()), "page_size"),
+                    vacacionesParamDesde, writer::vacaciones);
+            CompletableFuture<SyncRun> licencias = sincronizar(modo, inicio,
+                    new TalanaPaginator.Feed("licencias", licenciasPath, Map.of("absent_since", desde), "page_size"),
+                    licenciasParamDesde, writer::licencias);
+
+            List<SyncRun> corridas = Stream.of(contratos, recuperar(vacaciones), recuperar(licencias))
+                    .filter(Objects::nonNull)
+                    .toList();
+            log.info("Carga Talana {} terminada en {} ms: {}", modo, (System.nanoTime() - t0) / 1_000_000, corridas);
+            if (corridas.stream().anyMatch(c -> c.escritas() > 0)) {
+                datasetVersion.marcarCambio();
+            }
+            return corridas;
+        } catch (Exception ex) {
+            log.error("Carga Talana {} falló: {}", modo, ex.getMessage(), ex);
+            return List.of();
+        }
+    }
+
+    private CompletableFuture<SyncRun> sincronizar(SyncRun.Modo modo, Instant inicio, TalanaPaginator.Feed base,
+                                                   String paramDesde, ToIntFunction<List<JsonNode>> escribir) {
+        String entidad = base.nombre();
+        boolean delta = modo == SyncRun.Modo.DELTA;
+        TalanaPaginator.Feed feed = base;
+        Instant marca = delta ? syncState.marca(entidad) : null;
+        if (marca != null && !paramDesde.isBlank()) {
+            Map<String, String> params = new LinkedHashMap<>(base.params());
+            params.put(paramDesde, DateTimeFormatter.ISO_INSTANT.format(marca.minus(Duration.ofMinutes(margenMin))));
+            feed = new TalanaPaginator.Feed(entidad, base.ruta(), params, base.paramTamano());
+        }
+        // En reconciliación no se salta nada, pero igual se recalculan los hashes. Lo actualizan
+        // los dos escritores a la vez, de ahí el mapa concurrente
+        Map<Long, Long> conocidos = new ConcurrentHashMap<>(delta ? syncState.hashes(entidad) : Map.of());
+        AtomicLong omitidas = new AtomicLong();
+        AtomicLong escritas = new AtomicLong();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        return paginator.recorrer(feed, pagina -> CompletableFuture.runAsync(() -> {
+            List<JsonNode> cambiados = new ArrayList<>(pagina.items().size());
+            Map<Long, Long> nuevos = new HashMap<>();
+            for (JsonNode rec : pagina.items()) {
+                long id = rec.path("id").asLong();
+                long hash = hash(rec);
+                if (delta && Objects.equals(conocidos.get(id), hash)) {
+                    omitidas.incrementAndGet();
+                    continue;
+                }
+                cambiados.add(rec);
+                nuevos.put(id, hash);
+            }
+            if (cambiados.isEmpty()) {
+                return;
+            }
+            Integer n = tx.execute(status -> {
+                int filas = escribir.applyAsInt(cambiados);
+                syncState.guardarHashes(entidad, nuevos);
+                return filas;
+            });
+            escritas.addAndGet(n == null ? 0 : n);
+            conocidos.putAll(nuevos);
+        }, escritores)).thenApply(resumen -> {
+            SyncRun corrida = new SyncRun(entidad, modo, resumen.paginas(), resumen.items(),
+                    omitidas.get(), escritas.get());
+            syncState.registrar(corrida, inicio);
+            return corrida;
+        });
+    }
+
+    /** Hash de 64 bits del registro tal como vino de la API. */
+    static long hash(JsonNode rec) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rec.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** Igual que etl.py: si falla vacaciones o licencias se sigue con lo demás. */
+    private static SyncRun recuperar(CompletableFuture<SyncRun> f) {
+        try {
+            return f.join();
+        } catch (Exception ex) {
+            log.error("Carga parcial fallida: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        escritores.shutdownNow();
+    }
+}
@@ -0,0 +1,152 @@
+package com.microservice_employee.talana;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Recorre un listado paginado de Talana con a lo más {@code paralelismo} páginas en curso.
+ * Cada página se entrega al consumidor apenas llega y la siguiente se pide recién cuando
+ * ese consumidor terminó, así en memoria nunca hay más de {@code paralelismo} páginas.
+ *
+ * <p>El fin del listado se detecta con lo que entregue la API: {@code count} (se calcula la
+ * última página de inmediato), {@code next} nulo, una página corta o vacía, o un 404.
+ * Como las páginas se piden por número, a lo más se piden {@code paralelismo - 1} de más.</p>
+ *
+ * <p>Si una página falla no se piden más, pero el recorrido termina (con esa primera falla)
+ * recién cuando las demás páginas en curso terminaron de consumirse: quien espera el
+ * resultado sabe que ya nadie está escribiendo.</p>
+ */
+public final class TalanaPaginator {
+
+    /** Un listado de Talana: ruta, filtros fijos y nombre del parámetro de tamaño de página. */
+    public record Feed(String nombre, String ruta, Map<String, String> params, String paramTamano) {
+    }
+
+    public record Pagina(int numero, List<JsonNode> items) {
+    }
+
+    public record Resumen(String feed, int paginas, long items) {
+    }
+
+    private final TalanaClient client;
+    private final int porPagina;
+    private final int paralelismo;
+
+    public TalanaPaginator(TalanaClient client, int porPagina, int paralelismo) {
+        this.client = client;
+        this.porPagina = porPagina;
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    public CompletableFuture<Resumen> recorrer(Feed feed, Function<Pagina, CompletableFuture<?>> consumidor) {
+        return new Recorrido(feed, consumidor).iniciar();
+    }
+
+    private final class Recorrido {
+        private final Feed feed;
+        private final Function<Pagina, CompletableFuture<?>> consumidor;
+        private final CompletableFuture<Resumen> fin = new CompletableFuture<>();
+        private int siguiente = 1;
+        private int ultima = Integer.MAX_VALUE;
+        private int enCurso;
+        private int paginas;
+        private long items;
+        private Throwable error;
+
+        Recorrido(Feed feed, Function<Pagina, CompletableFuture<?>> consumidor) {
+            this.feed = feed;
+            this.consumidor = consumidor;
+        }
+
+        CompletableFuture<Resumen> iniciar() {
+            synchronized (this) {
+                for (int i = 0; i < paralelismo; i++) {
+                    lanzar();
+                }
+            }
+            return fin;
+        }
+
+        /** Pide la próxima página si corresponde. Se llama con el lock tomado. */
+        private void lanzar() {
+            if (error != null || siguiente > ultima) {
+                return;
+            }
+            int numero = siguiente++;
+            enCurso++;
+            Map<String, String> params = new LinkedHashMap<>(feed.params());
+            params.put("page", String.valueOf(numero));
+            params.put(feed.paramTamano(), String.valueOf(porPagina));
+            client.get(feed.ruta(), params)
+                    .thenCompose(respuesta -> procesar(numero, respuesta))
+                    .whenComplete((v, err) -> terminar(err));
+        }
+
+        private CompletableFuture<?> procesar(int numero, JsonNode respuesta) {
+            List<JsonNode> lista = items(respuesta);
+            synchronized (this) {
+                if (respuesta.has("count") && respuesta.get("count").canConvertToInt()) {
+                    int total = respuesta.get("count").asInt();
+                    ultima = Math.min(ultima, Math.max(1, (total + porPagina - 1) / porPagina));
+                }
+                boolean hayMas = respuesta.has("next")
+                        ? !respuesta.get("next").isNull()
+                        : lista.size() >= porPagina;
+                if (!hayMas || lista.isEmpty()) {
+                    ultima = Math.min(ultima, numero);
+                }
+                if (!lista.isEmpty()) {
+                    paginas++;
+                    items += lista.size();
+                }
+            }
+            return lista.isEmpty()
+                    ? CompletableFuture.completedFuture(null)
+                    : consumidor.apply(new Pagina(numero, lista));
+        }
+
+        private void terminar(Throwable err) {
+            synchronized (this) {
+                enCurso--;
+                if (err != null && error == null) {
+                    error = err;
+                }
+                lanzar();
+                if (enCurso > 0) {
+                    return;
+                }
+                if (error != null) {
+                    fin.completeExceptionally(error);
+                } else {
+                    fin.complete(new Resumen(feed.nombre(), paginas, items));
+                }
+            }
+        }
+    }
+
+    /** Talana no es uniforme: la lista puede venir sola o en results/data/contracts/items. */
+    static List<JsonNode> items(JsonNode respuesta) {
+        JsonNode lista = respuesta;
+        if (respuesta.isObject()) {
+            lista = null;
+            for (String campo : new String[] {"results", "data", "contracts", "items"}) {
+                if (respuesta.path(campo).isArray()) {
+                    lista = respuesta.get(campo);
+                    break;
+                }
+            }
+        }
+        if (lista == null || !lista.isArray()) {
+            return List.of();
+        }
+        List<JsonNode> items = new ArrayList<>(lista.size());
+        lista.forEach(items::add);
+        return items;
+    }
+}
@@ -0,0 +1,28 @@
+package com.microservice_employee.talana;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /api/talana/sync
+ * Estado de la sincronización por entidad: marca, última corrida y filas leídas, omitidas y escritas.
+ */
+@RestController
+@Profile("talana")
+@RequestMapping("/api/talana/sync")
+public class TalanaSyncController {
+
+    @Autowired
+    private SyncStateRepository syncState;
+
+    @GetMapping
+    public List<Map<String, Object>> estado() {
+        return syncState.estado();
+    }
+}
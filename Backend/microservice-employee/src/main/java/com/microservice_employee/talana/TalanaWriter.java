@@ -0,0 +1,263 @@
+package com.microservice_employee.talana;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Escribe cada página de Talana en una transacción con upserts en batch (una ida a la base
+ * por tabla y página). Mapea los mismos campos que etl/etl.py. Las filas se ordenan por id
+ * dentro del batch para que dos páginas concurrentes tomen los locks en el mismo orden.
+ * Los upserts solo actualizan si algo cambió ({@code IS DISTINCT FROM}): una fila igual no
+ * genera escritura, ni tupla muerta, ni mueve la versión del dataset.
+ */
+@Component
+@Profile("talana")
+public class TalanaWriter {
+
+    private static final String EMPLEADO_UPSERT = """
+        INSERT INTO empleado (id, rut, nombre, ap_paterno, ap_materno, sexo, fecha_nac, discapacidad)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET
+          rut = EXCLUDED.rut, nombre = EXCLUDED.nombre, ap_paterno = EXCLUDED.ap_paterno,
+          ap_materno = EXCLUDED.ap_materno, sexo = EXCLUDED.sexo, fecha_nac = EXCLUDED.fecha_nac,
+          discapacidad = EXCLUDED.discapacidad
+        WHERE (empleado.rut, empleado.nombre, empleado.ap_paterno, empleado.ap_materno, empleado.sexo,
+               empleado.fecha_nac, empleado.discapacidad)
+          IS DISTINCT FROM (EXCLUDED.rut, EXCLUDED.nombre, EXCLUDED.ap_paterno, EXCLUDED.ap_materno, EXCLUDED.sexo,
+               EXCLUDED.fecha_nac, EXCLUDED.discapacidad)
+        """;
+
+    private static final String EMPLEADO_MINIMO = """
+        INSERT INTO empleado (id, rut, nombre, ap_paterno, ap_materno, sexo, fecha_nac, discapacidad)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (id) DO NOTHING
+        """;
+
+    private static final String CENTRO_UPSERT = """
+        INSERT INTO centro_costo (id, codigo, nombre) VALUES (?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET codigo = EXCLUDED.codigo, nombre = EXCLUDED.nombre
+        WHERE (centro_costo.codigo, centro_costo.nombre) IS DISTINCT FROM (EXCLUDED.codigo, EXCLUDED.nombre)
+        """;
+
+    private static final String SUCURSAL_UPSERT = """
+        INSERT INTO sucursal (id, nombre) VALUES (?, ?)
+        ON CONFLICT (id) DO UPDATE SET nombre = EXCLUDED.nombre
+        WHERE sucursal.nombre IS DISTINCT FROM EXCLUDED.nombre
+        """;
+
+    private static final String CONTRATO_UPSERT = """
+        INSERT INTO contrato (id, empleado_id, cargo, cargo_norm, centro_costo_id, sucursal_id, jefe_nombre,
+                              fecha_contratacion, vigente, desde, hasta)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET
+          empleado_id = EXCLUDED.empleado_id, cargo = EXCLUDED.cargo, cargo_norm = EXCLUDED.cargo_norm,
+          centro_costo_id = EXCLUDED.centro_costo_id, sucursal_id = EXCLUDED.sucursal_id,
+          jefe_nombre = EXCLUDED.jefe_nombre, fecha_contratacion = EXCLUDED.fecha_contratacion,
+          vigente = EXCLUDED.vigente, desde = EXCLUDED.desde, hasta = EXCLUDED.hasta
+        WHERE (contrato.empleado_id, contrato.cargo, contrato.cargo_norm, contrato.centro_costo_id, contrato.sucursal_id,
+               contrato.jefe_nombre, contrato.fecha_contratacion, contrato.vigente, contrato.desde, contrato.hasta)
+          IS DISTINCT FROM (EXCLUDED.empleado_id, EXCLUDED.cargo, EXCLUDED.cargo_norm, EXCLUDED.centro_costo_id,
+               EXCLUDED.sucursal_id, EXCLUDED.jefe_nombre, EXCLUDED.fecha_contratacion, EXCLUDED.vigente,
+               EXCLUDED.desde, EXCLUDED.hasta)
+        """;
+
+    private static final String VACACION_UPSERT = """
+        INSERT INTO vacaciones (id, empleado_id, desde, hasta, retorno, dias, medios_dias, fecha_aprobacion, tipo)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET
+          empleado_id = EXCLUDED.empleado_id, desde = EXCLUDED.desde, hasta = EXCLUDED.hasta,
+          retorno = EXCLUDED.retorno, dias = EXCLUDED.dias, medios_dias = EXCLUDED.medios_dias,
+          fecha_aprobacion = EXCLUDED.fecha_aprobacion, tipo = EXCLUDED.tipo
+        WHERE (vacaciones.empleado_id, vacaciones.desde, vacaciones.hasta, vacaciones.retorno, vacaciones.dias,
+               vacaciones.medios_dias, vacaciones.fecha_aprobacion, vacaciones.tipo)
+          IS DISTINCT FROM (EXCLUDED.empleado_id, EXCLUDED.desde, EXCLUDED.hasta, EXCLUDED.retorno, EXCLUDED.dias,
+               EXCLUDED.medios_dias, EXCLUDED.fecha_aprobacion, EXCLUDED.tipo)
+        """;
+
+    private static final String LICENCIA_UPSERT = """
+        INSERT INTO licencias (id, empleado_id, desde, hasta, dias, tipo, fecha_solicitud)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET
+          empleado_id = EXCLUDED.empleado_id, desde = EXCLUDED.desde, hasta = EXCLUDED.hasta,
+          dias = EXCLUDED.dias, tipo = EXCLUDED.tipo, fecha_solicitud = EXCLUDED.fecha_solicitud
+        WHERE (licencias.empleado_id, licencias.desde, licencias.hasta, licencias.dias, licencias.tipo,
+               licencias.fecha_solicitud)
+          IS DISTINCT FROM (EXCLUDED.empleado_id, EXCLUDED.desde, EXCLUDED.hasta, EXCLUDED.dias, EXCLUDED.tipo,
+               EXCLUDED.fecha_solicitud)
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Contratos con su empleado, centro de costo y sucursal. Devuelve las filas escritas. */
+    public int contratos(List<JsonNode> pagina) {
+        Map<Long, Object[]> empleados = new TreeMap<>();
+        Map<Long, Object[]> centros = new TreeMap<>();
+        Map<Long, Object[]> sucursales = new TreeMap<>();
+        Map<Long, Object[]> contratos = new TreeMap<>();
+        for (JsonNode rec : pagina) {
+            long empleadoId = rec.path("empleado").asLong();
+            JsonNode det = rec.path("empleadoDetails");
+            if (empleadoId != 0 && texto(det, "rut") != null) {
+                empleados.put(empleadoId, empleado(empleadoId, det, discapacidad(det)));
+            }
+            JsonNode cc = rec.path("centroCosto");
+            long ccId = cc.path("id").asLong();
+            if (ccId != 0) {
+                centros.put(ccId, new Object[] {ccId, texto(cc, "codigo"), texto(cc, "nombre")});
+            }
+            JsonNode suc = rec.path("sucursal");
+            long sucId = suc.path("id").asLong();
+            if (sucId != 0) {
+                sucursales.put(sucId, new Object[] {sucId, texto(suc, "nombre")});
+            }
+            long id = rec.path("id").asLong();
+            if (id != 0) {
+                JsonNode jefe = rec.path("jefe");
+                String fechaContratacion = texto(rec, "fechaContratacion");
+                contratos.put(id, new Object[] {
+                        id, empleadoId, texto(rec, "cargo"), null,
+                        ccId != 0 ? ccId : null, sucId != 0 ? sucId : null,
+                        jefe.isObject() ? texto(jefe, "nombre") : texto(rec, "jefe"),
+                        fecha(fechaContratacion != null ? fechaContratacion : texto(rec, "desde")),
+                        rec.path("activo").asBoolean(false),
+                        fecha(texto(rec, "desde")), fecha(texto(rec, "hasta"))});
+            }
+        }
+        return tx().execute(status -> batch(EMPLEADO_UPSERT, empleados)
+                + batch(CENTRO_UPSERT, centros)
+                + batch(SUCURSAL_UPSERT, sucursales)
+                + batch(CONTRATO_UPSERT, contratos));
+    }
+
+    /** Vacaciones (vacations-resumed). Crea un empleado mínimo si aún no existe. */
+    public int vacaciones(List<JsonNode> pagina) {
+        Map<Long, Object[]> minimos = new TreeMap<>();
+        Map<Long, Object[]> filas = new TreeMap<>();
+        for (JsonNode rec : pagina) {
+            long id = rec.path("id").asLong();
+            long empleadoId = empleadoId(rec);
+            if (id == 0 || empleadoId == 0) {
+                continue;
+            }
+            minimos.put(empleadoId, empleadoMinimo(empleadoId, rec.path("empleado")));
+            filas.put(id, new Object[] {
+                    id, empleadoId,
+                    fecha(texto(rec, "vacacionesDesde")), fecha(texto(rec, "vacacionesHasta")),
+                    fecha(texto(rec, "vacacionesRetorno")),
+                    numero(rec.path("numeroDias")),
+                    rec.path("mediosDias").asBoolean(false) ? 1 : 0,
+                    fecha(texto(rec, "fechaAprobacion")),
+                    texto(rec, "tipoVacaciones")});
+        }
+        return tx().execute(status -> batch(EMPLEADO_MINIMO, minimos) + batch(VACACION_UPSERT, filas));
+    }
+
+    /** Licencias (personaAusencia-paginado). Crea un empleado mínimo si aún no existe. */
+    public int licencias(List<JsonNode> pagina) {
+        Map<Long, Object[]> minimos = new TreeMap<>();
+        Map<Long, Object[]> filas = new TreeMap<>();
+        for (JsonNode rec : pagina) {
+            long id = rec.path("id").asLong();
+            long empleadoId = empleadoId(rec);
+            if (id == 0 || empleadoId == 0) {
+                continue;
+            }
+            minimos.put(empleadoId, empleadoMinimo(empleadoId, rec.path("empleado")));
+            filas.put(id, new Object[] {
+                    id, empleadoId,
+                    fecha(texto(rec, "ausenciaDesde")), fecha(texto(rec, "ausenciaHasta")),
+                    numero(rec.path("numeroDias")),
+                    texto(rec, "tipoAusencia"),
+                    fecha(texto(rec, "fechaCreacion"))});
+        }
+        return tx().execute(status -> batch(EMPLEADO_MINIMO, minimos) + batch(LICENCIA_UPSERT, filas));
+    }
+
+    /** Ejecuta el batch y devuelve cuántas filas se insertaron o cambiaron. */
+    private int batch(String sql, Map<Long, Object[]> filas) {
+        if (filas.isEmpty()) {
+            return 0;
+        }
+        int escritas = 0;
+        for (int n : jdbcTemplate.batchUpdate(sql, new ArrayList<>(filas.values()))) {
+            escritas += Math.max(n, 0);
+        }
+        return escritas;
+    }
+
+    private TransactionTemplate tx() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private static Object[] empleado(long id, JsonNode det, String discapacidad) {
+        return new Object[] {
+                id, texto(det, "rut"), texto(det, "nombre"), texto(det, "apellidoPaterno"),
+                texto(det, "apellidoMaterno"), texto(det, "sexo"), fecha(texto(det, "fechaNacimiento")),
+                new SqlParameterValue(Types.OTHER, discapacidad)};
+    }
+
+    private static Object[] empleadoMinimo(long id, JsonNode empleado) {
+        JsonNode det = empleado.isObject() ? empleado : MissingNode.getInstance();
+        String discapacidad = det.path("discapacidad").isMissingNode() || det.path("discapacidad").isNull()
+                ? null : det.path("discapacidad").asText();
+        return empleado(id, det, discapacidad);
+    }
+
+    private static long empleadoId(JsonNode rec) {
+        JsonNode empleado = rec.path("empleado");
+        return empleado.isObject() ? empleado.path("id").asLong() : empleado.asLong();
+    }
+
+    /** Igual que etl.py: detalles[0].discapacidades puede ser booleano, texto o lista. */
+    static String discapacidad(JsonNode det) {
+        JsonNode raw = det.path("detalles").path(0).path("discapacidades");
+        if (raw.isMissingNode() || raw.isNull()) {
+            return null;
+        }
+        if (raw.isBoolean()) {
+            return raw.asBoolean() ? "Discapacidad registrada" : null;
+        }
+        if (raw.isArray()) {
+            String unidos = StreamSupport.stream(raw.spliterator(), false)
+                    .filter(n -> !n.isNull() && !n.asText().isEmpty())
+                    .map(JsonNode::asText)
+                    .collect(Collectors.joining(", "));
+            return unidos.isEmpty() ? null : unidos;
+        }
+        String t = raw.asText().trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private static String texto(JsonNode nodo, String campo) {
+        JsonNode v = nodo.path(campo);
+        return v.isMissingNode() || v.isNull() || v.isContainerNode() ? null : v.asText();
+    }
+
+    /** Fechas y timestamps van como texto sin tipo: PostgreSQL los convierte al tipo de la columna. */
+    private static SqlParameterValue fecha(String valor) {
+        return new SqlParameterValue(Types.OTHER, valor);
+    }
+
+    private static Object numero(JsonNode v) {
+        return v.isNumber() ? v.decimalValue() : v.isTextual() ? new SqlParameterValue(Types.OTHER, v.asText()) : null;
+    }
+}
@@ -0,0 +1,14 @@
+-- Licencias: la tabla existía solo en scripts/apply-ddl.sql, fuera de Flyway
+create table if not exists licencias (
+  id                bigint primary key,
+  empleado_id       int references empleado(id),
+  desde             date,
+  hasta             date,
+  dias              numeric,
+  tipo              text,
+  fecha_solicitud   timestamp
+);
+
+-- Índices para las consultas por solape de rango (desde <= ? AND hasta >= ?)
+create index if not exists idx_licencias_emp on licencias(empleado_id);
+create index if not exists idx_licencias_rango on licencias(desde, hasta);
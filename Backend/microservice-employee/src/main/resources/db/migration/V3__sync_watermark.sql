@@ -0,0 +1,20 @@
+-- Estado de la sincronización incremental con Talana (una fila por entidad)
+create table if not exists sync_watermark (
+  entidad                text primary key,
+  marca                  timestamptz,
+  ultimo_modo            text,
+  ultima_corrida         timestamptz,
+  ultima_reconciliacion  timestamptz,
+  filas_leidas           bigint not null default 0,
+  filas_omitidas         bigint not null default 0,
+  filas_escritas         bigint not null default 0
+);
+
+-- Hash del contenido de cada registro tal como vino de Talana, para saltar los que no cambiaron
+-- cuando la API no permite filtrar por fecha de modificación
+create table if not exists sync_hash (
+  entidad  text   not null,
+  id       bigint not null,
+  hash     bigint not null,
+  primary key (entidad, id)
+);
@@ -0,0 +1,10 @@
+-- Tablas de staging para la carga masiva por COPY (BulkLoader). Son UNLOGGED: no pasan por
+-- el WAL y se vacían en cada carga, así que no importa perderlas en un crash.
+-- Se crean con LIKE para heredar los tipos actuales (p. ej. empleado.discapacidad); si una
+-- tabla destino cambia de tipo, recrear su staging.
+create unlogged table if not exists stg_empleado (like empleado);
+create unlogged table if not exists stg_centro_costo (like centro_costo);
+create unlogged table if not exists stg_sucursal (like sucursal);
+create unlogged table if not exists stg_contrato (like contrato);
+create unlogged table if not exists stg_vacaciones (like vacaciones);
+create unlogged table if not exists stg_licencias (like licencias);
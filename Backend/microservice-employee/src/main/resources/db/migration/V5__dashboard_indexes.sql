@@ -0,0 +1,52 @@
+-- Índices a la medida de las consultas del dashboard (DatabaseController y los servicios que usa).
+-- Reemplazan a los de una columna de V1/V2 que ninguna consulta aprovechaba. Solo PostgreSQL
+-- (parciales, INCLUDE, expresiones); las bases H2 de los benchmarks siguen con V1 y V2.
+-- PlanRegressionTest (microservice-benchmarks) revisa que ninguna consulta vuelva a un Seq Scan.
+
+-- Dotación activa (ActiveWorkforceSnapshot): DISTINCT ON (empleado_id) ... WHERE vigente
+-- ORDER BY empleado_id, fecha_contratacion DESC NULLS LAST. Parcial y con lo que se lee de
+-- contrato en INCLUDE: index-only scan que ya sale ordenado, sin Sort.
+create index if not exists idx_contrato_vigente_emp
+  on contrato (empleado_id, fecha_contratacion desc nulls last)
+  include (cargo, centro_costo_id, sucursal_id)
+  where vigente;
+-- Booleano con ~88% true: no sirve para filtrar y el parcial lo cubre
+drop index if exists idx_contrato_vigente;
+
+-- /contratos?page: ORDER BY fecha_contratacion DESC, e.nombre LIMIT ? OFFSET ?
+create index if not exists idx_contrato_fecha on contrato (fecha_contratacion desc);
+-- /contratos?cursor: la llave es la misma expresión de la consulta, si no el índice no se usa
+create index if not exists idx_contrato_fecha_cursor
+  on contrato ((coalesce(fecha_contratacion, '-infinity'::date)) desc, id desc);
+
+-- /empleados?page: ORDER BY nombre, ap_paterno LIMIT ? OFFSET ?
+create index if not exists idx_empleado_nombre on empleado (nombre, ap_paterno);
+-- /empleados?cursor: (COALESCE(nombre, ''), COALESCE(ap_paterno, ''), id) > (?, ?, ?)
+create index if not exists idx_empleado_nombre_cursor
+  on empleado ((coalesce(nombre, '')), (coalesce(ap_paterno, '')), id);
+
+-- Por empleado, ya en el orden del perfil (ORDER BY desde DESC); también los filtros
+-- empleadoId / sucursalId (empleado_id = ANY) de /rango. Reemplazan a los de solo empleado_id.
+create index if not exists idx_vacaciones_emp_desde on vacaciones (empleado_id, desde desc);
+create index if not exists idx_licencias_emp_desde on licencias (empleado_id, desde desc);
+drop index if exists idx_vacaciones_emp;
+drop index if exists idx_licencias_emp;
+
+-- Listados completos y /rango?cursor: ORDER BY desde DESC, id DESC con (desde, id) < (?, ?)
+create index if not exists idx_vacaciones_desde_id on vacaciones (desde, id);
+create index if not exists idx_licencias_desde_id on licencias (desde, id);
+
+-- Solape con una ventana (AbsenceRangeService, DailyOccupancyService): desde <= fin_ventana deja
+-- pasar casi toda la historia, lo selectivo es fin >= inicio_ventana. El fin es una expresión
+-- (hasta o retorno; licencias abiertas al final) y las filas de una ventana reciente están
+-- repartidas por toda la tabla, así que el índice lleva todas las columnas que leen esas
+-- consultas: index-only scan en vez de visitar casi todas las páginas.
+create index if not exists idx_vacaciones_fin
+  on vacaciones ((coalesce(hasta, retorno)), desde)
+  include (id, empleado_id, hasta, retorno, dias, medios_dias, fecha_aprobacion, tipo);
+create index if not exists idx_licencias_fin
+  on licencias ((coalesce(hasta, date '9999-12-31')), desde)
+  include (id, empleado_id, hasta, dias, tipo, fecha_solicitud);
+-- (desde, hasta) quedó cubierto por los dos anteriores
+drop index if exists idx_vacaciones_rango;
+drop index if exists idx_licencias_rango;
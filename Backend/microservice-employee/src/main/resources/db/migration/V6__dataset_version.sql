@@ -0,0 +1,43 @@
+-- Versión del dataset que usan las cachés y los ETag del dashboard (DatasetVersionService).
+-- Antes era la suma de n_tup_ins/upd/del de pg_stat_user_tables, pero esos contadores vuelven
+-- a cero tras un crash, un pg_stat_reset o un failover, y una versión repetida daba 304 falsos.
+-- Solo PostgreSQL; las bases H2 de los benchmarks fijan dashboard.dataset.watermark-sql.
+create table if not exists dataset_version (
+  id       boolean primary key default true check (id),
+  version  bigint  not null default 0
+);
+insert into dataset_version (id, version) values (true, 0) on conflict (id) do nothing;
+
+-- Sube la versión una vez por transacción que escribió en las tablas del dashboard, la haga
+-- quien la haga (etl.py, BulkLoader, Talana). Corre diferida, al COMMIT: la versión nueva nunca
+-- se ve antes que los datos, y el candado de la fila se toma recién ahí, así los escritores en
+-- paralelo no se serializan entre sí. La variable local a la transacción evita una
+-- actualización por fila.
+create or replace function dataset_version_bump() returns trigger
+language plpgsql as $$
+begin
+  if current_setting('dataset_version.xid', true) is distinct from txid_current()::text then
+    update dataset_version set version = version + 1;
+    perform set_config('dataset_version.xid', txid_current()::text, true);
+  end if;
+  return null;
+end
+$$;
+
+-- Las tablas stg_* de la carga masiva quedan fuera: el merge a las definitivas ya dispara
+do $$
+declare
+  tabla text;
+begin
+  foreach tabla in array array['empleado', 'contrato', 'centro_costo', 'sucursal', 'vacaciones', 'licencias'] loop
+    execute format('drop trigger if exists %I on %I', tabla || '_dataset_version', tabla);
+    execute format('create constraint trigger %I after insert or update or delete on %I'
+                   ' deferrable initially deferred for each row execute function dataset_version_bump()',
+                   tabla || '_dataset_version', tabla);
+    -- TRUNCATE no admite triggers por fila: este corre al final de la sentencia
+    execute format('drop trigger if exists %I on %I', tabla || '_dataset_version_truncate', tabla);
+    execute format('create trigger %I after truncate on %I for each statement execute function dataset_version_bump()',
+                   tabla || '_dataset_version_truncate', tabla);
+  end loop;
+end
+$$;
@@ -0,0 +1,65 @@
+package com.microservice_employee.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice_common.auth.RevocationList;
+import com.microservice_common.auth.TokenClaims;
+import com.microservice_common.auth.TokenCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Filtro con rol requerido (el de /actuator/slowqueries): sin token 401, otro rol 403,
+ * ADMIN pasa con sus claims en el request.
+ */
+class TokenAuthFilterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TokenCodec codec = new TokenCodec(
+            "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII), mapper, 30);
+    private final TokenAuthFilter filtro = new TokenAuthFilter(codec, new RevocationList("", mapper, codec), true, "ADMIN");
+
+    private MockHttpServletResponse pedir(String rol, MockFilterChain cadena) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/slowqueries");
+        if (rol != null) {
+            long ahora = System.currentTimeMillis() / 1000;
+            String token = codec.firmar(new TokenClaims("ana", rol, 1L, "jti-" + rol, ahora, ahora + 600));
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, cadena);
+        return response;
+    }
+
+    @Test
+    void sinTokenEs401() throws Exception {
+        MockFilterChain cadena = new MockFilterChain();
+
+        assertEquals(401, pedir(null, cadena).getStatus());
+        assertNull(cadena.getRequest());
+    }
+
+    @Test
+    void otroRolEs403() throws Exception {
+        MockFilterChain cadena = new MockFilterChain();
+
+        assertEquals(403, pedir("USER", cadena).getStatus());
+        assertNull(cadena.getRequest());
+    }
+
+    @Test
+    void adminPasa() throws Exception {
+        MockFilterChain cadena = new MockFilterChain();
+
+        assertEquals(200, pedir("ADMIN", cadena).getStatus());
+        assertNotNull(cadena.getRequest().getAttribute(TokenClaims.ATRIBUTO));
+    }
+}
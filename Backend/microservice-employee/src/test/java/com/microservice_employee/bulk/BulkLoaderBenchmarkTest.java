@@ -0,0 +1,157 @@
+package com.microservice_employee.bulk;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Carga sintética de 100k contratos: COPY + merge (BulkLoader) contra el camino fila a fila
+ * (un INSERT ... ON CONFLICT por registro, como etl.py). Necesita un PostgreSQL desechable:
+ * BENCH_JDBC_URL=jdbc:postgresql://localhost:5432/bench BENCH_USER=... BENCH_PASSWORD=...
+ * mvn test -Dmaven.test.skip=false -Dtest=BulkLoaderBenchmarkTest
+ */
+class BulkLoaderBenchmarkTest {
+
+    private static final int CONTRATOS = 100_000;
+    private static final int EMPLEADOS = 80_000;
+    private static final int SUCURSALES = 60;
+    private static final int CENTROS = 250;
+
+    private static AnnotationConfigApplicationContext ctx;
+    private static JdbcTemplate jdbc;
+    private static BulkLoader loader;
+    private static TransactionTemplate tx;
+
+    @BeforeAll
+    static void preparar() {
+        String url = System.getenv("BENCH_JDBC_URL");
+        assumeTrue(url != null, "BENCH_JDBC_URL no definido");
+        DriverManagerDataSource ds = new DriverManagerDataSource(url,
+                System.getenv().getOrDefault("BENCH_USER", "postgres"),
+                System.getenv().getOrDefault("BENCH_PASSWORD", ""));
+        jdbc = new JdbcTemplate(ds);
+        DataSourceTransactionManager tm = new DataSourceTransactionManager(ds);
+        tx = new TransactionTemplate(tm);
+
+        jdbc.execute("DROP SCHEMA public CASCADE");
+        jdbc.execute("CREATE SCHEMA public");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__init.sql"),
+                new ClassPathResource("db/migration/V2__licencias.sql"),
+                new ClassPathResource("db/migration/V4__staging.sql")).execute(ds);
+
+        ctx = new AnnotationConfigApplicationContext();
+        ctx.registerBean(JdbcTemplate.class, () -> jdbc);
+        ctx.registerBean(DataSourceTransactionManager.class, () -> tm);
+        ctx.register(BulkLoader.class);
+        ctx.refresh();
+        loader = ctx.getBean(BulkLoader.class);
+    }
+
+    @AfterAll
+    static void cerrar() {
+        if (ctx != null) {
+            ctx.close();
+        }
+    }
+
+    @Test
+    void copyMergeContraFilaAFila() {
+        Map<BulkTable, List<Object[]>> snapshot = sintetico(42);
+
+        vaciar();
+        long t0 = System.nanoTime();
+        filaAFila(snapshot);
+        long filaAFilaMs = (System.nanoTime() - t0) / 1_000_000;
+        long contratosFilaAFila = contar("contrato");
+
+        vaciar();
+        t0 = System.nanoTime();
+        loader.cargar(snapshot);
+        long bulkMs = (System.nanoTime() - t0) / 1_000_000;
+
+        // Segunda carga idéntica: el merge no debe reescribir nada
+        t0 = System.nanoTime();
+        Map<BulkTable, BulkLoader.Resultado> repetida = loader.cargar(snapshot);
+        long repetidaMs = (System.nanoTime() - t0) / 1_000_000;
+
+        assertEquals(contratosFilaAFila, contar("contrato"));
+        assertEquals(0, repetida.get(BulkTable.CONTRATO).escritas());
+        System.out.printf("%d contratos: fila a fila %d ms, COPY+merge %d ms (x%.1f), recarga sin cambios %d ms%n",
+                CONTRATOS, filaAFilaMs, bulkMs, (double) filaAFilaMs / Math.max(bulkMs, 1), repetidaMs);
+    }
+
+    private void filaAFila(Map<BulkTable, List<Object[]>> snapshot) {
+        tx.executeWithoutResult(status -> {
+            for (BulkTable t : BulkTable.values()) {
+                String cols = String.join(", ", t.columnas());
+                String params = String.join(", ", t.columnas().stream().map(c -> "?").toList());
+                String set = String.join(", ", t.columnas().subList(1, t.columnas().size()).stream()
+                        .map(c -> c + " = EXCLUDED." + c).toList());
+                String sql = "INSERT INTO " + t.tabla() + " (" + cols + ") VALUES (" + params + ")"
+                        + " ON CONFLICT (id) DO UPDATE SET " + set;
+                for (Object[] fila : snapshot.get(t)) {
+                    jdbc.update(sql, fila);
+                }
+            }
+        });
+    }
+
+    private static Map<BulkTable, List<Object[]>> sintetico(long semilla) {
+        Random r = new Random(semilla);
+        Map<BulkTable, List<Object[]>> filas = new EnumMap<>(BulkTable.class);
+        List<Object[]> sucursales = new ArrayList<>();
+        for (int i = 1; i <= SUCURSALES; i++) {
+            sucursales.add(new Object[] {i, "Sucursal " + i});
+        }
+        List<Object[]> centros = new ArrayList<>();
+        for (int i = 1; i <= CENTROS; i++) {
+            centros.add(new Object[] {i, "CC" + i, "Centro \"" + i + "\""});
+        }
+        List<Object[]> empleados = new ArrayList<>();
+        for (int i = 1; i <= EMPLEADOS; i++) {
+            empleados.add(new Object[] {i, i + "-" + (i % 10), "Nombre" + i, "Paterno" + r.nextInt(5000),
+                    r.nextInt(10) == 0 ? null : "Materno" + r.nextInt(5000), r.nextBoolean() ? "F" : "M",
+                    LocalDate.of(1960 + r.nextInt(45), 1 + r.nextInt(12), 1 + r.nextInt(28)), r.nextInt(50) == 0});
+        }
+        List<Object[]> contratos = new ArrayList<>();
+        for (int i = 1; i <= CONTRATOS; i++) {
+            LocalDate inicio = LocalDate.of(2010 + r.nextInt(15), 1 + r.nextInt(12), 1 + r.nextInt(28));
+            contratos.add(new Object[] {(long) i, 1 + r.nextInt(EMPLEADOS), "Cargo " + r.nextInt(300), null,
+                    1 + r.nextInt(CENTROS), 1 + r.nextInt(SUCURSALES), null, inicio, r.nextInt(4) != 0,
+                    inicio, r.nextInt(3) == 0 ? inicio.plusYears(1) : null});
+        }
+        filas.put(BulkTable.EMPLEADO, empleados);
+        filas.put(BulkTable.CENTRO_COSTO, centros);
+        filas.put(BulkTable.SUCURSAL, sucursales);
+        filas.put(BulkTable.CONTRATO, contratos);
+        filas.put(BulkTable.VACACIONES, List.of());
+        filas.put(BulkTable.LICENCIAS, List.of());
+        return filas;
+    }
+
+    private static void vaciar() {
+        jdbc.execute("TRUNCATE contrato, vacaciones, licencias, empleado, centro_costo, sucursal CASCADE");
+    }
+
+    private static long contar(String tabla) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + tabla, Long.class);
+    }
+}
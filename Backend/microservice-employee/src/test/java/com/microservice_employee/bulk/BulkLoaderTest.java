@@ -0,0 +1,41 @@
+package com.microservice_employee.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Líneas CSV que se mandan a COPY: nulls, comillas, booleanos y fechas en formato ISO.
+ */
+class BulkLoaderTest {
+
+    @Test
+    void textoEntreComillasYNullVacio() {
+        assertEquals("1,\"Pérez \"\"Pepe\"\"\",,t\n", linea(1, "Pérez \"Pepe\"", null, true));
+    }
+
+    @Test
+    void fechasLegadasEnIso() {
+        assertEquals("2024-03-01,2024-03-01T09:30,2024-03-01T12:00:00Z\n", linea(
+                java.sql.Date.valueOf(LocalDate.of(2024, 3, 1)),
+                Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 9, 30)),
+                Date.from(Instant.parse("2024-03-01T12:00:00Z"))));
+    }
+
+    @Test
+    void fechasJavaTimeTalCual() {
+        assertEquals("2024-03-01,2024-03-01T09:30\n", linea(LocalDate.of(2024, 3, 1), LocalDateTime.of(2024, 3, 1, 9, 30)));
+    }
+
+    private static String linea(Object... fila) {
+        StringBuilder buf = new StringBuilder();
+        BulkLoader.csv(buf, fila);
+        return buf.toString();
+    }
+}
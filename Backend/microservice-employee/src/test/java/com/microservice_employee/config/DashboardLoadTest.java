@@ -0,0 +1,113 @@
+package com.microservice_employee.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Carga concurrente con el mismo conjunto de requests que abre el Home (activos, stats y las
+ * dos series diarias) contra una instancia ya levantada, para comparar p50/p95/p99 entre
+ * {@code dashboard.execution.mode=platform} y {@code virtual}. Se corre una vez por modo:
+ * LOADTEST_BASE_URL=http://localhost:8082 LOADTEST_MODE=virtual [LOADTEST_USERS=200]
+ * [LOADTEST_SECONDS=30] [LOADTEST_PATHS=/api/db/stats,...]
+ * mvn test -Dmaven.test.skip=false -Dtest=DashboardLoadTest
+ * Para microservice-user basta con apuntar LOADTEST_BASE_URL y LOADTEST_PATHS a /api/user/...
+ */
+class DashboardLoadTest {
+
+    private static final String[] HOME = {
+            "/api/db/empleados/activos",
+            "/api/db/stats",
+            "/api/db/metrics/vacaciones/daily?days=1",
+            "/api/db/metrics/licencias/daily?days=1",
+    };
+
+    @Test
+    void latenciaBajoCargaConcurrente() throws Exception {
+        String base = System.getenv("LOADTEST_BASE_URL");
+        assumeTrue(base != null, "LOADTEST_BASE_URL no definido");
+        int usuarios = Integer.parseInt(System.getenv().getOrDefault("LOADTEST_USERS", "200"));
+        long segundos = Long.parseLong(System.getenv().getOrDefault("LOADTEST_SECONDS", "30"));
+        String modo = System.getenv().getOrDefault("LOADTEST_MODE", "?");
+        String[] rutas = System.getenv("LOADTEST_PATHS") != null
+                ? System.getenv("LOADTEST_PATHS").split(",") : HOME;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(32))
+                .build();
+        List<long[]> muestras = new ArrayList<>();
+        AtomicInteger errores = new AtomicInteger();
+        AtomicInteger rechazados = new AtomicInteger();
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+
+        // Cada usuario simula una apertura del Home tras otra: todas las rutas en paralelo, luego la siguiente
+        ExecutorService usuariosPool = Executors.newFixedThreadPool(usuarios);
+        for (int u = 0; u < usuarios; u++) {
+            long[] propias = new long[1 << 16];
+            AtomicInteger n = new AtomicInteger();
+            synchronized (muestras) {
+                muestras.add(propias);
+            }
+            usuariosPool.submit(() -> {
+                while (System.nanoTime() < fin) {
+                    List<CompletableFuture<Void>> enVuelo = new ArrayList<>(rutas.length);
+                    for (String ruta : rutas) {
+                        long t0 = System.nanoTime();
+                        HttpRequest req = HttpRequest.newBuilder(URI.create(base + ruta))
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        enVuelo.add(client.sendAsync(req, HttpResponse.BodyHandlers.discarding())
+                                .handle((resp, ex) -> {
+                                    if (ex != null || resp.statusCode() >= 500 && resp.statusCode() != 503) {
+                                        errores.incrementAndGet();
+                                    } else if (resp.statusCode() == 503) {
+                                        rechazados.incrementAndGet();
+                                    }
+                                    int i = n.getAndIncrement();
+                                    if (i < propias.length) {
+                                        propias[i] = System.nanoTime() - t0;
+                                    }
+                                    return null;
+                                }));
+                    }
+                    enVuelo.forEach(CompletableFuture::join);
+                }
+            });
+        }
+        usuariosPool.shutdown();
+        assertTrue(usuariosPool.awaitTermination(segundos + 60, TimeUnit.SECONDS));
+
+        long[] todas = muestras.stream()
+                .flatMapToLong(m -> Arrays.stream(m).takeWhile(v -> v > 0))
+                .sorted()
+                .toArray();
+        System.out.printf("modo=%s usuarios=%d requests=%d (%.0f req/s) 503=%d errores=%d "
+                        + "p50=%d ms p95=%d ms p99=%d ms max=%d ms%n",
+                modo, usuarios, todas.length, todas.length / (double) segundos, rechazados.get(), errores.get(),
+                percentil(todas, 50), percentil(todas, 95), percentil(todas, 99), percentil(todas, 100));
+        assertTrue(todas.length > 0);
+    }
+
+    private static long percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(ordenadas[Math.min(Math.max(i, 0), ordenadas.length - 1)]);
+    }
+}
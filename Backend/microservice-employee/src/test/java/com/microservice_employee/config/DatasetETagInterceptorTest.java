@@ -0,0 +1,83 @@
+package com.microservice_employee.config;
+
+import com.microservice_employee.service.DatasetVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * ETag del dataset: solo las respuestas 2xx lo llevan, y un If-None-Match vigente corta en 304.
+ */
+class DatasetETagInterceptorTest {
+
+    private MockMvc mvc;
+
+    @RestController
+    static class Lecturas {
+
+        @GetMapping("/api/db/ok")
+        List<Integer> ok() {
+            return List.of(1, 2, 3);
+        }
+
+        @GetMapping("/api/db/falla")
+        List<Integer> falla() {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "snapshot no disponible");
+        }
+    }
+
+    @BeforeEach
+    void armar() {
+        DatasetVersionService datasetVersion = new DatasetVersionService();
+        ReflectionTestUtils.setField(datasetVersion, "version", 7L);
+        mvc = MockMvcBuilders.standaloneSetup(new Lecturas())
+                .addInterceptors(new DatasetETagInterceptor(datasetVersion, CacheControl.noCache()))
+                .setControllerAdvice(new DatasetETagAdvice())
+                .build();
+    }
+
+    @Test
+    void respuestaExitosaLlevaValidadores() throws Exception {
+        MvcResult r = mvc.perform(get("/api/db/ok")).andReturn();
+
+        assertEquals(200, r.getResponse().getStatus());
+        assertNotNull(r.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("no-cache", r.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void etagVigenteResponde304() throws Exception {
+        String etag = mvc.perform(get("/api/db/ok")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult r = mvc.perform(get("/api/db/ok").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertEquals(304, r.getResponse().getStatus());
+        assertEquals(etag, r.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("", r.getResponse().getContentAsString());
+    }
+
+    @Test
+    void errorEs5xxSinEtagNiCacheControl() throws Exception {
+        MvcResult r = mvc.perform(get("/api/db/falla")).andReturn();
+
+        assertEquals(500, r.getResponse().getStatus());
+        assertNull(r.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNull(r.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+}
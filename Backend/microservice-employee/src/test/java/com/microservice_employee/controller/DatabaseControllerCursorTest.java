@@ -0,0 +1,78 @@
+package com.microservice_employee.controller;
+
+import com.microservice_common.pagination.CursorPage;
+import com.microservice_employee.model.Empleado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Paginación por cursor de /empleados sobre H2: recorrer las páginas entrega cada empleado
+ * una sola vez y en el mismo orden que la consulta completa, con nombres repetidos y nulos.
+ */
+class DatabaseControllerCursorTest {
+
+    private SingleConnectionDataSource ds;
+    private JdbcTemplate jdbc;
+    private DatabaseController controller;
+
+    @BeforeEach
+    void crearEsquema() {
+        ds = new SingleConnectionDataSource(
+                "jdbc:h2:mem:cursor;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table empleado (id int primary key, rut text, nombre text, ap_paterno text,"
+                + " ap_materno text, sexo text, fecha_nac date, discapacidad text)");
+        // Nombres repetidos (desempata el id), ap_paterno nulo y nombre nulo (van como texto vacío)
+        Object[][] filas = {
+                {5, "Ana", "Rojas"}, {2, "Ana", "Rojas"}, {9, "Ana", null}, {4, "Beatriz", "Díaz"},
+                {1, null, "Soto"}, {7, "Carlos", "Muñoz"}, {3, "Ana", "Pérez"}, {8, "Beatriz", "Díaz"},
+        };
+        for (Object[] f : filas) {
+            jdbc.update("insert into empleado (id, rut, nombre, ap_paterno) values (?, ?, ?, ?)",
+                    f[0], "rut-" + f[0], f[1], f[2]);
+        }
+
+        controller = new DatabaseController();
+        ReflectionTestUtils.setField(controller, "jdbcTemplate", jdbc);
+    }
+
+    @AfterEach
+    void borrar() {
+        jdbc.execute("DROP ALL OBJECTS");
+        ds.destroy();
+    }
+
+    @Test
+    void recorrerLasPaginasDaElOrdenCompletoSinRepetir() {
+        List<Integer> recorridos = new ArrayList<>();
+        String cursor = "";
+        int paginas = 0;
+        do {
+            CursorPage<Empleado> pagina = controller.getEmpleadosCursor(cursor, 3);
+            pagina.items().forEach(e -> recorridos.add(e.id()));
+            cursor = pagina.next();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(List.of(1, 9, 3, 2, 5, 4, 8, 7), recorridos);
+        assertEquals(3, paginas);
+    }
+
+    @Test
+    void paginaExactaNoDejaCursorColgando() {
+        CursorPage<Empleado> todo = controller.getEmpleadosCursor("", 8);
+
+        assertEquals(8, todo.items().size());
+        assertNull(todo.next());
+    }
+}
@@ -0,0 +1,47 @@
+package com.microservice_employee.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Planes sin constantes: los valores que PostgreSQL imprime en las condiciones no quedan en
+ * /actuator/slowqueries, pero costos, filas y nombres sí.
+ */
+class SlowQueryLogTest {
+
+    @Test
+    void planDeTextoSinValoresDeLaConsulta() {
+        String plan = """
+                Limit  (cost=0.43..8.45 rows=1 width=64) (actual time=0.020..0.021 rows=1 loops=1)
+                  ->  Index Scan using idx_vacaciones_fin on vacaciones v  (cost=0.43..8.45 rows=1 width=64)
+                        Index Cond: ((COALESCE(hasta, retorno) >= '2024-03-01'::date) AND (desde <= '2024-03-31'::date))
+                        Filter: ((empleado_id = 4521) AND (tipo = 'O''Higgins'::text) AND (dias > -1.5))
+                        Rows Removed by Filter: 12
+                Planning Time: 0.120 ms
+                """;
+
+        assertEquals("""
+                Limit  (cost=0.43..8.45 rows=1 width=64) (actual time=0.020..0.021 rows=1 loops=1)
+                  ->  Index Scan using idx_vacaciones_fin on vacaciones v  (cost=0.43..8.45 rows=1 width=64)
+                        Index Cond: ((COALESCE(hasta, retorno) >= ?::date) AND (desde <= ?::date))
+                        Filter: ((empleado_id = ?) AND (tipo = ?::text) AND (dias > ?))
+                        Rows Removed by Filter: 12
+                Planning Time: 0.120 ms
+                """, SlowQueryLog.sinConstantes(plan));
+    }
+
+    @Test
+    void planJsonSinValoresYTodaviaJson() {
+        String plan = """
+                [{"Plan": {"Node Type": "Index Scan", "Index Name": "idx_empleado_nombre_cursor",
+                  "Total Cost": 8.45,
+                  "Index Cond": "(ROW(COALESCE(nombre, ''::text), id) > ROW('Ana'::text, 17))",
+                  "Rows Removed by Filter": 0}}]
+                """;
+
+        String limpio = SlowQueryLog.sinConstantes(plan);
+
+        assertEquals(plan.replace("''::text), id) > ROW('Ana'::text, 17))", "?::text), id) > ROW(?::text, ?))"), limpio);
+    }
+}
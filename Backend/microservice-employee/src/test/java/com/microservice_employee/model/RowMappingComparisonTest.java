@@ -0,0 +1,96 @@
+package com.microservice_employee.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservice_employee.config.JacksonConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el camino antiguo (queryForList + Map) con las filas tipadas: el JSON tiene que ser
+ * idéntico byte a byte. Tiempo y asignación se miden en RowMappingBenchmark (módulo de benchmarks).
+ * Correr con: mvn test -Dmaven.test.skip=false -Dtest=RowMappingComparisonTest
+ */
+class RowMappingComparisonTest {
+
+    private static final int FILAS = 5_000;
+
+    private static final String VACACIONES_SQL = """
+        SELECT v.id, v.empleado_id, e.nombre || ' ' || e.ap_paterno as empleado_nombre, e.rut as empleado_rut,
+               v.desde, v.hasta, v.retorno, v.dias, v.medios_dias, v.fecha_aprobacion, v.tipo
+        FROM vacaciones v INNER JOIN empleado e ON v.empleado_id = e.id
+        ORDER BY v.desde DESC, v.id
+        """;
+
+    // H2 exige la columna del ORDER BY en el SELECT del DISTINCT ON; el SELECT externo deja solo las del contrato JSON
+    private static final String EMPLEADOS_ACTIVOS_SQL = """
+        SELECT empleado_id, "sucursalNombre", cargo, sexo, fecha_nacimiento, discapacidad
+        FROM (
+            SELECT DISTINCT ON (c.empleado_id)
+                c.empleado_id, COALESCE(s.nombre, 'Sin sucursal') AS "sucursalNombre", COALESCE(c.cargo, '') AS cargo,
+                e.sexo, e.fecha_nac AS fecha_nacimiento, e.discapacidad, c.fecha_contratacion
+            FROM contrato c
+            INNER JOIN empleado e ON c.empleado_id = e.id
+            LEFT JOIN sucursal s ON c.sucursal_id = s.id
+            WHERE c.vigente = true
+            ORDER BY c.empleado_id, c.fecha_contratacion DESC NULLS LAST
+        ) t
+        ORDER BY empleado_id
+        """;
+
+    private static JdbcTemplate jdbc;
+    private static ObjectMapper json;
+
+    @BeforeAll
+    static void cargarDatos() {
+        SingleConnectionDataSource ds = new SingleConnectionDataSource(
+                "jdbc:h2:mem:mapeo;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbc = new JdbcTemplate(ds);
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(JacksonConfig.rowsModule())
+                .build();
+
+        jdbc.execute("create table empleado (id int primary key, rut text, nombre text, ap_paterno text, ap_materno text, sexo char(1), fecha_nac date, discapacidad boolean)");
+        jdbc.execute("create table sucursal (id int primary key, nombre text)");
+        jdbc.execute("create table contrato (id bigint primary key, empleado_id int, cargo text, sucursal_id int, fecha_contratacion date, vigente boolean)");
+        jdbc.execute("create table vacaciones (id bigint primary key, empleado_id int, desde date, hasta date, retorno date, dias numeric, medios_dias int, fecha_aprobacion timestamp, tipo text)");
+        jdbc.update("insert into sucursal values (1, 'Santiago'), (2, 'Valparaíso')");
+        jdbc.batchUpdate("insert into empleado values (?, ?, ?, ?, ?, ?, DATEADD('DAY', -?, DATE '2000-01-01'), ?)",
+                java.util.stream.IntStream.range(0, FILAS).mapToObj(i -> new Object[]{
+                        i, "rut-" + i, "Nombre" + i, "Paterno" + i, i % 7 == 0 ? null : "Materno" + i,
+                        i % 2 == 0 ? "F" : "M", i % 9000, i % 25 == 0}).toList());
+        jdbc.batchUpdate("insert into contrato values (?, ?, ?, ?, DATEADD('DAY', -?, DATE '2024-01-01'), ?)",
+                java.util.stream.IntStream.range(0, FILAS * 2).mapToObj(i -> new Object[]{
+                        (long) i, i % FILAS, "Cargo " + (i % 40), i % 3 == 0 ? null : 1 + i % 2, i % 3000, i % 5 != 0}).toList());
+        jdbc.batchUpdate("insert into vacaciones values (?, ?, DATEADD('DAY', ?, DATE '2024-01-01'), DATEADD('DAY', ?, DATE '2024-01-05'), null, ?, ?, TIMESTAMP '2023-12-20 09:30:00', 'Legal')",
+                java.util.stream.IntStream.range(0, FILAS).mapToObj(i -> new Object[]{
+                        (long) i, i % FILAS, i % 300, i % 300, new java.math.BigDecimal("4.5"), i % 2}).toList());
+    }
+
+    @Test
+    void vacacionesMismoJson() throws Exception {
+        comparar("vacaciones",
+                () -> jdbc.queryForList(VACACIONES_SQL),
+                () -> jdbc.query(VACACIONES_SQL, Vacacion.MAPPER));
+    }
+
+    @Test
+    void empleadosActivosMismoJson() throws Exception {
+        comparar("empleados/activos",
+                () -> jdbc.queryForList(EMPLEADOS_ACTIVOS_SQL),
+                () -> jdbc.query(EMPLEADOS_ACTIVOS_SQL, EmpleadoActivo.MAPPER));
+    }
+
+    private void comparar(String nombre, Supplier<Object> mapas, Supplier<Object> tipadas) throws Exception {
+        assertEquals(json.writeValueAsString(mapas.get()), json.writeValueAsString(tipadas.get()),
+                "El contrato JSON de " + nombre + " cambió");
+    }
+}
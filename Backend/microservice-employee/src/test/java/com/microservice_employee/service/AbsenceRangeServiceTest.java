@@ -0,0 +1,137 @@
+package com.microservice_employee.service;
+
+import com.microservice_common.pagination.CursorPage;
+import com.microservice_employee.model.ContratoVigente;
+import com.microservice_employee.model.Licencia;
+import com.microservice_employee.model.Vacacion;
+import com.microservice_employee.service.AbsenceRangeService.Filtro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Rangos de vacaciones y licencias sobre H2: solape con la ventana, fin de respaldo
+ * ({@code retorno}, licencia abierta), orden {@code desde DESC, id DESC} y páginas por cursor.
+ */
+class AbsenceRangeServiceTest {
+
+    private static final LocalDate MARZO_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARZO_31 = LocalDate.of(2024, 3, 31);
+
+    private SingleConnectionDataSource ds;
+    private JdbcTemplate jdbc;
+    private AbsenceRangeService rangos;
+
+    private static ContratoVigente vigente(int empleadoId, int sucursalId) {
+        return new ContratoVigente(empleadoId, "r" + empleadoId, "N", "P", "F", null, null,
+                "Vendedor", "CC1", "Ventas", sucursalId, "Sucursal " + sucursalId, null);
+    }
+
+    private static Filtro marzo() {
+        return new Filtro(MARZO_1, MARZO_31, null, null, null);
+    }
+
+    @BeforeEach
+    void crearEsquema() {
+        ds = new SingleConnectionDataSource(
+                "jdbc:h2:mem:rangos;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table empleado (id int primary key, rut text, nombre text, ap_paterno text)");
+        jdbc.execute("create table vacaciones (id bigint primary key, empleado_id int, desde date, hasta date,"
+                + " retorno date, dias numeric, medios_dias int, fecha_aprobacion timestamp, tipo text)");
+        jdbc.execute("create table licencias (id bigint primary key, empleado_id int, desde date, hasta date,"
+                + " dias numeric, tipo text, fecha_solicitud timestamp)");
+        jdbc.update("insert into empleado values (1, 'r1', 'Ana', 'Soto'), (2, 'r2', 'Luis', 'Díaz')");
+        jdbc.update("insert into vacaciones (id, empleado_id, desde, hasta, retorno, tipo) values"
+                // Empezó antes de la ventana y termina dentro: entra
+                + " (1, 1, date '2024-02-20', date '2024-03-02', null, 'Legal'),"
+                // Terminó antes de la ventana: no entra
+                + " (2, 1, date '2024-02-01', date '2024-02-29', null, 'Legal'),"
+                // Sin hasta: el fin es el retorno
+                + " (3, 2, date '2024-02-25', null, date '2024-03-04', 'Progresiva'),"
+                + " (4, 2, date '2024-03-10', date '2024-03-12', null, 'Legal'),"
+                + " (5, 1, date '2024-03-10', date '2024-03-11', null, 'Legal'),"
+                // Empieza después de la ventana: no entra
+                + " (6, 1, date '2024-04-01', date '2024-04-05', null, 'Legal')");
+        jdbc.update("insert into licencias (id, empleado_id, desde, hasta, tipo) values"
+                + " (1, 1, date '2023-11-01', null, 'Maternal'),"
+                + " (2, 2, date '2024-01-10', date '2024-01-20', 'Común'),"
+                + " (3, 2, date '2024-03-15', date '2024-04-15', 'Común')");
+
+        ActiveWorkforceSnapshot dotacion = new ActiveWorkforceSnapshot();
+        ReflectionTestUtils.setField(dotacion, "actual", new ActiveWorkforceSnapshot.Plantilla(1, Instant.now(),
+                List.of(vigente(1, 10), vigente(2, 20))));
+        rangos = new AbsenceRangeService();
+        ReflectionTestUtils.setField(rangos, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(rangos, "dotacion", dotacion);
+    }
+
+    @AfterEach
+    void borrar() {
+        jdbc.execute("DROP ALL OBJECTS");
+        ds.destroy();
+    }
+
+    @Test
+    void vacacionesQueSeCruzanConLaVentanaEnOrdenDescendente() {
+        List<Long> ids = rangos.vacaciones(marzo()).stream().map(Vacacion::id).toList();
+
+        assertEquals(List.of(5L, 4L, 3L, 1L), ids);
+    }
+
+    @Test
+    void licenciaSinHastaQuedaAbierta() {
+        List<Long> ids = rangos.licencias(marzo()).stream().map(Licencia::id).toList();
+
+        assertEquals(List.of(3L, 1L), ids);
+    }
+
+    @Test
+    void filtrosPorEmpleadoSucursalYTipo() {
+        assertEquals(List.of(5L, 1L), rangos.vacaciones(new Filtro(MARZO_1, MARZO_31, null, 1, null))
+                .stream().map(Vacacion::id).toList());
+        assertEquals(List.of(4L, 3L), rangos.vacaciones(new Filtro(MARZO_1, MARZO_31, 20, null, null))
+                .stream().map(Vacacion::id).toList());
+        assertEquals(List.of(3L), rangos.vacaciones(new Filtro(MARZO_1, MARZO_31, null, null, "Progresiva"))
+                .stream().map(Vacacion::id).toList());
+        // Sucursal sin dotación vigente: vacío sin consultar
+        assertEquals(List.of(), rangos.vacaciones(new Filtro(MARZO_1, MARZO_31, 99, null, null)));
+    }
+
+    @Test
+    void paginasPorCursorRecorrenElMismoOrden() {
+        List<Long> recorridos = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Vacacion> pagina = rangos.vacaciones(marzo(), cursor, 3);
+            pagina.items().forEach(v -> recorridos.add(v.id()));
+            cursor = pagina.next();
+        } while (cursor != null);
+
+        assertEquals(List.of(5L, 4L, 3L, 1L), recorridos);
+    }
+
+    @Test
+    void ventanaInvalidaYCursorAjenoSonBadRequest() {
+        ResponseStatusException invertida = assertThrows(ResponseStatusException.class,
+                () -> rangos.licencias(new Filtro(MARZO_31, MARZO_1, null, null, null)));
+        ResponseStatusException cursor = assertThrows(ResponseStatusException.class,
+                () -> rangos.licencias(marzo(), "no-es-un-cursor", 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, invertida.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, cursor.getStatusCode());
+    }
+}
@@ -0,0 +1,73 @@
+package com.microservice_employee.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Catálogos sobre el esquema de las migraciones (H2 en modo PostgreSQL): cada consulta tiene
+ * que calzar con V1/V2 y la falla de un catálogo no puede tumbar a los otros, pero sí
+ * tiene que llegar a quien publicó el cambio de versión.
+ */
+class CatalogServiceTest {
+
+    private SingleConnectionDataSource ds;
+    private JdbcTemplate jdbc;
+    private CatalogService catalogos;
+
+    @BeforeEach
+    void crearEsquema() {
+        ds = new SingleConnectionDataSource(
+                "jdbc:h2:mem:catalogos;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__init.sql"),
+                new ClassPathResource("db/migration/V2__licencias.sql")).execute(ds);
+        jdbc = new JdbcTemplate(ds);
+        jdbc.update("insert into centro_costo values (1, 'CC-01', 'Operaciones'), (2, 'CC-02', 'Administración')");
+        jdbc.update("insert into sucursal values (1, 'Valparaíso'), (2, 'Santiago')");
+        catalogos = new CatalogService();
+        ReflectionTestUtils.setField(catalogos, "jdbcTemplate", jdbc);
+    }
+
+    @AfterEach
+    void borrar() {
+        jdbc.execute("DROP ALL OBJECTS");
+        ds.destroy();
+    }
+
+    @Test
+    void leeCadaCatalogoDelEsquemaDeLasMigraciones() {
+        List<Map<String, Object>> centros = catalogos.centrosCosto();
+        assertEquals(List.of("Administración", "Operaciones"), centros.stream().map(c -> c.get("nombre")).toList());
+        assertEquals("CC-02", centros.get(0).get("codigo"));
+
+        List<Map<String, Object>> sucursales = catalogos.sucursales();
+        assertEquals(List.of("Santiago", "Valparaíso"), sucursales.stream().map(s -> s.get("nombre")).toList());
+        assertEquals(2, sucursales.get(0).get("id"));
+
+        assertTrue(catalogos.tiposContrato().isEmpty());
+    }
+
+    @Test
+    void unCatalogoRotoNoTumbaALosDemas() {
+        catalogos.sucursales();
+        jdbc.execute("DROP TABLE centro_costo CASCADE");
+        jdbc.update("insert into sucursal values (3, 'Concepción')");
+
+        assertThrows(RuntimeException.class, () -> catalogos.alCambiarDataset(new DatasetChangedEvent(2)));
+
+        assertEquals(3, catalogos.sucursales().size());
+        assertThrows(RuntimeException.class, catalogos::centrosCosto);
+    }
+}
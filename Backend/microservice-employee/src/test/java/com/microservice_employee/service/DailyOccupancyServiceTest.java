@@ -0,0 +1,136 @@
+package com.microservice_employee.service;
+
+import com.microservice_employee.service.DailyOccupancyService.Intervalo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Barrido de ocupación diaria: recorte a la ventana, fin inclusivo, orden de personas y
+ * los mismos totales con y sin personas. Las consultas corren sobre H2.
+ */
+class DailyOccupancyServiceTest {
+
+    private static final LocalDate D1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate D5 = LocalDate.of(2024, 3, 5);
+
+    private SingleConnectionDataSource ds;
+    private JdbcTemplate jdbc;
+    private DailyOccupancyService ocupacion;
+
+    @BeforeEach
+    void crearEsquema() {
+        ds = new SingleConnectionDataSource(
+                "jdbc:h2:mem:ocupacion;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table empleado (id int primary key, rut text, nombre text, ap_paterno text)");
+        jdbc.execute("create table licencias (id bigint primary key, empleado_id int, desde date, hasta date)");
+        jdbc.update("insert into empleado values (1, 'r1', 'Ana', 'Soto'), (2, 'r2', 'Luis', 'Díaz')");
+
+        ActiveWorkforceSnapshot dotacion = new ActiveWorkforceSnapshot();
+        ReflectionTestUtils.setField(dotacion, "actual",
+                new ActiveWorkforceSnapshot.Plantilla(1, Instant.now(), List.of()));
+        ocupacion = new DailyOccupancyService();
+        ReflectionTestUtils.setField(ocupacion, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(ocupacion, "dotacion", dotacion);
+    }
+
+    @AfterEach
+    void borrar() {
+        jdbc.execute("DROP ALL OBJECTS");
+        ds.destroy();
+    }
+
+    private static Intervalo intervalo(String rut, String inicio, String fin) {
+        return new Intervalo(LocalDate.parse(inicio), LocalDate.parse(fin), Map.of("rut", rut));
+    }
+
+    private static List<Integer> totales(List<Map<String, Object>> serie) {
+        return serie.stream().map(p -> (Integer) p.get("total")).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> ruts(Map<String, Object> punto) {
+        return ((List<Map<String, Object>>) punto.get("personas")).stream().map(p -> (String) p.get("rut")).toList();
+    }
+
+    @Test
+    void totalesConRecorteYFinInclusivo() {
+        List<Intervalo> intervalos = List.of(
+                intervalo("a", "2024-02-20", "2024-03-02"),
+                intervalo("b", "2024-03-02", "2024-03-02"),
+                intervalo("c", "2024-03-04", "2024-04-30"),
+                intervalo("d", "2024-02-01", "2024-02-28"));
+
+        List<Map<String, Object>> serie = DailyOccupancyService.barrer(intervalos, D1, D5, false);
+
+        assertEquals(List.of("2024-03-01", "2024-03-02", "2024-03-03", "2024-03-04", "2024-03-05"),
+                serie.stream().map(p -> p.get("fecha")).toList());
+        assertEquals(List.of(1, 2, 0, 1, 1), totales(serie));
+        assertFalse(serie.get(0).containsKey("personas"));
+    }
+
+    @Test
+    void personasEntranYSalenEnOrdenDeInicio() {
+        List<Intervalo> intervalos = List.of(
+                intervalo("a", "2024-02-20", "2024-03-03"),
+                intervalo("b", "2024-03-02", "2024-03-04"),
+                intervalo("c", "2024-03-02", "2024-03-02"));
+
+        List<Map<String, Object>> serie = DailyOccupancyService.barrer(intervalos, D1, D5, true);
+
+        assertEquals(List.of("a"), ruts(serie.get(0)));
+        assertEquals(List.of("a", "b", "c"), ruts(serie.get(1)));
+        assertEquals(List.of("a", "b"), ruts(serie.get(2)));
+        assertEquals(List.of("b"), ruts(serie.get(3)));
+        assertEquals(List.of(), ruts(serie.get(4)));
+        assertEquals(List.of(1, 3, 2, 1, 0), totales(serie));
+    }
+
+    @Test
+    void conYSinPersonasDanLosMismosTotales() {
+        List<Intervalo> intervalos = List.of(
+                intervalo("a", "2023-12-01", "9999-12-31"),
+                intervalo("b", "2024-03-05", "2024-03-10"),
+                intervalo("c", "2024-03-01", "2024-03-01"),
+                intervalo("d", "2024-03-06", "2024-03-07"));
+
+        List<Map<String, Object>> soloTotales = DailyOccupancyService.barrer(intervalos, D1, D5, false);
+        List<Map<String, Object>> conPersonas = DailyOccupancyService.barrer(intervalos, D1, D5, true);
+
+        assertEquals(List.of(2, 1, 1, 1, 2), totales(soloTotales));
+        assertEquals(totales(soloTotales), totales(conPersonas));
+    }
+
+    @Test
+    void ventanaDeUnDia() {
+        List<Map<String, Object>> serie = DailyOccupancyService.barrer(
+                List.of(intervalo("a", "2024-03-01", "2024-03-01")), D1, D1, true);
+
+        assertEquals(1, serie.size());
+        assertEquals(List.of("a"), ruts(serie.get(0)));
+    }
+
+    @Test
+    void licenciaSinHastaSigueActivaHastaElFinDeLaVentana() {
+        jdbc.update("insert into licencias values (1, 1, date '2024-02-10', null),"
+                + " (2, 2, date '2024-03-02', date '2024-03-03'), (3, 2, date '2024-03-04', null)");
+
+        List<Map<String, Object>> serie = ocupacion.licencias(D1, D5, true);
+
+        assertEquals(List.of(1, 2, 2, 2, 2), totales(serie));
+        assertEquals(List.of("r1", "r2"), ruts(serie.get(4)));
+        assertEquals(totales(serie), totales(ocupacion.licencias(D1, D5, false)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.microservice_employee.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Versión del dataset leída de la tabla dataset_version (la que sube el trigger de V6), el
+ * respaldo cuando la tabla no existe y el reintento cuando una caché no se pudo reconstruir.
+ */
+class DatasetVersionServiceTest {
+
+    private SingleConnectionDataSource ds;
+    private JdbcTemplate jdbc;
+    private DatasetVersionService datasetVersion;
+    private final List<Object> eventos = new ArrayList<>();
+
+    @BeforeEach
+    void crearTabla() {
+        ds = new SingleConnectionDataSource(
+                "jdbc:h2:mem:version;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table dataset_version (id boolean default true primary key, version bigint not null)");
+        jdbc.update("insert into dataset_version values (true, 41)");
+        datasetVersion = new DatasetVersionService();
+        ReflectionTestUtils.setField(datasetVersion, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(datasetVersion, "events", (ApplicationEventPublisher) eventos::add);
+        ReflectionTestUtils.setField(datasetVersion, "watermarkSqlOverride", "");
+    }
+
+    @AfterEach
+    void borrar() {
+        jdbc.execute("DROP ALL OBJECTS");
+        ds.destroy();
+    }
+
+    @Test
+    void publicaSoloCuandoElContadorCambia() {
+        datasetVersion.revisar();
+        datasetVersion.revisar();
+        jdbc.update("update dataset_version set version = version + 1");
+        datasetVersion.marcarCambio();
+
+        assertEquals(42, datasetVersion.version());
+        assertEquals(List.of(new DatasetChangedEvent(41), new DatasetChangedEvent(42)), eventos);
+    }
+
+    @Test
+    void sinTablaConservaLaUltimaVersion() {
+        datasetVersion.revisar();
+        jdbc.execute("drop table dataset_version");
+        datasetVersion.revisar();
+
+        assertEquals(41, datasetVersion.version());
+        assertEquals(1, eventos.size());
+    }
+
+    @Test
+    void siUnaCacheFallaNoAdoptaLaVersionYReintenta() {
+        int[] fallas = {1};
+        ReflectionTestUtils.setField(datasetVersion, "events", (ApplicationEventPublisher) evento -> {
+            eventos.add(evento);
+            if (fallas[0]-- > 0) {
+                throw new IllegalStateException("conexión cerrada");
+            }
+        });
+
+        datasetVersion.revisar();
+        assertEquals(-1, datasetVersion.version());
+
+        datasetVersion.revisar();
+        assertEquals(41, datasetVersion.version());
+        assertEquals(List.of(new DatasetChangedEvent(41), new DatasetChangedEvent(41)), eventos);
+    }
+
+    @Test
+    void sinTablaUsaLaActividadDePgStat() {
+        jdbc.execute("drop table dataset_version");
+        // Lo mínimo de las vistas de estadísticas de PostgreSQL que lee el respaldo
+        jdbc.execute("create table pg_stat_user_tables (relname text, n_tup_ins bigint, n_tup_upd bigint, n_tup_del bigint)");
+        jdbc.execute("create table pg_stat_database (datname text, stats_reset timestamp)");
+        jdbc.update("insert into pg_stat_user_tables values ('empleado', 10, 0, 0), ('contrato', 5, 1, 0), ('otra', 99, 0, 0)");
+        jdbc.update("insert into pg_stat_database values (current_database(), null)");
+
+        datasetVersion.revisar();
+        long primera = datasetVersion.version();
+        jdbc.update("update pg_stat_user_tables set n_tup_upd = n_tup_upd + 1 where relname = 'contrato'");
+        datasetVersion.revisar();
+
+        assertTrue(primera >= 0);
+        assertNotEquals(primera, datasetVersion.version());
+        assertEquals(2, eventos.size());
+    }
+
+    @Test
+    void laHuellaCambiaConUnReinicioAunqueLosContadoresVuelvanACero() {
+        long antes = DatasetVersionService.huella(500, 1_700_000_000L, 0);
+        long despues = DatasetVersionService.huella(0, 1_700_086_400L, 0);
+        long reset = DatasetVersionService.huella(500, 1_700_000_000L, 1_700_050_000L);
+
+        assertNotEquals(antes, despues);
+        assertNotEquals(antes, reset);
+        assertTrue(antes >= 0 && despues >= 0 && reset >= 0);
+    }
+}
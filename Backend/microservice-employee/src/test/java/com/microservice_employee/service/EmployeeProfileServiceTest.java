@@ -0,0 +1,95 @@
+package com.microservice_employee.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Perfil compuesto sobre H2: las consultas que pasan el plazo se cortan en la base y no
+ * siguen ocupando el hilo (ni la conexión) después de responder 503.
+ */
+class EmployeeProfileServiceTest {
+
+    private SingleConnectionDataSource ds;
+    private JdbcTemplate jdbc;
+    private EmployeeProfileService perfiles;
+
+    @BeforeEach
+    void crearEsquema() {
+        ds = new SingleConnectionDataSource(
+                "jdbc:h2:mem:perfil;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table vacaciones_base (id bigint primary key, empleado_id int, desde date, hasta date,"
+                + " retorno date, dias numeric, medios_dias int, fecha_aprobacion timestamp, tipo text)");
+        // El producto cruzado no aporta filas pero recorre 36M combinaciones: varios segundos de consulta
+        jdbc.execute("create view vacaciones as select * from vacaciones_base union all"
+                + " select a.* from vacaciones_base a, vacaciones_base b where a.id + b.id < 0");
+        jdbc.batchUpdate("insert into vacaciones_base values (?, 7, date '2024-01-01', null, null, 1, 0, null, 'Legal')",
+                IntStream.rangeClosed(1, 6000).mapToObj(i -> new Object[]{i}).toList());
+
+        perfiles = new EmployeeProfileService();
+        ReflectionTestUtils.setField(perfiles, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(perfiles, "hilos", 1);
+        ReflectionTestUtils.setField(perfiles, "cola", 4);
+        ReflectionTestUtils.setField(perfiles, "timeoutMs", 1000L);
+        perfiles.iniciar();
+    }
+
+    @AfterEach
+    void borrar() {
+        perfiles.cerrar();
+        jdbc.execute("DROP ALL OBJECTS");
+        ds.destroy();
+    }
+
+    @Test
+    void laConsultaQuePasaElPlazoSeCancelaEnLaBase() throws Exception {
+        long t0 = System.nanoTime();
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> perfiles.perfil(7, EnumSet.of(EmployeeProfileService.Parte.VACACIONES)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+
+        // Sin query timeout la consulta seguiría corriendo varios segundos más en el hilo del executor
+        ThreadPoolExecutor consultas = (ThreadPoolExecutor) ReflectionTestUtils.getField(perfiles, "consultas");
+        while (consultas.getActiveCount() > 0 && System.nanoTime() - t0 < 10_000_000_000L) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, consultas.getActiveCount());
+        assertTrue(System.nanoTime() - t0 < 3_000_000_000L, "la consulta no se cortó con el plazo");
+    }
+
+    @Test
+    void dentroDelPlazoDevuelveLasFilas() {
+        jdbc.update("delete from vacaciones_base where id > 3");
+        Map<String, Object> perfil = perfiles.perfil(7, EnumSet.of(EmployeeProfileService.Parte.VACACIONES));
+        assertEquals(7, perfil.get("empleadoId"));
+        assertEquals(3, ((List<?>) perfil.get("vacaciones")).size());
+    }
+
+    @Test
+    void detallesSinIdsValidosEsBadRequest() {
+        List<Integer> soloNull = new ArrayList<>();
+        soloNull.add(null);
+        for (List<Integer> ids : Arrays.asList(null, List.<Integer>of(), soloNull)) {
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> perfiles.detalles(ids));
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.microservice_employee.service;
+
+import com.microservice_employee.model.ContratoVigente;
+import com.microservice_employee.service.WorkforceAggregationService.Dimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Agregación de la dotación activa sobre un snapshot armado a mano: conteos por grupo,
+ * tramos de edad del gráfico de Home, discapacidad como la lee el front y el cache por snapshot.
+ */
+class WorkforceAggregationServiceTest {
+
+    private static final LocalDate HOY = LocalDate.now();
+
+    private ActiveWorkforceSnapshot dotacion;
+    private WorkforceAggregationService agregacion;
+
+    private static ContratoVigente empleado(int id, String sexo, Integer edad, Object discapacidad, String sucursal) {
+        LocalDate nacimiento = edad == null ? null : HOY.minusYears(edad);
+        return new ContratoVigente(id, "rut-" + id, "N" + id, "P" + id, sexo, nacimiento, discapacidad,
+                "Vendedor", "CC1", "Ventas", 1, sucursal, null);
+    }
+
+    private void publicar(long version, List<ContratoVigente> filas) {
+        ReflectionTestUtils.setField(dotacion, "actual",
+                new ActiveWorkforceSnapshot.Plantilla(version, Instant.now(), filas));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> grupos(Dimension... dimensiones) {
+        return (List<Map<String, Object>>) agregacion.agregar(List.of(dimensiones)).get("grupos");
+    }
+
+    @BeforeEach
+    void armar() {
+        dotacion = new ActiveWorkforceSnapshot();
+        agregacion = new WorkforceAggregationService();
+        ReflectionTestUtils.setField(agregacion, "dotacion", dotacion);
+        publicar(1, List.of(
+                empleado(1, "F", 17, null, "Centro"),
+                empleado(2, "F", 18, Boolean.TRUE, "Centro"),
+                empleado(3, "M", 25, "", "Norte"),
+                empleado(4, "M", 26, "Auditiva", "Norte"),
+                empleado(5, "F", 60, Boolean.FALSE, "Centro"),
+                empleado(6, null, 61, null, null),
+                empleado(7, "M", null, null, "Norte")));
+    }
+
+    @Test
+    void sinDimensionesSoloTotal() {
+        Map<String, Object> r = agregacion.agregar(List.of());
+
+        assertEquals(7, r.get("total"));
+        assertEquals(1, grupos().size());
+        assertEquals(7L, grupos().get(0).get("cantidad"));
+    }
+
+    @Test
+    void tramosDeEdadComoElGraficoDeHome() {
+        Map<String, Long> porTramo = new TreeMap<>();
+        grupos(Dimension.EDAD).forEach(g -> porTramo.put((String) g.get("edad"), (Long) g.get("cantidad")));
+
+        assertEquals(Map.of("<18", 1L, "18-25", 2L, "26-35", 1L, "46-60", 1L, "60+", 1L, "Sin dato", 1L), porTramo);
+    }
+
+    @Test
+    void gruposCruzadosOrdenadosPorCantidadConEdadPromedio() {
+        List<Map<String, Object>> g = grupos(Dimension.SEXO, Dimension.SUCURSAL);
+
+        assertEquals(List.of("sexo", "sucursal", "cantidad", "edadPromedio"), List.copyOf(g.get(0).keySet()));
+        assertEquals(Map.of("sexo", "F", "sucursal", "Centro"), Map.of("sexo", g.get(0).get("sexo"),
+                "sucursal", g.get(0).get("sucursal")));
+        assertEquals(3L, g.get(0).get("cantidad"));
+        assertEquals(31.67, g.get(0).get("edadPromedio"));
+        // M/Norte: 3 personas, una sin fecha de nacimiento (no cuenta para el promedio)
+        assertEquals(3L, g.get(1).get("cantidad"));
+        assertEquals(25.5, g.get(1).get("edadPromedio"));
+        assertEquals(Map.of("sexo", "Sin dato", "sucursal", "Sin dato"), Map.of("sexo", g.get(2).get("sexo"),
+                "sucursal", g.get(2).get("sucursal")));
+    }
+
+    @Test
+    void discapacidadComoLaLeeElFront() {
+        Map<String, Long> porValor = new TreeMap<>();
+        grupos(Dimension.DISCAPACIDAD).forEach(g -> porValor.put((String) g.get("discapacidad"), (Long) g.get("cantidad")));
+
+        assertEquals(Map.of("si", 2L, "no", 5L), porValor);
+    }
+
+    @Test
+    void reusaElCalculoHastaElProximoSnapshot() {
+        List<Map<String, Object>> primero = grupos(Dimension.SEXO);
+        assertSame(primero, grupos(Dimension.SEXO));
+
+        publicar(2, List.of(empleado(1, "F", 30, null, "Centro")));
+        List<Map<String, Object>> nuevo = grupos(Dimension.SEXO);
+
+        assertEquals(1, nuevo.size());
+        assertEquals(1L, nuevo.get(0).get("cantidad"));
+        assertEquals(2L, agregacion.agregar(List.of()).get("version"));
+    }
+
+    @Test
+    void dimensionDesconocidaEsBadRequest() {
+        assertEquals(Dimension.CENTRO_COSTO, Dimension.of(" centroCosto "));
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> Dimension.of("comuna"));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+}
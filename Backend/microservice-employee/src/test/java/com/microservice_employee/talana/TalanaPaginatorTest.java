@@ -0,0 +1,174 @@
+package com.microservice_employee.talana;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Paginador y cliente de Talana contra un servidor HTTP local que imita las respuestas
+ * paginadas de DRF (count/next/results), con fallas transitorias y latencia.
+ */
+class TalanaPaginatorTest {
+
+    private static final int TOTAL = 1_050;
+    private static final int POR_PAGINA = 100;
+
+    private HttpServer server;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger maxEnCurso = new AtomicInteger();
+    private final Map<Integer, AtomicInteger> intentosPorPagina = new ConcurrentHashMap<>();
+    private final CountDownLatch escribiendo = new CountDownLatch(2);
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/es/api/contrato-paginado/", this::responder);
+        server.createContext("/es/api/roto/", ex -> enviar(ex, 503, "{}"));
+        // La página 2 falla cuando las otras dos ya se están escribiendo; las demás traen un registro
+        server.createContext("/es/api/mixto/", ex -> {
+            if (param(ex, "page").equals("2")) {
+                try {
+                    escribiendo.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                enviar(ex, 503, "{}");
+            } else {
+                enviar(ex, 200, "{\"next\":\"http://x/\",\"results\":[{\"id\":" + param(ex, "page") + "}]}");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void detener() {
+        server.stop(0);
+    }
+
+    @Test
+    void recorreTodasLasPaginasConParalelismoAcotadoYReintentos() {
+        TalanaPaginator paginator = new TalanaPaginator(cliente(5), POR_PAGINA, 3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        TalanaPaginator.Resumen resumen = paginator.recorrer(
+                new TalanaPaginator.Feed("contratos", "contrato-paginado/", Map.of(), "per_page"),
+                pagina -> CompletableFuture.runAsync(() -> pagina.items().forEach(n -> ids.add(n.get("id").asLong()))))
+                .join();
+
+        assertEquals(TOTAL, resumen.items());
+        assertEquals(11, resumen.paginas());
+        assertEquals(TOTAL, ids.size());
+        assertTrue(maxEnCurso.get() <= 3, "páginas simultáneas: " + maxEnCurso.get());
+        // Cada página falla una vez con 503 antes de responder
+        assertTrue(intentosPorPagina.values().stream().allMatch(n -> n.get() == 2));
+    }
+
+    @Test
+    void fallaTrasAgotarLosIntentos() {
+        TalanaPaginator paginator = new TalanaPaginator(cliente(3), POR_PAGINA, 2);
+        CompletionException ex = assertThrows(CompletionException.class, () -> paginator.recorrer(
+                new TalanaPaginator.Feed("roto", "roto/", Map.of(), "page_size"),
+                pagina -> CompletableFuture.completedFuture(null)).join());
+        assertInstanceOf(TalanaException.class, ex.getCause());
+    }
+
+    @Test
+    void anteUnaFallaEsperaQueTerminenLasPaginasEnCurso() {
+        TalanaPaginator paginator = new TalanaPaginator(cliente(1), 1, 3);
+        AtomicInteger empezadas = new AtomicInteger();
+        AtomicInteger terminadas = new AtomicInteger();
+
+        assertThrows(CompletionException.class, () -> paginator.recorrer(
+                new TalanaPaginator.Feed("mixto", "mixto/", Map.of(), "page_size"),
+                pagina -> CompletableFuture.runAsync(() -> {
+                    empezadas.incrementAndGet();
+                    escribiendo.countDown();
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    terminadas.incrementAndGet();
+                })).join());
+
+        assertEquals(2, empezadas.get());
+        assertEquals(empezadas.get(), terminadas.get(), "el recorrido terminó con páginas escribiéndose");
+    }
+
+    private TalanaClient cliente(int maxIntentos) {
+        URI base = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/es/api");
+        return new TalanaClient(HttpClient.newHttpClient(), base, "token", Duration.ofSeconds(5),
+                new Backoff(Duration.ofMillis(10), Duration.ofMillis(50), maxIntentos), new ObjectMapper());
+    }
+
+    private void responder(HttpExchange ex) throws IOException {
+        int actual = enCurso.incrementAndGet();
+        maxEnCurso.accumulateAndGet(actual, Math::max);
+        try {
+            int pagina = Integer.parseInt(param(ex, "page"));
+            if (intentosPorPagina.computeIfAbsent(pagina, k -> new AtomicInteger()).incrementAndGet() == 1) {
+                enviar(ex, 503, "{}");
+                return;
+            }
+            Thread.sleep(20);
+            int desde = (pagina - 1) * POR_PAGINA;
+            if (desde >= TOTAL) {
+                enviar(ex, 404, "{\"detail\":\"Invalid page.\"}");
+                return;
+            }
+            int hasta = Math.min(desde + POR_PAGINA, TOTAL);
+            StringBuilder results = new StringBuilder();
+            for (int i = desde; i < hasta; i++) {
+                results.append(i == desde ? "" : ",").append("{\"id\":").append(i + 1).append('}');
+            }
+            String next = hasta < TOTAL ? "\"http://x/?page=" + (pagina + 1) + "\"" : "null";
+            enviar(ex, 200, "{\"count\":" + TOTAL + ",\"next\":" + next + ",\"results\":[" + results + "]}");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            enCurso.decrementAndGet();
+        }
+    }
+
+    private static String param(HttpExchange ex, String nombre) {
+        for (String par : ex.getRequestURI().getQuery().split("&")) {
+            String[] kv = par.split("=", 2);
+            if (kv[0].equals(nombre)) {
+                return kv[1];
+            }
+        }
+        return "";
+    }
+
+    private static void enviar(HttpExchange ex, int status, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        ex.sendResponseHeaders(status, bytes.length);
+        ex.getResponseBody().write(bytes);
+        ex.close();
+    }
+}
@@ -0,0 +1,79 @@
+package com.microservice.gateway.microservice_gateway.auth;
+
+import com.microservice_common.auth.RevocationList;
+import com.microservice_common.auth.TokenClaims;
+import com.microservice_common.auth.TokenCodec;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Verifica el token Bearer en el gateway sin salir del proceso: firma HS256, expiración y
+ * lista local de revocados. Los claims quedan como atributo del exchange. Con
+ * {@code exigir = false} los requests sin token válido se enrutan igual; las rutas
+ * públicas (login, lista de revocados) nunca se exigen.
+ */
+public class TokenAuthGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenCodec codec;
+    private final RevocationList revocados;
+    private final boolean exigir;
+    private final List<String> publicas;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public TokenAuthGlobalFilter(TokenCodec codec, RevocationList revocados, boolean exigir, List<String> publicas) {
+        this.codec = codec;
+        this.revocados = revocados;
+        this.exigir = exigir;
+        this.publicas = publicas;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (HttpMethod.OPTIONS.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        TokenClaims claims = header != null && header.startsWith(BEARER)
+                ? codec.verificar(header.substring(BEARER.length()).trim(), System.currentTimeMillis() / 1000)
+                : null;
+        if (claims != null && revocados.revocado(claims)) {
+            claims = null;
+        }
+        if (claims != null) {
+            exchange.getAttributes().put(TokenClaims.ATRIBUTO, claims);
+        } else if (exigir && !publica(request.getPath().value())) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    private boolean publica(String ruta) {
+        for (String patron : publicas) {
+            if (matcher.match(patron, ruta)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        // Antes del ruteo y de cualquier filtro que llame a los servicios
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
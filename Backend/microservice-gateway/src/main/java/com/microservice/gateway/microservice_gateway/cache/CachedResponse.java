@@ -0,0 +1,28 @@
+package com.microservice.gateway.microservice_gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Respuesta 200 guardada: headers del upstream (sin los de transporte), cuerpo y vigencia.
+ * {@code revalidar} marca las respuestas que el upstream pidió revalidar siempre
+ * ({@code no-cache} / {@code max-age=0}); esas solo se sirven tras un 304 con su ETag.
+ */
+public record CachedResponse(HttpHeaders headers, byte[] cuerpo, String etag, long expiraNanos, boolean revalidar) {
+
+    public boolean fresca(long ahoraNanos) {
+        return !revalidar && ahoraNanos - expiraNanos < 0;
+    }
+
+    /** Se puede revalidar con If-None-Match en vez de volver a traer el cuerpo. */
+    public boolean revalidable() {
+        return etag != null;
+    }
+
+    public CachedResponse renovada(long expiraNanos) {
+        return new CachedResponse(headers, cuerpo, etag, expiraNanos, revalidar);
+    }
+
+    public long tamano() {
+        return cuerpo.length + 256L * headers.size();
+    }
+}
@@ -0,0 +1,109 @@
+package com.microservice.gateway.microservice_gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Almacén LRU compartido por todas las rutas con el filtro ResponseCache, acotado por
+ * cantidad de entradas y por bytes totales. También lleva los requests en vuelo para el
+ * single flight y los contadores que expone el endpoint de actuator {@code responsecache}.
+ */
+@Component
+public class ResponseCache {
+
+    @Value("${gateway.cache.max-entries:500}")
+    private int maxEntradas;
+
+    @Value("${gateway.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    private final LinkedHashMap<String, CachedResponse> entradas = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<CachedResponse>>> enVuelo =
+            new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public synchronized CachedResponse get(String clave) {
+        return entradas.get(clave);
+    }
+
+    public synchronized void put(String clave, CachedResponse respuesta) {
+        CachedResponse anterior = entradas.remove(clave);
+        if (anterior != null) {
+            bytes -= anterior.tamano();
+        }
+        if (respuesta.tamano() > maxBytes) {
+            return;
+        }
+        entradas.put(clave, respuesta);
+        bytes += respuesta.tamano();
+        Iterator<CachedResponse> masAntiguas = entradas.values().iterator();
+        while ((entradas.size() > maxEntradas || bytes > maxBytes) && masAntiguas.hasNext()) {
+            bytes -= masAntiguas.next().tamano();
+            masAntiguas.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized void clear() {
+        entradas.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Registra {@code propio} como el request en vuelo para la clave; si ya había uno,
+     * devuelve ese y el llamador debe esperarlo en vez de ir al upstream.
+     */
+    CompletableFuture<Optional<CachedResponse>> unirse(String clave,
+                                                       CompletableFuture<Optional<CachedResponse>> propio) {
+        return enVuelo.putIfAbsent(clave, propio);
+    }
+
+    void terminar(String clave, CompletableFuture<Optional<CachedResponse>> propio, CachedResponse resultado) {
+        enVuelo.remove(clave, propio);
+        propio.complete(Optional.ofNullable(resultado));
+    }
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    void coalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    void revalidated() {
+        revalidated.incrementAndGet();
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entradas.size());
+        stats.put("bytes", bytes);
+        stats.put("inFlight", enVuelo.size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("revalidated", revalidated.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+}
@@ -0,0 +1,31 @@
+package com.microservice.gateway.microservice_gateway.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/responsecache: contadores de hit/miss/coalesced/revalidated y ocupación.
+ * DELETE vacía el cache.
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    @Autowired
+    private ResponseCache cache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        cache.clear();
+    }
+}
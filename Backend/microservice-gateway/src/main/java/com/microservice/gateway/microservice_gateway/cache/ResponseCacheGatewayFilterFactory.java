@@ -0,0 +1,341 @@
+package com.microservice.gateway.microservice_gateway.cache;
+
+import com.microservice_common.auth.TokenClaims;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Filtro por ruta que cachea las respuestas GET 200 y colapsa los requests idénticos en vuelo.
+ *
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       ttl: 30s
+ * </pre>
+ *
+ * <p>Respeta el Cache-Control del upstream: {@code no-store}/{@code private} no se guardan,
+ * {@code s-maxage}/{@code max-age} acortan el TTL de la ruta, y {@code no-cache} se guarda
+ * pero se revalida con If-None-Match en cada uso (un 304 del upstream basta para servir el
+ * cuerpo guardado). Al vencer, una entrada con ETag también se revalida en vez de descartarse.
+ * El primer request de una clave va al upstream y su respuesta se copia mientras se
+ * transmite; los que llegan mientras tanto esperan ese resultado (single flight).</p>
+ *
+ * <p>La clave es ruta + path + query + Accept + Accept-Encoding + Origin. No incluye el
+ * usuario: solo sirve para rutas cuyas respuestas no dependen de quién pregunta.</p>
+ *
+ * <p>Con {@code requireAuth} (default true) un request sin token validado por
+ * TokenAuthGlobalFilter ni lee ni llena la cache: va directo al upstream, que decide si lo
+ * rechaza. Así un 200 guardado para un usuario autenticado no le llega a un anónimo cuando
+ * el servicio exige token y el gateway no ({@code auth.enforce} distinto en cada lado). Solo
+ * las rutas públicas de verdad deberían ponerlo en false.</p>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    static final String X_CACHE = "X-Cache";
+    static final int ORDEN = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    @Autowired
+    private ResponseCache cache;
+
+    @Value("${gateway.cache.max-entry-bytes:8388608}")
+    private int maxBytesEntrada;
+
+    @Value("${gateway.cache.wait-ms:30000}")
+    private long esperaMs;
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private boolean singleFlight = true;
+        private boolean requireAuth = true;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public boolean isSingleFlight() {
+            return singleFlight;
+        }
+
+        public void setSingleFlight(boolean singleFlight) {
+            this.singleFlight = singleFlight;
+        }
+
+        public boolean isRequireAuth() {
+            return requireAuth;
+        }
+
+        public void setRequireAuth(boolean requireAuth) {
+            this.requireAuth = requireAuth;
+        }
+    }
+
+    public ResponseCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    /**
+     * Con orden explícito antes de NettyWriteResponseFilter: como lambda quedaría con el orden
+     * de su posición en la ruta (1, 2, ...), después de que el cuerpo del upstream ya se escribió,
+     * y la Captura nunca vería pasar nada.
+     */
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> filtrar(exchange, chain, config), ORDEN);
+    }
+
+    private Mono<Void> filtrar(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod()) || contiene(request.getHeaders(), "no-store")) {
+            return chain.filter(exchange);
+        }
+        if (config.isRequireAuth() && exchange.getAttribute(TokenClaims.ATRIBUTO) == null) {
+            // Sin token válido: el upstream puede exigirlo aunque el gateway no
+            return chain.filter(exchange);
+        }
+        String clave = clave(exchange);
+        CachedResponse entrada = cache.get(clave);
+        if (entrada != null && entrada.fresca(System.nanoTime())) {
+            cache.hit();
+            return servir(exchange, entrada, "HIT");
+        }
+        boolean revalidando = entrada != null && entrada.revalidable();
+        if (!revalidando && condicional(request.getHeaders())) {
+            // El cliente ya tiene su copia: que el upstream le conteste directo (probablemente 304)
+            cache.miss();
+            return chain.filter(exchange);
+        }
+
+        CompletableFuture<Optional<CachedResponse>> propio = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedResponse>> lider = config.isSingleFlight() ? cache.unirse(clave, propio) : null;
+        if (lider != null) {
+            cache.coalesced();
+            return Mono.fromFuture(lider, true)
+                    .timeout(Duration.ofMillis(esperaMs), Mono.just(Optional.empty()))
+                    .onErrorReturn(Optional.empty())
+                    .flatMap(r -> r.isPresent() ? servir(exchange, r.get(), "COALESCED") : chain.filter(exchange));
+        }
+        if (revalidando) {
+            cache.revalidated();
+        } else {
+            cache.miss();
+        }
+
+        Captura captura = new Captura(exchange.getResponse(), revalidando, maxBytesEntrada);
+        ServerHttpRequest upstream = revalidando
+                ? request.mutate().headers(h -> {
+                    h.setIfNoneMatch(entrada.etag());
+                    h.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                }).build()
+                : request;
+        CachedResponse[] resultado = new CachedResponse[1];
+        exchange.getResponse().getHeaders().set(X_CACHE, revalidando ? "REVALIDATED" : "MISS");
+        return chain.filter(exchange.mutate().request(upstream).response(captura).build())
+                .then(Mono.defer(() -> {
+                    if (captura.noModificado) {
+                        CachedResponse renovada = entrada.renovada(expira(config.getTtl(), exchange.getResponse().getHeaders()));
+                        cache.put(clave, renovada);
+                        resultado[0] = renovada;
+                        return servir(exchange, renovada, "REVALIDATED");
+                    }
+                    CachedResponse nueva = captura.entrada(config.getTtl());
+                    if (nueva != null) {
+                        cache.put(clave, nueva);
+                        resultado[0] = nueva;
+                    }
+                    return Mono.<Void>empty();
+                }))
+                .doFinally(s -> cache.terminar(clave, propio, resultado[0]));
+    }
+
+    private static Mono<Void> servir(ServerWebExchange exchange, CachedResponse entrada, String origen) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(entrada.headers());
+        headers.set(X_CACHE, origen);
+        List<String> inm = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (entrada.etag() != null && (inm.contains(entrada.etag()) || inm.contains("*"))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(entrada.cuerpo().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entrada.cuerpo())));
+    }
+
+    private static String clave(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        HttpHeaders h = request.getHeaders();
+        return (route != null ? route.getId() : "") + ' ' + request.getURI().getRawPath()
+                + '?' + (request.getURI().getRawQuery() != null ? request.getURI().getRawQuery() : "")
+                + '|' + String.join(",", h.getOrEmpty(HttpHeaders.ACCEPT))
+                + '|' + String.join(",", h.getOrEmpty(HttpHeaders.ACCEPT_ENCODING))
+                + '|' + String.join(",", h.getOrEmpty(HttpHeaders.ORIGIN));
+    }
+
+    private static boolean condicional(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    private static boolean contiene(HttpHeaders headers, String directiva) {
+        for (String valor : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            if (valor.toLowerCase(Locale.ROOT).contains(directiva)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Vencimiento: el TTL de la ruta, acortado por s-maxage o max-age del upstream. */
+    private static long expira(Duration ttl, HttpHeaders headers) {
+        long segundos = ttl.toSeconds();
+        Long maxAge = directiva(headers, "s-maxage=");
+        if (maxAge == null) {
+            maxAge = directiva(headers, "max-age=");
+        }
+        if (maxAge != null) {
+            segundos = Math.min(segundos, maxAge);
+        }
+        return System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+    }
+
+    private static Long directiva(HttpHeaders headers, String nombre) {
+        for (String valor : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String parte : valor.toLowerCase(Locale.ROOT).split(",")) {
+                parte = parte.trim();
+                if (parte.startsWith(nombre)) {
+                    try {
+                        return Long.parseLong(parte.substring(nombre.length()).replace("\"", ""));
+                    } catch (NumberFormatException ex) {
+                        return 0L;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deja pasar la respuesta al cliente copiando el cuerpo (hasta el máximo por entrada).
+     * Si se está revalidando y el upstream responde 304, no escribe nada: el filtro sirve
+     * el cuerpo guardado.
+     */
+    private static final class Captura extends ServerHttpResponseDecorator {
+
+        private final boolean revalidando;
+        private final int maxBytes;
+        private ByteArrayOutputStream copia = new ByteArrayOutputStream();
+        private boolean completa;
+        private boolean noModificado;
+
+        Captura(ServerHttpResponse delegate, boolean revalidando, int maxBytes) {
+            super(delegate);
+            this.revalidando = revalidando;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (revalidando && HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                noModificado = true;
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then();
+            }
+            return super.writeWith(Flux.from(body).doOnNext(this::copiar)).doOnSuccess(v -> completa = true);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Respuestas en streaming (ndjson, SSE): pasan sin guardarse
+            copia = null;
+            return super.writeAndFlushWith(body);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            if (revalidando && HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                noModificado = true;
+                return Mono.empty();
+            }
+            completa = true;
+            return super.setComplete();
+        }
+
+        private void copiar(DataBuffer buffer) {
+            if (copia == null) {
+                return;
+            }
+            int n = buffer.readableByteCount();
+            if (copia.size() + n > maxBytes) {
+                copia = null;
+                return;
+            }
+            byte[] bytes = new byte[n];
+            int posicion = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(posicion);
+            copia.writeBytes(bytes);
+        }
+
+        /** Entrada a guardar, o null si la respuesta no es cacheable. */
+        CachedResponse entrada(Duration ttl) {
+            HttpHeaders headers = getHeaders();
+            if (!completa || copia == null || !HttpStatus.OK.equals(getStatusCode())
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || contiene(headers, "no-store") || contiene(headers, "private")) {
+                return null;
+            }
+            String etag = headers.getETag();
+            Long maxAge = directiva(headers, "s-maxage=");
+            if (maxAge == null) {
+                maxAge = directiva(headers, "max-age=");
+            }
+            boolean revalidar = contiene(headers, "no-cache") || Long.valueOf(0).equals(maxAge);
+            if (revalidar && etag == null) {
+                return null;
+            }
+            HttpHeaders guardados = new HttpHeaders();
+            guardados.putAll(headers);
+            guardados.remove(HttpHeaders.TRANSFER_ENCODING);
+            guardados.remove(HttpHeaders.CONTENT_LENGTH);
+            guardados.remove(HttpHeaders.CONNECTION);
+            guardados.remove(X_CACHE);
+            return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(guardados), copia.toByteArray(), etag,
+                    expira(ttl, headers), revalidar);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.microservice.gateway.microservice_gateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.gateway.microservice_gateway.auth.TokenAuthGlobalFilter;
+import com.microservice_common.auth.RevocationList;
+import com.microservice_common.auth.TokenCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+
+/**
+ * Autenticación local en el gateway con los tokens de microservice-user: mismo secreto
+ * HS256 ({@code auth.token.secret}) y lista de revocados refrescada en segundo plano.
+ */
+@Configuration
+@EnableScheduling
+public class AuthConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthConfig.class);
+
+    @Value("${auth.token.secret:}")
+    private String secreto;
+
+    @Value("${auth.token.leeway-s:30}")
+    private long toleranciaS;
+
+    @Value("${auth.enforce:false}")
+    private boolean exigir;
+
+    @Value("${auth.public-paths:/api/v1/users/login,/api/user/login,/api/user/tokens/revocados,/actuator/**}")
+    private List<String> publicas;
+
+    @Value("${auth.revocations.url:http://localhost:8090/api/user/tokens/revocados}")
+    private String revocacionesUrl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Bean
+    public TokenCodec tokenCodec() {
+        byte[] clave = secreto.getBytes(StandardCharsets.UTF_8);
+        if (clave.length < TokenCodec.MIN_SECRETO) {
+            log.warn("auth.token.secret ausente o corto: se usa una clave aleatoria y ningún token será aceptado");
+            clave = new byte[TokenCodec.MIN_SECRETO];
+            new SecureRandom().nextBytes(clave);
+        }
+        return new TokenCodec(clave, objectMapper, toleranciaS);
+    }
+
+    @Bean
+    public RevocationList revocationList() {
+        return new RevocationList(revocacionesUrl, objectMapper, tokenCodec());
+    }
+
+    // Corre en el hilo del scheduler, nunca en el event loop: el GET bloqueante no frena el ruteo
+    @Scheduled(fixedDelayString = "${auth.revocations.refresh-ms:30000}")
+    public void refrescarRevocados() {
+        revocationList().actualizar();
+    }
+
+    @Bean
+    public TokenAuthGlobalFilter tokenAuthGlobalFilter(TokenCodec tokenCodec, RevocationList revocationList) {
+        return new TokenAuthGlobalFilter(tokenCodec, revocationList, exigir, publicas);
+    }
+}
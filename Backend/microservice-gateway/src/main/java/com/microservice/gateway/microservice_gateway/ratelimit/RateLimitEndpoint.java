@@ -0,0 +1,25 @@
+package com.microservice.gateway.microservice_gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/ratelimit: requests limitados (429) y descartados (503), tokens disponibles
+ * y requests en vuelo por ruta.
+ */
+@Component
+@Endpoint(id = "ratelimit")
+public class RateLimitEndpoint {
+
+    @Autowired
+    private RateLimitGlobalFilter filtro;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return filtro.stats();
+    }
+}
@@ -0,0 +1,321 @@
+package com.microservice.gateway.microservice_gateway.ratelimit;
+
+import com.microservice_common.auth.TokenClaims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PostConstruct;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Limita en memoria lo que el gateway deja pasar hacia los servicios, sin Redis:
+ *
+ * <ul>
+ *   <li>un token bucket por cliente (usuario del token o, sin token, IP) y otro por ruta;
+ *       cada request consume según el peso de su path ({@code gateway.ratelimit.costs}),
+ *       así las métricas diarias o los listados completos gastan más que una ficha;</li>
+ *   <li>un tope de requests en vuelo por ruta: con el pool de 5 conexiones de
+ *       microservice-employee, encolar más solo alarga la espera de todos, así que el
+ *       excedente se corta de inmediato con 503.</li>
+ * </ul>
+ *
+ * <p>Los rechazos por cuota responden 429 y los por saturación 503, ambos con Retry-After.</p>
+ *
+ * <p>La IP del cliente es la dirección remota de la conexión. X-Forwarded-For solo se lee si
+ * esa dirección es uno de los proxies de {@code gateway.ratelimit.trusted-proxies}, y entonces
+ * vale el salto más a la derecha que no sea de confianza: lo de su izquierda lo escribió el
+ * propio cliente y cambiarlo en cada request le daría un bucket nuevo.</p>
+ */
+@Component
+public class RateLimitGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitGlobalFilter.class);
+
+    /** Bucket compartido por los clientes nuevos cuando se llega a {@code max-clients}. */
+    private static final String DESBORDE = "*";
+
+    // Solo literales: InetAddress.getByName con un nombre haría una consulta DNS por request
+    private static final Pattern IP_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}|[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    @Value("${gateway.ratelimit.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${gateway.ratelimit.client.rate:20}")
+    private double clienteTasa;
+
+    @Value("${gateway.ratelimit.client.burst:40}")
+    private int clienteRafaga;
+
+    @Value("${gateway.ratelimit.route.rate:50}")
+    private double rutaTasa;
+
+    @Value("${gateway.ratelimit.route.burst:100}")
+    private int rutaRafaga;
+
+    // Un poco por sobre el pool de Hikari: cubre los requests que no usan la base (snapshot, cache)
+    @Value("${gateway.ratelimit.route.max-in-flight:10}")
+    private int maxEnVuelo;
+
+    @Value("${gateway.ratelimit.max-clients:10000}")
+    private int maxClientes;
+
+    @Value("${gateway.ratelimit.costs:/**/metrics/**=10,/**/db/stats=5,/**/db/contratos=5,/**/db/vacaciones=5,/**/db/licencias=5,/**/talana/sync/**=20}")
+    private List<String> costos;
+
+    @Value("${gateway.ratelimit.exempt:/actuator/**}")
+    private List<String> exentas;
+
+    /** IPs o redes CIDR (10.0.0.0/8) de los balanceadores delante del gateway; vacío ignora X-Forwarded-For. */
+    @Value("${gateway.ratelimit.trusted-proxies:}")
+    private List<String> proxies;
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<Map.Entry<String, Integer>> pesos = new ArrayList<>();
+    private final List<Red> confiables = new ArrayList<>();
+
+    private final ConcurrentHashMap<String, TokenBucket> clientes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> rutas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> enVuelo = new ConcurrentHashMap<>();
+
+    private final AtomicLong limitados = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+
+    @PostConstruct
+    void iniciar() {
+        for (String costo : costos) {
+            int igual = costo.lastIndexOf('=');
+            if (igual <= 0) {
+                log.warn("gateway.ratelimit.costs: se ignora '{}' (formato patron=peso)", costo);
+                continue;
+            }
+            int peso = Integer.parseInt(costo.substring(igual + 1).trim());
+            pesos.add(Map.entry(costo.substring(0, igual).trim(), Math.max(peso, 1)));
+        }
+        for (String proxy : proxies) {
+            if (!proxy.isBlank()) {
+                confiables.add(Red.de(proxy.trim()));
+            }
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        if (!habilitado || HttpMethod.OPTIONS.equals(request.getMethod()) || exenta(path)) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String rutaId = route != null ? route.getId() : "";
+        long ahora = System.nanoTime();
+
+        TokenBucket cliente = bucketCliente(cliente(exchange));
+        int costoCliente = Math.min(peso(path), clienteRafaga);
+        long espera = cliente.intentar(costoCliente, ahora);
+        if (espera > 0) {
+            limitados.incrementAndGet();
+            return rechazar(exchange, HttpStatus.TOO_MANY_REQUESTS, espera);
+        }
+        TokenBucket ruta = rutas.computeIfAbsent(rutaId, k -> new TokenBucket(rutaTasa, rutaRafaga));
+        int costoRuta = Math.min(peso(path), rutaRafaga);
+        espera = ruta.intentar(costoRuta, ahora);
+        if (espera > 0) {
+            cliente.devolver(costoCliente, ahora);
+            limitados.incrementAndGet();
+            return rechazar(exchange, HttpStatus.TOO_MANY_REQUESTS, espera);
+        }
+
+        AtomicInteger activos = enVuelo.computeIfAbsent(rutaId, k -> new AtomicInteger());
+        if (activos.incrementAndGet() > maxEnVuelo) {
+            activos.decrementAndGet();
+            cliente.devolver(costoCliente, ahora);
+            ruta.devolver(costoRuta, ahora);
+            descartados.incrementAndGet();
+            return rechazar(exchange, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+        }
+        return chain.filter(exchange).doFinally(s -> activos.decrementAndGet());
+    }
+
+    private static Mono<Void> rechazar(ServerWebExchange exchange, HttpStatus status, long esperaNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        long segundos = Math.max(TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1), 1);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        return response.setComplete();
+    }
+
+    private TokenBucket bucketCliente(String clave) {
+        TokenBucket bucket = clientes.get(clave);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (clientes.size() >= maxClientes) {
+            clave = DESBORDE;
+        }
+        return clientes.computeIfAbsent(clave, k -> new TokenBucket(clienteTasa, clienteRafaga));
+    }
+
+    /** Usuario del token si lo validó el filtro de autenticación; si no, la IP de origen. */
+    String cliente(ServerWebExchange exchange) {
+        TokenClaims claims = exchange.getAttribute(TokenClaims.ATRIBUTO);
+        if (claims != null) {
+            return "u:" + claims.sub();
+        }
+        InetSocketAddress remoto = exchange.getRequest().getRemoteAddress();
+        if (remoto == null || remoto.getAddress() == null) {
+            return "ip:?";
+        }
+        InetAddress origen = remoto.getAddress();
+        if (!confiable(origen)) {
+            return "ip:" + origen.getHostAddress();
+        }
+        // Desde la derecha: cada proxy de confianza agrega a quien le habló; el primero que no lo es, es el cliente
+        List<String> saltos = exchange.getRequest().getHeaders().getValuesAsList("X-Forwarded-For");
+        for (int i = saltos.size() - 1; i >= 0; i--) {
+            String salto = saltos.get(i).trim();
+            InetAddress ip = literal(salto);
+            if (ip == null) {
+                return "ip:" + salto;
+            }
+            origen = ip;
+            if (!confiable(ip)) {
+                break;
+            }
+        }
+        return "ip:" + origen.getHostAddress();
+    }
+
+    private boolean confiable(InetAddress ip) {
+        for (Red red : confiables) {
+            if (red.contiene(ip)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static InetAddress literal(String ip) {
+        if (!IP_LITERAL.matcher(ip).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(ip);
+        } catch (UnknownHostException ex) {
+            return null;
+        }
+    }
+
+    /** Peso del primer patrón que calza con el path; 1 si ninguno. */
+    private int peso(String path) {
+        for (Map.Entry<String, Integer> p : pesos) {
+            if (matcher.match(p.getKey(), path)) {
+                return p.getValue();
+            }
+        }
+        return 1;
+    }
+
+    private boolean exenta(String path) {
+        for (String patron : exentas) {
+            if (matcher.match(patron, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Descarta los buckets de clientes llenos: recrearlos da el mismo resultado. */
+    @Scheduled(fixedDelayString = "${gateway.ratelimit.cleanup-ms:60000}")
+    public void limpiar() {
+        long ahora = System.nanoTime();
+        clientes.values().removeIf(b -> b.ocioso(ahora));
+    }
+
+    public Map<String, Object> stats() {
+        long ahora = System.nanoTime();
+        Map<String, Object> rutasStats = new LinkedHashMap<>();
+        rutas.forEach((id, b) -> {
+            Map<String, Object> r = new LinkedHashMap<>(4);
+            r.put("disponibles", b.disponibles(ahora));
+            AtomicInteger activos = enVuelo.get(id);
+            r.put("enVuelo", activos != null ? activos.get() : 0);
+            rutasStats.put(id, r);
+        });
+        Map<String, Object> stats = new LinkedHashMap<>(8);
+        stats.put("clientes", clientes.size());
+        stats.put("limitados", limitados.get());
+        stats.put("descartados", descartados.get());
+        stats.put("rutas", rutasStats);
+        return stats;
+    }
+
+    /** Dirección o red CIDR de {@code trusted-proxies}. */
+    private record Red(byte[] base, int prefijo) {
+
+        static Red de(String texto) {
+            int barra = texto.indexOf('/');
+            InetAddress ip = literal(barra < 0 ? texto : texto.substring(0, barra));
+            if (ip == null) {
+                throw new IllegalArgumentException("gateway.ratelimit.trusted-proxies: '" + texto + "' no es una IP o red CIDR");
+            }
+            byte[] base = ip.getAddress();
+            int prefijo = barra < 0 ? base.length * 8 : Integer.parseInt(texto.substring(barra + 1));
+            if (prefijo < 0 || prefijo > base.length * 8) {
+                throw new IllegalArgumentException("gateway.ratelimit.trusted-proxies: prefijo inválido en '" + texto + "'");
+            }
+            return new Red(base, prefijo);
+        }
+
+        boolean contiene(InetAddress ip) {
+            byte[] b = ip.getAddress();
+            if (b.length != base.length) {
+                return false;
+            }
+            int completos = prefijo / 8;
+            for (int i = 0; i < completos; i++) {
+                if (b[i] != base[i]) {
+                    return false;
+                }
+            }
+            int resto = prefijo % 8;
+            if (resto == 0) {
+                return true;
+            }
+            int mascara = 0xFF << (8 - resto);
+            return (b[completos] & mascara) == (base[completos] & mascara);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Después de la autenticación (el cliente es el usuario del token) y antes de los filtros de ruta
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+}
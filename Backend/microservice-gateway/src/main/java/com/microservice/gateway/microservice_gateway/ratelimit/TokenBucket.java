@@ -0,0 +1,67 @@
+package com.microservice.gateway.microservice_gateway.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin locks en una sola {@link AtomicLong} (variante GCRA): en vez de guardar
+ * tokens y último relleno por separado, guarda el instante teórico en que el bucket vuelve a
+ * estar lleno. Consumir {@code costo} tokens lo corre {@code costo × intervalo}; si queda a
+ * más de {@code capacidad × intervalo} del presente, el bucket está vacío y se rechaza.
+ */
+public final class TokenBucket {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong lleno;
+
+    /**
+     * @param porSegundo tokens que se reponen por segundo
+     * @param capacidad  ráfaga máxima (tokens disponibles con el bucket lleno)
+     */
+    public TokenBucket(double porSegundo, int capacidad) {
+        if (porSegundo <= 0 || capacidad <= 0) {
+            throw new IllegalArgumentException("porSegundo y capacidad deben ser positivos");
+        }
+        this.intervaloNanos = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / porSegundo), 1);
+        this.toleranciaNanos = intervaloNanos * capacidad;
+        this.lleno = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Intenta consumir {@code costo} tokens. Devuelve 0 si se consumieron o, si no alcanzan,
+     * los nanosegundos que faltan para que alcancen (sin consumir nada).
+     */
+    public long intentar(int costo, long ahoraNanos) {
+        long incremento = intervaloNanos * costo;
+        while (true) {
+            long actual = lleno.get();
+            long base = Math.max(actual, ahoraNanos);
+            long nuevo = base + incremento;
+            long exceso = nuevo - ahoraNanos - toleranciaNanos;
+            if (exceso > 0) {
+                return exceso;
+            }
+            if (lleno.compareAndSet(actual, nuevo)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Devuelve tokens consumidos por un request que al final no pasó (p. ej. lo frenó otro bucket). */
+    public void devolver(int costo, long ahoraNanos) {
+        long decremento = intervaloNanos * costo;
+        lleno.accumulateAndGet(decremento, (actual, d) -> Math.max(actual - d, ahoraNanos));
+    }
+
+    /** Tokens disponibles ahora (aproximado, solo para informar). */
+    public long disponibles(long ahoraNanos) {
+        long ocupado = Math.max(lleno.get() - ahoraNanos, 0);
+        return (toleranciaNanos - ocupado) / intervaloNanos;
+    }
+
+    /** Lleno e inactivo: se puede descartar y volver a crear sin cambiar el comportamiento. */
+    public boolean ocioso(long ahoraNanos) {
+        return lleno.get() - ahoraNanos <= 0;
+    }
+}
@@ -0,0 +1,154 @@
+package com.microservice.gateway.microservice_gateway.cache;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Filtro ResponseCache de punta a punta: gateway levantado con una ruta hacia un upstream
+ * HTTP local que cuenta cuántas veces lo llamaron.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+})
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final AtomicInteger datos = new AtomicInteger();
+    private static final AtomicInteger privado = new AtomicInteger();
+    private static final AtomicInteger protegido = new AtomicInteger();
+    private static final HttpServer upstream = upstream();
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private ResponseCacheGatewayFilterFactory factory;
+
+    // La ruta entera en una sola fuente: una lista indexada no se arma con partes de dos fuentes
+    @DynamicPropertySource
+    static void ruta(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "cacheada");
+        registry.add("spring.cloud.gateway.routes[0].uri",
+                () -> "http://127.0.0.1:" + upstream.getAddress().getPort());
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/cache/**");
+        registry.add("spring.cloud.gateway.routes[0].filters[0].name", () -> "ResponseCache");
+        registry.add("spring.cloud.gateway.routes[0].filters[0].args.ttl", () -> "30s");
+        registry.add("spring.cloud.gateway.routes[0].filters[0].args.requireAuth", () -> "false");
+        registry.add("spring.cloud.gateway.routes[1].id", () -> "protegida");
+        registry.add("spring.cloud.gateway.routes[1].uri",
+                () -> "http://127.0.0.1:" + upstream.getAddress().getPort());
+        registry.add("spring.cloud.gateway.routes[1].predicates[0]", () -> "Path=/protegida/**");
+        registry.add("spring.cloud.gateway.routes[1].filters[0].name", () -> "ResponseCache");
+        registry.add("spring.cloud.gateway.routes[1].filters[0].args.ttl", () -> "30s");
+    }
+
+    @AfterAll
+    static void detener() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void primeroMissDespuesHitSinVolverAlUpstream() {
+        assertEquals("MISS", pedir("/cache/datos").getResponseHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        // El cliente puede recibir el cuerpo antes de que el líder suelte la clave en vuelo:
+        // el siguiente request se une a él (COALESCED) o ya la encuentra guardada (HIT)
+        EntityExchangeResult<String> segundo = pedir("/cache/datos");
+        assertTrue(List.of("HIT", "COALESCED").contains(
+                segundo.getResponseHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE)));
+        assertEquals("{\"n\":1}", segundo.getResponseBody());
+        EntityExchangeResult<String> hit = pedir("/cache/datos");
+        assertEquals("HIT", hit.getResponseHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals("{\"n\":1}", hit.getResponseBody());
+        assertEquals(1, datos.get());
+    }
+
+    @Test
+    void noStoreDelUpstreamNoSeGuarda() {
+        pedir("/cache/privado");
+        EntityExchangeResult<String> segundo = pedir("/cache/privado");
+        // MISS, o sin header si alcanzó a unirse al primero y después fue al upstream por su cuenta
+        assertNotEquals("HIT", segundo.getResponseHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals(2, privado.get());
+    }
+
+    @Test
+    void sinTokenValidoNoSeUsaLaCacheSiLaRutaPuedeExigirlo() {
+        for (int i = 0; i < 2; i++) {
+            EntityExchangeResult<String> resultado = pedir("/protegida/datos");
+            assertNull(resultado.getResponseHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        }
+        assertEquals(2, protegido.get());
+    }
+
+    @Test
+    void correAntesDeQueSeEscribaLaRespuestaDelUpstream() {
+        GatewayFilter filtro = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+        Ordered ordenado = assertInstanceOf(Ordered.class, filtro);
+        assertTrue(ordenado.getOrder() < NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER);
+    }
+
+    private EntityExchangeResult<String> pedir(String ruta) {
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + puerto).build()
+                .get().uri(ruta)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult();
+    }
+
+    private static HttpServer upstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/cache/datos", ex -> {
+                datos.incrementAndGet();
+                enviar(ex, "max-age=60");
+            });
+            server.createContext("/cache/privado", ex -> {
+                privado.incrementAndGet();
+                enviar(ex, "no-store");
+            });
+            server.createContext("/protegida/datos", ex -> {
+                protegido.incrementAndGet();
+                enviar(ex, "max-age=60");
+            });
+            server.start();
+            return server;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void enviar(HttpExchange ex, String cacheControl) throws IOException {
+        byte[] cuerpo = "{\"n\":1}".getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.getResponseHeaders().set("Cache-Control", cacheControl);
+        ex.sendResponseHeaders(200, cuerpo.length);
+        ex.getResponseBody().write(cuerpo);
+        ex.close();
+    }
+}
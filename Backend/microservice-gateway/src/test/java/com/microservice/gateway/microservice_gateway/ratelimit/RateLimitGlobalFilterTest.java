@@ -0,0 +1,102 @@
+package com.microservice.gateway.microservice_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Clave de cliente del rate limit: la dirección remota, y X-Forwarded-For solo detrás de un
+ * proxy de confianza.
+ */
+class RateLimitGlobalFilterTest {
+
+    private static final GatewayFilterChain PASA = exchange -> Mono.empty();
+
+    private static RateLimitGlobalFilter filtro(int rafaga, String... proxies) {
+        RateLimitGlobalFilter filtro = new RateLimitGlobalFilter();
+        ReflectionTestUtils.setField(filtro, "habilitado", true);
+        ReflectionTestUtils.setField(filtro, "clienteTasa", 1.0);
+        ReflectionTestUtils.setField(filtro, "clienteRafaga", rafaga);
+        ReflectionTestUtils.setField(filtro, "rutaTasa", 1000.0);
+        ReflectionTestUtils.setField(filtro, "rutaRafaga", 1000);
+        ReflectionTestUtils.setField(filtro, "maxEnVuelo", 100);
+        ReflectionTestUtils.setField(filtro, "maxClientes", 100);
+        ReflectionTestUtils.setField(filtro, "costos", List.<String>of());
+        ReflectionTestUtils.setField(filtro, "exentas", List.of("/actuator/**"));
+        ReflectionTestUtils.setField(filtro, "proxies", List.of(proxies));
+        filtro.iniciar();
+        return filtro;
+    }
+
+    private static MockServerWebExchange desde(String remoto, String... reenviado) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/db/stats")
+                .remoteAddress(new InetSocketAddress(remoto, 40000));
+        if (reenviado.length > 0) {
+            request.header("X-Forwarded-For", reenviado);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    void sinProxiesDeConfianzaIgnoraXForwardedFor() {
+        RateLimitGlobalFilter filtro = filtro(2);
+
+        assertEquals("ip:203.0.113.7", filtro.cliente(desde("203.0.113.7", "1.1.1.1")));
+    }
+
+    @Test
+    void cambiarXForwardedForNoDaUnBucketNuevo() {
+        RateLimitGlobalFilter filtro = filtro(2);
+        MockServerWebExchange tercero = desde("203.0.113.7", "9.9.9.3");
+
+        filtro.filter(desde("203.0.113.7", "9.9.9.1"), PASA).block();
+        filtro.filter(desde("203.0.113.7", "9.9.9.2"), PASA).block();
+        filtro.filter(tercero, PASA).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, tercero.getResponse().getStatusCode());
+    }
+
+    @Test
+    void detrasDeUnProxyDeConfianzaTomaElSaltoMasALaDerechaQueNoLoEs() {
+        RateLimitGlobalFilter filtro = filtro(2, "10.0.0.0/8", "192.168.1.5");
+
+        // El cliente inventó 1.1.1.1; el balanceador 10.1.2.3 agregó la IP real 198.51.100.4
+        assertEquals("ip:198.51.100.4",
+                filtro.cliente(desde("192.168.1.5", "1.1.1.1, 198.51.100.4", "10.1.2.3")));
+    }
+
+    @Test
+    void siTodosLosSaltosSonDeConfianzaQuedaElPrimero() {
+        RateLimitGlobalFilter filtro = filtro(2, "10.0.0.0/8");
+
+        assertEquals("ip:10.0.0.9", filtro.cliente(desde("10.0.0.1", "10.0.0.9, 10.0.0.2")));
+        assertEquals("ip:10.0.0.1", filtro.cliente(desde("10.0.0.1")));
+    }
+
+    @Test
+    void unSaltoQueNoEsIpSeUsaTalCualSinResolverlo() {
+        RateLimitGlobalFilter filtro = filtro(2, "10.0.0.0/8");
+
+        assertEquals("ip:unknown", filtro.cliente(desde("10.0.0.1", "1.1.1.1, unknown")));
+    }
+
+    @Test
+    void dentroDeLaRafagaPasa() {
+        RateLimitGlobalFilter filtro = filtro(2);
+        MockServerWebExchange exchange = desde("203.0.113.7");
+
+        filtro.filter(exchange, PASA).block();
+
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+}
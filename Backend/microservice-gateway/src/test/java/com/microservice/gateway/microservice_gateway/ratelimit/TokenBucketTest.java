@@ -0,0 +1,82 @@
+package com.microservice.gateway.microservice_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token bucket GCRA con un reloj explícito (tomado después de crearlo, que lo deja lleno): ráfaga, espera informada, reposición y devolución.
+ */
+class TokenBucketTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void dejaPasarLaRafagaYDespuesInformaLaEspera() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long t = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.intentar(1, t));
+        }
+        long espera = bucket.intentar(1, t);
+
+        // A 10 por segundo el siguiente token llega en 100 ms
+        assertEquals(SEGUNDO / 10, espera);
+        assertEquals(0, bucket.disponibles(t));
+    }
+
+    @Test
+    void unRechazoNoConsume() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long t = System.nanoTime();
+        assertEquals(0, bucket.intentar(4, t));
+
+        assertTrue(bucket.intentar(2, t) > 0);
+        assertEquals(0, bucket.intentar(1, t));
+    }
+
+    @Test
+    void seReponeConElTiempoSinPasarDeLaCapacidad() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long t = System.nanoTime();
+        assertEquals(0, bucket.intentar(5, t));
+
+        assertEquals(3, bucket.disponibles(t + 3 * SEGUNDO / 10));
+        assertEquals(5, bucket.disponibles(t + 10 * SEGUNDO));
+        assertTrue(bucket.intentar(6, t + 10 * SEGUNDO) > 0);
+    }
+
+    @Test
+    void devolverRestituyeLoConsumido() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long t = System.nanoTime();
+        assertEquals(0, bucket.intentar(5, t));
+
+        bucket.devolver(2, t);
+
+        assertEquals(2, bucket.disponibles(t));
+        assertEquals(0, bucket.intentar(2, t));
+    }
+
+    @Test
+    void llenoEsOcioso() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long t = System.nanoTime();
+        bucket.intentar(1, t);
+
+        assertFalse(bucket.ocioso(t));
+        assertTrue(bucket.ocioso(t + SEGUNDO / 10));
+    }
+
+    @Test
+    void rechazaParametrosNoPositivos() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0));
+    }
+}
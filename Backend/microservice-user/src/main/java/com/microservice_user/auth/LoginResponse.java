@@ -0,0 +1,19 @@
+package com.microservice_user.auth;
+
+import com.microservice_user.model.User;
+
+import java.time.Instant;
+
+/**
+ * Respuesta del login: el token y los datos visibles del usuario (nunca la contraseña).
+ */
+public record LoginResponse(String token, String tokenType, Instant expiresAt, Usuario usuario) {
+
+    public record Usuario(Long id, String username, String nombre, String email, String rol) {
+    }
+
+    public static LoginResponse of(TokenService.Emitido emitido, User user) {
+        return new LoginResponse(emitido.token(), "Bearer", emitido.expira(),
+                new Usuario(user.getId(), user.getUsername(), user.getNombre(), user.getEmail(), user.getRol()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.microservice_user.auth;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+/**
+ * Contraseñas con BCrypt. Las que siguen en texto plano (usuarios cargados antes) se aceptan
+ * con una comparación de tiempo constante y se re-hashean en el primer login correcto.
+ * El costo adaptativo solo se paga en el login: el resto de los requests usan el token.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}$");
+
+    @Value("${auth.bcrypt.cost:10}")
+    private int costo;
+
+    private BCryptPasswordEncoder bcrypt;
+
+    @PostConstruct
+    void iniciar() {
+        bcrypt = new BCryptPasswordEncoder(costo);
+    }
+
+    public String hash(String plano) {
+        return bcrypt.encode(plano);
+    }
+
+    public boolean esHash(String almacenada) {
+        return almacenada != null && BCRYPT.matcher(almacenada).matches();
+    }
+
+    public boolean verificar(String plano, String almacenada) {
+        if (plano == null || almacenada == null) {
+            return false;
+        }
+        if (esHash(almacenada)) {
+            return bcrypt.matches(plano, almacenada);
+        }
+        return MessageDigest.isEqual(plano.getBytes(StandardCharsets.UTF_8), almacenada.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Texto plano o hash con un costo menor al configurado. */
+    public boolean requiereRehash(String almacenada) {
+        return !esHash(almacenada) || bcrypt.upgradeEncoding(almacenada);
+    }
+}
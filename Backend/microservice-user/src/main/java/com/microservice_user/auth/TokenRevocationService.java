@@ -0,0 +1,75 @@
+package com.microservice_user.auth;
+
+import com.microservice_common.auth.TokenClaims;
+import com.microservice_user.model.TokenRevocado;
+import com.microservice_user.model.UsuarioRevocado;
+import com.microservice_user.repository.TokenRevocadoRepository;
+import com.microservice_user.repository.UsuarioRevocadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lista de revocados que consultan gateway y employee. Guarda en la base los jti cerrados con
+ * logout hasta su expiración, y los usuarios dados de baja o desactivados con el instante desde
+ * el que ningún token anterior vale. Al estar en tablas, sobrevive a un reinicio y todas las
+ * réplicas publican lo mismo. Las entradas vencidas se purgan solas.
+ */
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenRevocadoRepository tokens;
+
+    @Autowired
+    private UsuarioRevocadoRepository usuarios;
+
+    public void revocar(TokenClaims claims) {
+        if (claims.jti() != null) {
+            tokens.save(new TokenRevocado(claims.jti(), claims.exp()));
+        }
+    }
+
+    /** Invalida todos los tokens del usuario emitidos hasta ahora. */
+    public void revocarUsuario(String username) {
+        long ahora = Instant.now().getEpochSecond();
+        // Pasado un TTL completo ya no queda ningún token emitido antes de la baja
+        usuarios.save(new UsuarioRevocado(username, ahora, ahora + tokenService.ttlSegundos()));
+    }
+
+    /**
+     * {@code {tokens: {jti: exp}, usuarios: {huella: {desde, expira}}}} en orden estable. La
+     * lista es pública: los usuarios van por su huella HMAC, nunca por username.
+     */
+    public Map<String, Object> publicar() {
+        long ahora = Instant.now().getEpochSecond();
+        Map<String, Long> jtis = new TreeMap<>();
+        tokens.findByExpiraGreaterThanEqual(ahora).forEach(t -> jtis.put(t.getJti(), t.getExpira()));
+        Map<String, Map<String, Long>> bajas = new TreeMap<>();
+        usuarios.findByExpiraGreaterThanEqual(ahora).forEach(u ->
+                bajas.put(tokenService.huella(u.getUsername()), Map.of("desde", u.getDesde(), "expira", u.getExpira())));
+
+        Map<String, Object> lista = new LinkedHashMap<>(4);
+        lista.put("generado", ahora);
+        lista.put("tokens", jtis);
+        lista.put("usuarios", bajas);
+        return lista;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocations.purge-ms:60000}")
+    @Transactional
+    public void purgar() {
+        long ahora = Instant.now().getEpochSecond();
+        tokens.purgar(ahora);
+        usuarios.purgar(ahora);
+    }
+}
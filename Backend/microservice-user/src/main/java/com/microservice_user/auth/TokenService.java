@@ -0,0 +1,79 @@
+package com.microservice_user.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice_common.auth.TokenClaims;
+import com.microservice_common.auth.TokenCodec;
+import com.microservice_user.model.User;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Emite los tokens de sesión (HS256) que gateway y employee verifican localmente con el
+ * mismo {@code auth.token.secret}. El token lleva usuario, rol, id y expiración; nada más.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    @Value("${auth.token.secret:}")
+    private String secreto;
+
+    @Value("${auth.token.ttl-min:480}")
+    private long ttlMin;
+
+    @Value("${auth.token.leeway-s:30}")
+    private long toleranciaS;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TokenCodec codec;
+
+    /** Token emitido junto con su identificador y expiración. */
+    public record Emitido(String token, String jti, Instant expira) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        byte[] clave = secreto.getBytes(StandardCharsets.UTF_8);
+        if (clave.length < TokenCodec.MIN_SECRETO) {
+            // Los tokens no sobreviven un reinicio ni validan en los otros servicios
+            log.warn("auth.token.secret ausente o corto: se usa una clave aleatoria solo válida en esta instancia");
+            clave = new byte[TokenCodec.MIN_SECRETO];
+            new SecureRandom().nextBytes(clave);
+        }
+        codec = new TokenCodec(clave, objectMapper, toleranciaS);
+    }
+
+    public Emitido emitir(User user) {
+        long ahora = Instant.now().getEpochSecond();
+        long exp = ahora + ttlMin * 60;
+        String jti = UUID.randomUUID().toString();
+        String token = codec.firmar(new TokenClaims(user.getUsername(), user.getRol(), user.getId(), jti, ahora, exp));
+        return new Emitido(token, jti, Instant.ofEpochSecond(exp));
+    }
+
+    /** Claims si el token es auténtico y vigente; null si no. No consulta revocaciones. */
+    public TokenClaims verificar(String token) {
+        return codec.verificar(token, Instant.now().getEpochSecond());
+    }
+
+    /** Identificador opaco del usuario para la lista pública de revocados. */
+    public String huella(String username) {
+        return codec.huella(username);
+    }
+
+    public long ttlSegundos() {
+        return ttlMin * 60;
+    }
+}
@@ -1,12 +1,21 @@
 package com.microservice_user.controller;
 
+import com.microservice_common.auth.TokenClaims;
+import com.microservice_common.pagination.CursorPage;
+import com.microservice_user.auth.LoginResponse;
+import com.microservice_user.auth.TokenRevocationService;
+import com.microservice_user.auth.TokenService;
 import com.microservice_user.model.User;
+import com.microservice_user.model.UserSummary;
+import com.microservice_user.pagination.PageResult;
 import com.microservice_user.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/user")
@@ -15,11 +24,47 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @GetMapping("/all")
     public ResponseEntity<List<User>> getAllUsers() {
         return ResponseEntity.ok(userService.findAll());
     }
 
+    /**
+     * GET /api/user/list?page=0&size=50&activo=true&rol=ADMIN&username=ana
+     * Listado paginado y filtrado, sin contraseña ni columnas de auditoría.
+     */
+    @GetMapping("/list")
+    public PageResult<UserSummary> listUsers(
+            @RequestParam(required = false) Boolean activo,
+            @RequestParam(required = false) String rol,
+            @RequestParam(required = false) String username,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return userService.listar(activo, rol, username, page, size);
+    }
+
+    /**
+     * GET /api/user/list?cursor=&size=50
+     * Paginación por llave: cursor vacío para la primera página y luego el {@code next} recibido.
+     */
+    @GetMapping(value = "/list", params = "cursor")
+    public CursorPage<UserSummary> listUsersCursor(
+            @RequestParam(required = false) Boolean activo,
+            @RequestParam(required = false) String rol,
+            @RequestParam(required = false) String username,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return userService.listarCursor(activo, rol, username, cursor, size);
+    }
+
     @PostMapping("/create")
     public ResponseEntity<User> createUser(@RequestBody User user) {
         return ResponseEntity.ok(userService.save(user));
@@ -31,11 +76,29 @@ public class UserController {
         User foundUser = userService.login(user.getUsername(), user.getPassword());
         
         if (foundUser != null) {
-            return ResponseEntity.ok(foundUser);
+            return ResponseEntity.ok(LoginResponse.of(tokenService.emitir(foundUser), foundUser));
         }
         return ResponseEntity.status(401).body("Credenciales inválidas o usuario inactivo");
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        TokenClaims claims = authorization != null && authorization.startsWith("Bearer ")
+                ? tokenService.verificar(authorization.substring("Bearer ".length()).trim())
+                : null;
+        if (claims == null) {
+            return ResponseEntity.status(401).body("Token ausente o inválido");
+        }
+        tokenRevocationService.revocar(claims);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Lista que gateway y employee refrescan para rechazar tokens revocados sin consultar por request
+    @GetMapping("/tokens/revocados")
+    public Map<String, Object> tokensRevocados() {
+        return tokenRevocationService.publicar();
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         try {
@@ -0,0 +1,20 @@
+package com.microservice_user.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** Token cerrado con logout; se guarda hasta su expiración ({@code exp}, segundos epoch). */
+@Data
+@Entity
+@Table(name = "tokens_revocados", indexes = @Index(name = "idx_tokens_revocados_expira", columnList = "expira"))
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocado {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private long expira;
+}
@@ -1,5 +1,6 @@
 package com.microservice_user.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -7,7 +8,8 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Builder
-@Table(name="usuarios")
+// Los índices van también en scripts/apply-ddl-usuarios.sql: en Cloud SQL no hay ddl-auto que los cree
+@Table(name="usuarios", indexes = @Index(name = "idx_usuarios_rol_activo", columnList = "rol, activo"))
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
@@ -19,6 +21,8 @@ public class User {
     @Column(nullable = false, unique = true, length = 50)
     private String username;
 
+    // Se recibe al crear el usuario, pero nunca se devuelve en las respuestas
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false, length = 255)
     private String password;
 
@@ -0,0 +1,21 @@
+package com.microservice_user.model;
+
+/**
+ * Proyección liviana para listar usuarios: sin contraseña ni columnas de auditoría.
+ * UserRepositoryImpl arma el JPQL a mano (SELECT con solo estas columnas y un WHERE con los
+ * filtros presentes), lee cada fila como Tuple y la convierte en esta interfaz.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getNombre();
+
+    String getEmail();
+
+    String getRol();
+
+    Boolean getActivo();
+}
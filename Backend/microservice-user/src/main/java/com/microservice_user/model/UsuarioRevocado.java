@@ -0,0 +1,26 @@
+package com.microservice_user.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Usuario dado de baja o desactivado: ningún token emitido hasta {@code desde} vale. La fila
+ * vive hasta {@code expira} (desde + TTL del token), cuando ya no queda ninguno de esos tokens.
+ */
+@Data
+@Entity
+@Table(name = "usuarios_revocados", indexes = @Index(name = "idx_usuarios_revocados_expira", columnList = "expira"))
+@AllArgsConstructor
+@NoArgsConstructor
+public class UsuarioRevocado {
+
+    @Id
+    @Column(length = 50)
+    private String username;
+
+    @Column(nullable = false)
+    private long desde;
+
+    @Column(nullable = false)
+    private long expira;
+}
@@ -0,0 +1,16 @@
+package com.microservice_user.pagination;
+
+import java.util.List;
+
+/**
+ * Página numerada (page desde 0) con el total de filas que cumplen los filtros.
+ */
+public record PageResult<T>(List<T> items, int page, int size, long total) {
+
+    /** Tamaño máximo de página aceptado. */
+    public static final int MAX_SIZE = 200;
+
+    public static int size(int pedido) {
+        return Math.min(Math.max(pedido, 1), MAX_SIZE);
+    }
+}
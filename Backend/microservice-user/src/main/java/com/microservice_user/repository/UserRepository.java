@@ -2,12 +2,13 @@ package com.microservice_user.repository;
 
 import com.microservice_user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     // Buscar por username (nuevo campo)
     Optional<User> findByUsername(String username);
     
     // Buscar por email
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+}
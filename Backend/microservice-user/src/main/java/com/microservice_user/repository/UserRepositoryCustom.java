@@ -0,0 +1,21 @@
+package com.microservice_user.repository;
+
+import com.microservice_user.model.UserSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Listados con filtros opcionales. El WHERE se arma solo con los filtros presentes: un
+ * {@code (:p IS NULL OR ...)} obliga al planificador a un plan que sirva para cualquier
+ * combinación, y con eso no usa los índices de rol/activo ni el de prefijo de username.
+ */
+public interface UserRepositoryCustom {
+
+    /** Página numerada; el prefijo ya viene escapado y con el % final. */
+    Page<UserSummary> buscar(Boolean activo, String rol, String prefijo, Pageable pageable);
+
+    /** Página por llave: los usuarios con username posterior a {@code despues}, sin COUNT. */
+    List<UserSummary> buscarDespues(Boolean activo, String rol, String prefijo, String despues, Pageable limite);
+}
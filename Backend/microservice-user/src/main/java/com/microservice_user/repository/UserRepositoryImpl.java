@@ -0,0 +1,95 @@
+package com.microservice_user.repository;
+
+import com.microservice_user.model.UserSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String PROYECCION = "SELECT u.id AS id, u.username AS username, u.nombre AS nombre,"
+            + " u.email AS email, u.rol AS rol, u.activo AS activo FROM User u";
+
+    private final ProjectionFactory proyecciones = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<UserSummary> buscar(Boolean activo, String rol, String prefijo, Pageable pageable) {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        String where = filtros(activo, rol, prefijo, null, parametros);
+        TypedQuery<Tuple> consulta = em.createQuery(QueryUtils.applySorting(PROYECCION + where, pageable.getSort(), "u"), Tuple.class);
+        parametros.forEach(consulta::setParameter);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset());
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+        // El COUNT se salta cuando la página ya dice cuántos hay (primera página incompleta)
+        return PageableExecutionUtils.getPage(resumenes(consulta), pageable, () -> {
+            Query total = em.createQuery("SELECT COUNT(u) FROM User u" + where);
+            parametros.forEach(total::setParameter);
+            return (Long) total.getSingleResult();
+        });
+    }
+
+    @Override
+    public List<UserSummary> buscarDespues(Boolean activo, String rol, String prefijo, String despues, Pageable limite) {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        String where = filtros(activo, rol, prefijo, despues, parametros);
+        TypedQuery<Tuple> consulta = em.createQuery(PROYECCION + where + " ORDER BY u.username", Tuple.class);
+        parametros.forEach(consulta::setParameter);
+        consulta.setMaxResults(limite.getPageSize());
+        return resumenes(consulta);
+    }
+
+    /** WHERE con solo los filtros presentes; deja sus valores en {@code parametros}. */
+    private static String filtros(Boolean activo, String rol, String prefijo, String despues, Map<String, Object> parametros) {
+        StringBuilder where = new StringBuilder();
+        if (activo != null) {
+            condicion(where, "u.activo = :activo");
+            parametros.put("activo", activo);
+        }
+        if (rol != null) {
+            condicion(where, "u.rol = :rol");
+            parametros.put("rol", rol);
+        }
+        if (prefijo != null) {
+            condicion(where, "u.username LIKE :prefijo ESCAPE '!'");
+            parametros.put("prefijo", prefijo);
+        }
+        if (despues != null) {
+            condicion(where, "u.username > :despues");
+            parametros.put("despues", despues);
+        }
+        return where.toString();
+    }
+
+    private static void condicion(StringBuilder where, String condicion) {
+        where.append(where.isEmpty() ? " WHERE " : " AND ").append(condicion);
+    }
+
+    private List<UserSummary> resumenes(TypedQuery<Tuple> consulta) {
+        return consulta.getResultList().stream().map(fila -> {
+            Map<String, Object> valores = new HashMap<>(8);
+            for (TupleElement<?> columna : fila.getElements()) {
+                valores.put(columna.getAlias(), fila.get(columna));
+            }
+            return proyecciones.createProjection(UserSummary.class, valores);
+        }).toList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.microservice_user.repository;
+
+import com.microservice_user.model.UsuarioRevocado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface UsuarioRevocadoRepository extends JpaRepository<UsuarioRevocado, String> {
+
+    List<UsuarioRevocado> findByExpiraGreaterThanEqual(long ahora);
+
+    @Modifying
+    @Query("DELETE FROM UsuarioRevocado u WHERE u.expira < :ahora")
+    int purgar(@Param("ahora") long ahora);
+}
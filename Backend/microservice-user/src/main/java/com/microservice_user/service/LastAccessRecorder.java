@@ -0,0 +1,90 @@
+package com.microservice_user.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind de {@code usuarios.ultimo_acceso}: el login solo anota el instante en memoria
+ * (el más reciente por usuario) y un flush periódico lo escribe con un UPDATE en lote.
+ * También se vacía al apagar. Si la escritura falla, los instantes vuelven a la cola y se
+ * reintentan en el siguiente ciclo; lo peor que se pierde ante una caída dura es un intervalo.
+ */
+@Component
+public class LastAccessRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(LastAccessRecorder.class);
+
+    // La condición evita pisar un acceso más nuevo escrito por otra instancia
+    private static final String UPDATE_SQL =
+            "UPDATE usuarios SET ultimo_acceso = ? WHERE id = ? AND (ultimo_acceso IS NULL OR ultimo_acceso < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pendientes = new ConcurrentHashMap<>();
+
+    /** Anota el acceso; varios logins del mismo usuario antes del flush quedan en uno. */
+    public void registrar(Long usuarioId, LocalDateTime instante) {
+        if (usuarioId == null || instante == null) {
+            return;
+        }
+        pendientes.merge(usuarioId, instante, LastAccessRecorder::masReciente);
+    }
+
+    public int pendientes() {
+        return pendientes.size();
+    }
+
+    /** Escribe lo acumulado; devuelve cuántos usuarios se enviaron. */
+    @Scheduled(fixedDelayString = "${usuarios.ultimo-acceso.flush-ms:5000}")
+    public synchronized int flush() {
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+        // Se retira cada entrada antes de escribir: lo que llegue durante el flush va al siguiente
+        List<Map.Entry<Long, LocalDateTime>> lote = new ArrayList<>(pendientes.size());
+        for (Long id : pendientes.keySet()) {
+            LocalDateTime instante = pendientes.remove(id);
+            if (instante != null) {
+                lote.add(Map.entry(id, instante));
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, lote, lote.size(), (ps, entrada) -> {
+                Timestamp ts = Timestamp.valueOf(entrada.getValue());
+                ps.setTimestamp(1, ts);
+                ps.setLong(2, entrada.getKey());
+                ps.setTimestamp(3, ts);
+            });
+            return lote.size();
+        } catch (RuntimeException ex) {
+            lote.forEach(e -> registrar(e.getKey(), e.getValue()));
+            log.warn("No se pudo escribir ultimo_acceso de {} usuarios; se reintenta: {}", lote.size(), ex.getMessage());
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    void alApagar() {
+        int escritos = flush();
+        if (escritos > 0) {
+            log.info("ultimo_acceso: {} usuarios escritos al apagar", escritos);
+        }
+    }
+
+    private static LocalDateTime masReciente(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
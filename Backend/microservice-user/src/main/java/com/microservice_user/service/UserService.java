@@ -1,8 +1,17 @@
 package com.microservice_user.service;
 
+import com.microservice_common.pagination.Cursor;
+import com.microservice_common.pagination.CursorPage;
+import com.microservice_user.auth.PasswordHasher;
+import com.microservice_user.auth.TokenRevocationService;
 import com.microservice_user.model.User;
+import com.microservice_user.model.UserSummary;
+import com.microservice_user.pagination.PageResult;
 import com.microservice_user.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,12 +24,65 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LastAccessRecorder lastAccessRecorder;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
+    /**
+     * Listado numerado con filtros opcionales; solo trae las columnas de {@link UserSummary}.
+     * {@code username} filtra por prefijo. En PostgreSQL el índice único de username no sirve
+     * para LIKE (salvo collation C); lo resuelve idx_usuarios_username_patron (varchar_pattern_ops).
+     */
+    public PageResult<UserSummary> listar(Boolean activo, String rol, String username, int page, int size) {
+        int limite = PageResult.size(size);
+        int pagina = Math.max(page, 0);
+        Page<UserSummary> resultado = userRepository.buscar(activo, texto(rol), prefijo(username),
+                PageRequest.of(pagina, limite, Sort.by("username")));
+        return new PageResult<>(resultado.getContent(), pagina, limite, resultado.getTotalElements());
+    }
+
+    /** Listado por llave (username), sin COUNT ni OFFSET: cada página cuesta lo mismo. */
+    public CursorPage<UserSummary> listarCursor(Boolean activo, String rol, String username, String cursor, int size) {
+        int limite = CursorPage.size(size);
+        List<String> despues = Cursor.decode(cursor, 1);
+        List<UserSummary> filas = userRepository.buscarDespues(activo, texto(rol), prefijo(username),
+                despues != null ? despues.get(0) : null, PageRequest.ofSize(limite + 1));
+        return CursorPage.of(filas, limite, u -> Cursor.encode(u.getUsername()));
+    }
+
+    private static String texto(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    // LIKE 'prefijo%' con los comodines del usuario escapados ('!' es el ESCAPE de la consulta)
+    private static String prefijo(String username) {
+        String limpio = texto(username);
+        if (limpio == null) {
+            return null;
+        }
+        return limpio.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
     public User save(User user) {
-        return userRepository.save(user);
+        if (user.getPassword() != null && !passwordHasher.esHash(user.getPassword())) {
+            user.setPassword(passwordHasher.hash(user.getPassword()));
+        }
+        boolean existente = user.getId() != null;
+        User guardado = userRepository.save(user);
+        if (existente && Boolean.FALSE.equals(guardado.getActivo())) {
+            // Desactivar corta las sesiones abiertas igual que eliminar
+            tokenRevocationService.revocarUsuario(guardado.getUsername());
+        }
+        return guardado;
     }
 
     // Método para buscar por username
@@ -39,11 +101,16 @@ public class UserService {
             if (!user.getActivo()) {
                 return null; // Usuario inactivo
             }
-            // 3. Comparamos la contraseña (hashed con BCrypt en producción)
-            if (user.getPassword().equals(password)) {
-                // 4. Actualizar ultimo_acceso
+            // 3. Comparamos la contraseña (BCrypt; las antiguas en texto plano se migran aquí)
+            if (passwordHasher.verificar(password, user.getPassword())) {
                 user.setUltimoAcceso(LocalDateTime.now());
-                userRepository.save(user);
+                if (passwordHasher.requiereRehash(user.getPassword())) {
+                    user.setPassword(passwordHasher.hash(password));
+                    userRepository.save(user);
+                } else {
+                    // 4. Actualizar ultimo_acceso (se escribe en lote, fuera del login)
+                    lastAccessRecorder.registrar(user.getId(), user.getUltimoAcceso());
+                }
                 return user; // Login exitoso
             }
         }
@@ -51,6 +118,8 @@ public class UserService {
     }
 
     public void deleteUser(Long id){
+        // Los tokens que ya tenga dejan de valer en gateway y employee al refrescar la lista
+        userRepository.findById(id).ifPresent(u -> tokenRevocationService.revocarUsuario(u.getUsername()));
         userRepository.deleteById(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.microservice_user.auth;
+
+import com.microservice_common.auth.TokenClaims;
+import com.microservice_user.model.User;
+import com.microservice_user.repository.TokenRevocadoRepository;
+import com.microservice_user.repository.UsuarioRevocadoRepository;
+import com.microservice_user.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Revocaciones guardadas en la base: logout, desactivación y la lista pública sin usernames.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService revocaciones;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenRevocadoRepository tokens;
+
+    @Autowired
+    private UsuarioRevocadoRepository usuarios;
+
+    @AfterEach
+    void limpiar() {
+        tokens.deleteAll();
+        usuarios.deleteAll();
+    }
+
+    @Test
+    void logoutQuedaEnLaTablaHastaExpirar() {
+        long ahora = Instant.now().getEpochSecond();
+        revocaciones.revocar(new TokenClaims("ana", "USER", 1L, "vigente", ahora, ahora + 60));
+        revocaciones.revocar(new TokenClaims("ana", "USER", 1L, "vencido", ahora - 120, ahora - 60));
+
+        revocaciones.purgar();
+
+        assertEquals(1, tokens.count());
+        assertEquals(Map.of("vigente", ahora + 60), revocaciones.publicar().get("tokens"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void desactivarRevocaYLaListaNoExponeElUsername() {
+        User user = userService.save(User.builder().username("desactivada").password("clave-1234").build());
+        assertEquals(0, usuarios.count());
+
+        user.setActivo(false);
+        userService.save(user);
+
+        Map<String, Object> usuariosPublicados = (Map<String, Object>) revocaciones.publicar().get("usuarios");
+        assertTrue(usuariosPublicados.containsKey(tokenService.huella("desactivada")));
+        assertFalse(revocaciones.publicar().toString().contains("desactivada"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.microservice_user.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput del camino de login contra H2 en memoria: antes (SELECT + UPDATE de la fila en su
+ * propia transacción, como hacía userRepository.save) y después (SELECT + anotación en
+ * LastAccessRecorder, con un flush en lote al final). Deja logins/s de ambos en el log y exige
+ * que el camino sin escritura en línea sea más rápido.
+ * mvn test -Dmaven.test.skip=false -Dtest=LoginThroughputBenchmarkTest
+ */
+class LoginThroughputBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThroughputBenchmarkTest.class);
+
+    private static final int USUARIOS = 1_000;
+    private static final int HILOS = 8;
+    private static final int LOGINS_POR_HILO = 5_000;
+
+    private static final String SELECT_SQL =
+            "SELECT id, password, activo FROM usuarios WHERE username = ?";
+
+    private AnnotationConfigApplicationContext ctx;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate tx;
+    private LastAccessRecorder recorder;
+
+    @BeforeEach
+    void preparar() {
+        DriverManagerDataSource ds = new DriverManagerDataSource(
+                "jdbc:h2:mem:login-bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(ds);
+        tx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+        jdbc.execute("DROP TABLE IF EXISTS usuarios");
+        jdbc.execute("""
+            CREATE TABLE usuarios (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                username VARCHAR(50) NOT NULL UNIQUE,
+                password VARCHAR(255) NOT NULL,
+                activo BOOLEAN NOT NULL,
+                ultimo_acceso TIMESTAMP
+            )
+            """);
+        List<Object[]> filas = new ArrayList<>(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            filas.add(new Object[] {"user" + i, "clave" + i});
+        }
+        jdbc.batchUpdate("INSERT INTO usuarios (username, password, activo) VALUES (?, ?, TRUE)", filas);
+
+        ctx = new AnnotationConfigApplicationContext();
+        ctx.registerBean(JdbcTemplate.class, () -> jdbc);
+        ctx.register(LastAccessRecorder.class);
+        ctx.refresh();
+        recorder = ctx.getBean(LastAccessRecorder.class);
+    }
+
+    @AfterEach
+    void cerrar() {
+        ctx.close();
+    }
+
+    @Test
+    void loginConYSinEscrituraEnLinea() throws Exception {
+        double antes = medir("escritura en línea", i -> tx.executeWithoutResult(status -> {
+            Long id = login(i);
+            jdbc.update("UPDATE usuarios SET password = password, activo = activo, ultimo_acceso = ? WHERE id = ?",
+                    LocalDateTime.now(), id);
+        }));
+        jdbc.update("UPDATE usuarios SET ultimo_acceso = NULL");
+
+        double despues = medir("write-behind", i -> recorder.registrar(login(i), LocalDateTime.now()));
+        long t0 = System.nanoTime();
+        int escritos = recorder.flush();
+        log.info("flush en lote: {} usuarios en {} ms", escritos, (System.nanoTime() - t0) / 1_000_000);
+        log.info("login: {}/s antes, {}/s después (x{})", Math.round(antes), Math.round(despues),
+                String.format("%.1f", despues / antes));
+
+        // Sin el UPDATE ni el commit por login tiene que rendir más, aun con un solo núcleo
+        assertTrue(despues > antes, "write-behind no mejoró el throughput de login");
+        assertEquals(USUARIOS, escritos);
+        assertEquals(USUARIOS, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM usuarios WHERE ultimo_acceso IS NOT NULL", Integer.class).intValue());
+    }
+
+    private Long login(int i) {
+        String username = "user" + (i % USUARIOS);
+        return jdbc.queryForObject(SELECT_SQL, (rs, n) -> rs.getLong("id"), username);
+    }
+
+    private double medir(String nombre, IntConsumer login) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+        long t0 = System.nanoTime();
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            int base = h * LOGINS_POR_HILO;
+            tareas.add(pool.submit(() -> {
+                for (int i = 0; i < LOGINS_POR_HILO; i++) {
+                    login.accept(base + i);
+                }
+            }));
+        }
+        for (Future<?> t : tareas) {
+            t.get();
+        }
+        double segundos = (System.nanoTime() - t0) / 1e9;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        double porSegundo = HILOS * LOGINS_POR_HILO / segundos;
+        log.info("{}: {} logins en {} s ({}/s)", nombre, HILOS * LOGINS_POR_HILO,
+                String.format("%.2f", segundos), Math.round(porSegundo));
+        return porSegundo;
+    }
+}
@@ -0,0 +1,106 @@
+package com.microservice_user.service;
+
+import com.microservice_common.pagination.CursorPage;
+import com.microservice_user.model.User;
+import com.microservice_user.model.UserSummary;
+import com.microservice_user.pagination.PageResult;
+import com.microservice_user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Listados con el WHERE armado según los filtros presentes: cada combinación, el escape del
+ * prefijo y el recorrido por cursor.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class UserServiceListarTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> creados = new ArrayList<>();
+
+    private void crear(String username, String rol, boolean activo) {
+        creados.add(userRepository.save(User.builder()
+                .username(username).password("x").rol(rol).activo(activo).build()));
+    }
+
+    @BeforeEach
+    void poblar() {
+        crear("lst_ana", "ADMIN", true);
+        crear("lst_bruno", "USER", true);
+        crear("lst_carla", "USER", false);
+        crear("lst_diego", "RRHH", true);
+        crear("lstxeva", "USER", true);
+    }
+
+    @AfterEach
+    void limpiar() {
+        userRepository.deleteAll(creados);
+    }
+
+    private static List<String> nombres(List<UserSummary> filas) {
+        return filas.stream().map(UserSummary::getUsername).toList();
+    }
+
+    @Test
+    void soloPrefijoEscapaElGuionBajo() {
+        PageResult<UserSummary> pagina = userService.listar(null, null, "lst_", 0, 50);
+
+        assertEquals(List.of("lst_ana", "lst_bruno", "lst_carla", "lst_diego"), nombres(pagina.items()));
+        assertEquals(4, pagina.total());
+    }
+
+    @Test
+    void combinaLosFiltrosPresentes() {
+        assertEquals(List.of("lst_bruno", "lstxeva"), nombres(userService.listar(true, "USER", "lst", 0, 50).items()));
+        assertEquals(List.of("lst_carla"), nombres(userService.listar(false, null, "lst", 0, 50).items()));
+        assertEquals(List.of("lst_diego"), nombres(userService.listar(null, " RRHH ", "lst", 0, 50).items()));
+    }
+
+    @Test
+    void paginaNumeradaCuentaElTotal() {
+        PageResult<UserSummary> segunda = userService.listar(null, null, "lst", 1, 2);
+
+        assertEquals(List.of("lst_carla", "lst_diego"), nombres(segunda.items()));
+        assertEquals(5, segunda.total());
+    }
+
+    @Test
+    void cursorRecorreTodoSinRepetir() {
+        List<String> vistos = new ArrayList<>();
+        String cursor = "";
+        int paginas = 0;
+        do {
+            CursorPage<UserSummary> pagina = userService.listarCursor(true, null, "lst", cursor, 2);
+            vistos.addAll(nombres(pagina.items()));
+            cursor = pagina.next();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(List.of("lst_ana", "lst_bruno", "lst_diego", "lstxeva"), vistos);
+        assertEquals(2, paginas);
+    }
+
+    @Test
+    void sinCoincidenciasDevuelvePaginaVacia() {
+        CursorPage<UserSummary> pagina = userService.listarCursor(null, "NADIE", "lst", "", 10);
+
+        assertEquals(List.of(), pagina.items());
+        assertNull(pagina.next());
+    }
+}
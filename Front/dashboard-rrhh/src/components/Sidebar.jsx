@@ -1,6 +1,7 @@
 import React from 'react';
 import { useNavigate } from 'react-router-dom';
 import '../styles/sidebar.css';
+import { ENDPOINTS } from '../config/api';
 
 export function Sidebar({ isOpen, onClose }) {
   const navigate = useNavigate();
@@ -73,6 +74,12 @@ export function Sidebar({ isOpen, onClose }) {
           <button 
             className="btn btn-link text-danger text-decoration-none p-0 d-block mt-2"
             onClick={() => {
+              const token = localStorage.getItem('token');
+              if (token) {
+                fetch(ENDPOINTS.LOGOUT, { method: 'POST', headers: { Authorization: `Bearer ${token}` } })
+                  .catch(() => {});
+              }
+              localStorage.removeItem('token');
               localStorage.removeItem('user');
               navigate('/');
             }}
@@ -12,6 +12,7 @@ export const API_URLS = {
 // Endpoints específicos
 export const ENDPOINTS = {
   LOGIN: `${API_URLS.USER_SERVICE}/api/user/login`,
+  LOGOUT: `${API_URLS.USER_SERVICE}/api/user/logout`,
   USERS: `${API_URLS.USER_SERVICE}/api/user/all`,
   CREATE_USER: `${API_URLS.USER_SERVICE}/api/user/create`,
   
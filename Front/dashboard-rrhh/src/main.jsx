@@ -1,5 +1,6 @@
 import React from 'react';
 import { createRoot } from 'react-dom/client';
+import axios from 'axios';
 import App from './App';
 
 import 'bootstrap/dist/css/bootstrap.min.css';
@@ -9,4 +10,13 @@ import './styles/components.css';
 import './styles/navbar.css';
 import './styles/sidebar.css';
 
+// Token de sesión emitido en el login: los servicios lo verifican localmente
+axios.interceptors.request.use((config) => {
+  const token = localStorage.getItem('token');
+  if (token) {
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+});
+
 createRoot(document.getElementById('root')).render(<App />);
\ No newline at end of file
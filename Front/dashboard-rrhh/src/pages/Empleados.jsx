@@ -106,11 +106,14 @@ export default function Empleados() {
     // Procesar en lotes para no sobrecargar
     for (const emp of empleadosList) {
       try {
-        // Obtener vacaciones del empleado
-        const vacRes = await axios.get(`${API_URL}/${emp.id}/vacaciones`);
-        if (Array.isArray(vacRes.data)) {
+        // Vacaciones y licencias del empleado en una sola llamada
+        const perfilRes = await axios.get(`${API_URL}/${emp.id}/perfil`, {
+          params: { include: 'vacaciones,licencias' },
+        });
+        const { vacaciones, licencias } = perfilRes.data || {};
+        if (Array.isArray(vacaciones)) {
           // Filtrar las vigentes (fecha actual está entre desde y hasta)
-          const vigente = vacRes.data.find(v => {
+          const vigente = vacaciones.find(v => {
             const desde = new Date(v.desde);
             const hasta = new Date(v.hasta || v.retorno);
             desde.setHours(0, 0, 0, 0);
@@ -122,11 +125,9 @@ export default function Empleados() {
           }
         }
         
-        // Obtener licencias del empleado
-        const licRes = await axios.get(`${API_URL}/${emp.id}/licencias`);
-        if (Array.isArray(licRes.data)) {
+        if (Array.isArray(licencias)) {
           // Filtrar las vigentes
-          const vigente = licRes.data.find(l => {
+          const vigente = licencias.find(l => {
             const desde = new Date(l.desde);
             const hasta = new Date(l.hasta);
             desde.setHours(0, 0, 0, 0);
@@ -226,31 +227,6 @@ export default function Empleados() {
     setShowModal(true);
   };
 
-  const fetchDetalleForEmployee = async (emp) => {
-    if (!emp?.id) return;
-    // si ya está lleno, no volver a pedir
-    if (emp.cargo || emp.codigoCentroCosto || emp.fechaIngreso || emp.jefe || emp.sucursal) return;
-
-    try {
-      const res = await axios.get(`${API_URL}/${emp.id}/detalle`);
-      const detalle = res.data;
-      setEmployees((prev) => prev.map((e) => {
-        if (e.id !== emp.id) return e;
-        return {
-          ...e,
-          cargo: detalle?.cargo || e.cargo,
-          codigoCentroCosto: detalle?.codigoCentroCosto || e.codigoCentroCosto,
-          nombreCentroCosto: detalle?.nombreCentroCosto || e.nombreCentroCosto,
-          sucursal: detalle?.sucursal || e.sucursal,
-          fechaIngreso: detalle?.fechaIngreso || e.fechaIngreso,
-          jefe: detalle?.jefe || e.jefe,
-        };
-      }));
-    } catch (err) {
-      console.warn('Error obteniendo detalle persona:', emp?.id, err);
-    }
-  };
-
   // --- Búsqueda y paginación ---
   const filtered = Array.isArray(employees) ? employees.filter(emp =>
     (emp.rut && emp.rut.toLowerCase().includes(search.toLowerCase())) ||
@@ -27,8 +27,9 @@ export default function Login() {
       });
 
       if (response.ok) {
-        const userData = await response.json();
-        localStorage.setItem('user', JSON.stringify(userData));
+        const { token, usuario } = await response.json();
+        localStorage.setItem('token', token);
+        localStorage.setItem('user', JSON.stringify(usuario));
         navigate('/home');
       } else {
         setError('Usuario o contraseña incorrectos.');
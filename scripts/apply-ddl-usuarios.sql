@@ -0,0 +1,25 @@
+-- Tablas e índices de microservice-user que no crea Hibernate en Cloud SQL (ddl-auto=validate en cloudrun)
+-- Ejecutar con: gcloud sql connect gdh-massti --user=grh-bdduser --database=grh --quiet
+-- O con psql: psql -h <host> -U grh-bdduser -d grh -f apply-ddl-usuarios.sql
+
+-- Tokens cerrados con logout; la fila se purga al pasar la expiración del token
+CREATE TABLE IF NOT EXISTS tokens_revocados (
+  jti     VARCHAR(36) PRIMARY KEY,
+  expira  BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tokens_revocados_expira ON tokens_revocados (expira);
+
+-- Usuarios dados de baja o desactivados: ningún token emitido hasta "desde" vale
+CREATE TABLE IF NOT EXISTS usuarios_revocados (
+  username  VARCHAR(50) PRIMARY KEY,
+  desde     BIGINT NOT NULL,
+  expira    BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_usuarios_revocados_expira ON usuarios_revocados (expira);
+
+-- Filtros del listado (/api/user/list): rol y activo juntos
+CREATE INDEX IF NOT EXISTS idx_usuarios_rol_activo ON usuarios (rol, activo);
+
+-- Prefijo de username (LIKE 'ana%'): el índice único usa la collation de la base y no sirve
+-- para LIKE; este compara byte a byte. El orden y el cursor (username > ?) siguen en el único.
+CREATE INDEX IF NOT EXISTS idx_usuarios_username_patron ON usuarios (username varchar_pattern_ops);
@@ -92,7 +92,6 @@ CREATE INDEX IF NOT EXISTS idx_empleado_rut ON empleado(rut);
 
 -- Índices para contrato
 CREATE INDEX IF NOT EXISTS idx_contrato_empleado ON contrato(empleado_id);
-CREATE INDEX IF NOT EXISTS idx_contrato_vigente ON contrato(vigente);
 CREATE INDEX IF NOT EXISTS idx_contrato_cc ON contrato(centro_costo_id);
 CREATE INDEX IF NOT EXISTS idx_contrato_sucursal ON contrato(sucursal_id);
 
@@ -100,13 +99,122 @@ CREATE INDEX IF NOT EXISTS idx_contrato_sucursal ON contrato(sucursal_id);
 CREATE INDEX IF NOT EXISTS idx_ausencia_emp ON ausencia(empleado_id);
 CREATE INDEX IF NOT EXISTS idx_ausencia_rango ON ausencia(desde, hasta);
 
--- Índices para vacaciones
-CREATE INDEX IF NOT EXISTS idx_vacaciones_emp ON vacaciones(empleado_id);
-CREATE INDEX IF NOT EXISTS idx_vacaciones_rango ON vacaciones(desde, hasta);
+-- Índices del dashboard (V5__dashboard_indexes.sql; ahí está el detalle de cada uno).
+-- Las consultas de DatabaseController, AbsenceRangeService y DailyOccupancyService están
+-- escritas con las mismas expresiones: si el índice no existe, PostgreSQL recorre la tabla.
 
--- Índices para licencias
-CREATE INDEX IF NOT EXISTS idx_licencias_emp ON licencias(empleado_id);
-CREATE INDEX IF NOT EXISTS idx_licencias_rango ON licencias(desde, hasta);
+-- Dotación activa: parcial, ya ordenado para el DISTINCT ON y con lo que se lee en INCLUDE
+CREATE INDEX IF NOT EXISTS idx_contrato_vigente_emp
+  ON contrato (empleado_id, fecha_contratacion DESC NULLS LAST)
+  INCLUDE (cargo, centro_costo_id, sucursal_id)
+  WHERE vigente;
+
+-- /contratos paginado por OFFSET y por cursor
+CREATE INDEX IF NOT EXISTS idx_contrato_fecha ON contrato (fecha_contratacion DESC);
+CREATE INDEX IF NOT EXISTS idx_contrato_fecha_cursor
+  ON contrato ((COALESCE(fecha_contratacion, '-infinity'::date)) DESC, id DESC);
+
+-- /empleados paginado por OFFSET y por cursor
+CREATE INDEX IF NOT EXISTS idx_empleado_nombre ON empleado (nombre, ap_paterno);
+CREATE INDEX IF NOT EXISTS idx_empleado_nombre_cursor
+  ON empleado ((COALESCE(nombre, '')), (COALESCE(ap_paterno, '')), id);
+
+-- Perfil y filtros por empleado, ya en orden desde DESC
+CREATE INDEX IF NOT EXISTS idx_vacaciones_emp_desde ON vacaciones (empleado_id, desde DESC);
+CREATE INDEX IF NOT EXISTS idx_licencias_emp_desde ON licencias (empleado_id, desde DESC);
+
+-- Listados completos y /rango?cursor
+CREATE INDEX IF NOT EXISTS idx_vacaciones_desde_id ON vacaciones (desde, id);
+CREATE INDEX IF NOT EXISTS idx_licencias_desde_id ON licencias (desde, id);
+
+-- Solape con una ventana: el fin es una expresión (hasta o retorno; licencias abiertas al final)
+CREATE INDEX IF NOT EXISTS idx_vacaciones_fin
+  ON vacaciones ((COALESCE(hasta, retorno)), desde)
+  INCLUDE (id, empleado_id, hasta, retorno, dias, medios_dias, fecha_aprobacion, tipo);
+CREATE INDEX IF NOT EXISTS idx_licencias_fin
+  ON licencias ((COALESCE(hasta, DATE '9999-12-31')), desde)
+  INCLUDE (id, empleado_id, hasta, dias, tipo, fecha_solicitud);
+
+-- Reemplazados por los anteriores; en una base nueva no existen y esto no hace nada
+DROP INDEX IF EXISTS idx_contrato_vigente;
+DROP INDEX IF EXISTS idx_vacaciones_emp;
+DROP INDEX IF EXISTS idx_licencias_emp;
+DROP INDEX IF EXISTS idx_vacaciones_rango;
+DROP INDEX IF EXISTS idx_licencias_rango;
+
+-- Lo que sigue replica las migraciones V3-V6 de microservice-employee: Flyway está apagado
+-- en prod/cloudrun/cloudsql, así que en Cloud SQL solo existe lo que crea este script.
+-- Todo es idempotente; volver a correrlo tras un despliegue no rompe nada.
+
+-- Sincronización incremental con Talana (V3__sync_watermark.sql): una fila por entidad
+CREATE TABLE IF NOT EXISTS sync_watermark (
+  entidad                TEXT PRIMARY KEY,
+  marca                  TIMESTAMPTZ,
+  ultimo_modo            TEXT,
+  ultima_corrida         TIMESTAMPTZ,
+  ultima_reconciliacion  TIMESTAMPTZ,
+  filas_leidas           BIGINT NOT NULL DEFAULT 0,
+  filas_omitidas         BIGINT NOT NULL DEFAULT 0,
+  filas_escritas         BIGINT NOT NULL DEFAULT 0
+);
+
+-- Hash del contenido de cada registro de Talana, para saltar los que no cambiaron
+CREATE TABLE IF NOT EXISTS sync_hash (
+  entidad  TEXT   NOT NULL,
+  id       BIGINT NOT NULL,
+  hash     BIGINT NOT NULL,
+  PRIMARY KEY (entidad, id)
+);
+
+-- Staging de la carga masiva por COPY (V4__staging.sql). UNLOGGED: no pasan por el WAL y
+-- BulkLoader las vacía en cada carga. Heredan los tipos actuales con LIKE; si una tabla
+-- destino cambia de tipo (p. ej. fix-discapacidad-column.sql), borrar y recrear su staging.
+CREATE UNLOGGED TABLE IF NOT EXISTS stg_empleado (LIKE empleado);
+CREATE UNLOGGED TABLE IF NOT EXISTS stg_centro_costo (LIKE centro_costo);
+CREATE UNLOGGED TABLE IF NOT EXISTS stg_sucursal (LIKE sucursal);
+CREATE UNLOGGED TABLE IF NOT EXISTS stg_contrato (LIKE contrato);
+CREATE UNLOGGED TABLE IF NOT EXISTS stg_vacaciones (LIKE vacaciones);
+CREATE UNLOGGED TABLE IF NOT EXISTS stg_licencias (LIKE licencias);
+
+-- Versión del dataset (V6__dataset_version.sql): la leen DatasetVersionService, las cachés
+-- del dashboard y los ETag. Sin esta tabla el servicio cae a un respaldo aproximado y lo
+-- avisa con ERROR en el log.
+CREATE TABLE IF NOT EXISTS dataset_version (
+  id       BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+  version  BIGINT  NOT NULL DEFAULT 0
+);
+INSERT INTO dataset_version (id, version) VALUES (TRUE, 0) ON CONFLICT (id) DO NOTHING;
+
+-- Sube la versión una vez por transacción que escribió en las tablas del dashboard (etl.py,
+-- BulkLoader, Talana). Diferido al COMMIT: la versión nueva nunca se ve antes que los datos.
+CREATE OR REPLACE FUNCTION dataset_version_bump() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+  IF current_setting('dataset_version.xid', true) IS DISTINCT FROM txid_current()::text THEN
+    UPDATE dataset_version SET version = version + 1;
+    PERFORM set_config('dataset_version.xid', txid_current()::text, true);
+  END IF;
+  RETURN NULL;
+END
+$$;
+
+-- Las tablas stg_* quedan fuera: el merge a las definitivas ya dispara
+DO $$
+DECLARE
+  tabla TEXT;
+BEGIN
+  FOREACH tabla IN ARRAY ARRAY['empleado', 'contrato', 'centro_costo', 'sucursal', 'vacaciones', 'licencias'] LOOP
+    EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', tabla || '_dataset_version', tabla);
+    EXECUTE format('CREATE CONSTRAINT TRIGGER %I AFTER INSERT OR UPDATE OR DELETE ON %I'
+                   ' DEFERRABLE INITIALLY DEFERRED FOR EACH ROW EXECUTE FUNCTION dataset_version_bump()',
+                   tabla || '_dataset_version', tabla);
+    -- TRUNCATE no admite triggers por fila: este corre al final de la sentencia
+    EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', tabla || '_dataset_version_truncate', tabla);
+    EXECUTE format('CREATE TRIGGER %I AFTER TRUNCATE ON %I FOR EACH STATEMENT EXECUTE FUNCTION dataset_version_bump()',
+                   tabla || '_dataset_version_truncate', tabla);
+  END LOOP;
+END
+$$;
 
 -- Verificar tablas creadas
 \dt
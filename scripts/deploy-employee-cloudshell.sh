@@ -54,9 +54,10 @@ echo "   OK - Archivos encontrados"
 echo ""
 echo "4. Compilando con Maven..."
 echo "   (Esto puede tomar varios minutos...)"
-cd Backend/microservice-employee
-chmod +x mvnw
-./mvnw clean package -DskipTests
+# Desde Backend: el servicio depende de microservice-common
+cd Backend
+chmod +x microservice-employee/mvnw
+./microservice-employee/mvnw -pl microservice-employee -am clean package -DskipTests
 if [ $? -ne 0 ]; then
     echo "   ERROR: Compilación falló"
     exit 1
@@ -67,7 +68,7 @@ echo "   OK - Compilación exitosa"
 echo ""
 echo "5. Construyendo imagen Docker..."
 echo "   (Esto puede tomar varios minutos...)"
-gcloud builds submit --tag $IMAGE_NAME
+gcloud builds submit . --config cloudbuild.yaml --substitutions=_SERVICIO=microservice-employee,_IMAGEN=$IMAGE_NAME
 if [ $? -ne 0 ]; then
     echo "   ERROR: Build de imagen falló"
     exit 1
@@ -60,7 +60,9 @@ Write-Host "   ✓ Directorio: $microservicePath" -ForegroundColor Green
 Write-Host ""
 Write-Host "4. Compilando aplicación con Maven..." -ForegroundColor Green
 Write-Host "   (Esto puede tomar unos minutos...)" -ForegroundColor Gray
-.\mvnw clean package -DskipTests
+# Desde Backend: el servicio depende de microservice-common
+Set-Location ..
+.\microservice-user\mvnw -pl microservice-user -am clean package -DskipTests
 if ($LASTEXITCODE -ne 0) {
     Write-Host "   ✗ Error en compilación Maven" -ForegroundColor Red
     exit 1
@@ -72,7 +74,7 @@ Write-Host ""
 Write-Host "5. Construyendo y subiendo imagen Docker..." -ForegroundColor Green
 Write-Host "   (Esto puede tomar varios minutos...)" -ForegroundColor Gray
 $imageName = "gcr.io/$ProjectId/$ServiceName"
-gcloud builds submit --tag $imageName .
+gcloud builds submit . --config cloudbuild.yaml --substitutions="_SERVICIO=microservice-user,_IMAGEN=$imageName"
 if ($LASTEXITCODE -ne 0) {
     Write-Host "   ✗ Error al construir imagen Docker" -ForegroundColor Red
     exit 1
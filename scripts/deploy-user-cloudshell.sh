@@ -56,8 +56,9 @@ echo "   OK - Archivos encontrados"
 echo ""
 echo "4. Compilando con Maven..."
 echo "   (Esto puede tomar varios minutos...)"
-cd Backend/microservice-user
-./mvnw clean package -DskipTests
+# Desde Backend: el servicio depende de microservice-common
+cd Backend
+./microservice-user/mvnw -pl microservice-user -am clean package -DskipTests
 if [ $? -ne 0 ]; then
     echo "   ERROR: Compilación falló"
     exit 1
@@ -68,7 +69,7 @@ echo "   OK - Compilación exitosa"
 echo ""
 echo "5. Construyendo imagen Docker..."
 echo "   (Esto puede tomar varios minutos...)"
-gcloud builds submit --tag $IMAGE_NAME
+gcloud builds submit . --config cloudbuild.yaml --substitutions=_SERVICIO=microservice-user,_IMAGEN=$IMAGE_NAME
 if [ $? -ne 0 ]; then
     echo "   ERROR: Build de imagen falló"
     exit 1
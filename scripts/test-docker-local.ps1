@@ -27,7 +27,9 @@ Write-Host "   ✓ Cloud SQL Proxy corriendo (PID: $($proxyProcess.Id))" -Foregr
 # Compilar con Maven
 Write-Host ""
 Write-Host "2. Compilando aplicación..." -ForegroundColor Green
-.\mvnw clean package -DskipTests
+# Desde Backend: el servicio depende de microservice-common
+Set-Location ..
+.\microservice-user\mvnw -pl microservice-user -am clean package -DskipTests
 if ($LASTEXITCODE -ne 0) {
     Write-Host "   ✗ Error en compilación" -ForegroundColor Red
     exit 1
@@ -37,7 +39,7 @@ Write-Host "   ✓ Compilación exitosa" -ForegroundColor Green
 # Build imagen Docker
 Write-Host ""
 Write-Host "3. Construyendo imagen Docker..." -ForegroundColor Green
-docker build -t microservice-user:local .
+docker build -t microservice-user:local -f microservice-user/Dockerfile .
 if ($LASTEXITCODE -ne 0) {
     Write-Host "   ✗ Error al construir imagen" -ForegroundColor Red
     exit 1